@@ -0,0 +1,90 @@
+package com.sopromadze.blogapi.benchmark;
+
+import com.sopromadze.blogapi.model.Album;
+import com.sopromadze.blogapi.model.Photo;
+import com.sopromadze.blogapi.model.user.User;
+import com.sopromadze.blogapi.payload.AlbumResponse;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A page of albums mapped to {@link AlbumResponse} the way AlbumServiceImpl does it, through
+ * {@code ModelMapper.map(..., AlbumResponse[].class)}, against copying the same properties by hand.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AlbumMappingBenchmark {
+
+    @Param({ "30" })
+    private int pageSize;
+
+    private ModelMapper modelMapper;
+
+    private List<Album> albums;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+
+        Instant now = Instant.now();
+        User user = new User("John", "Doe", "jdoe", "jdoe@example.com", "password");
+        user.setId(1L);
+
+        albums = new ArrayList<>(pageSize);
+        for (long i = 1; i <= pageSize; i++) {
+            Album album = new Album();
+            album.setId(i);
+            album.setTitle("Album " + i);
+            album.setUser(user);
+            album.setPhoto(List.of(new Photo("Photo", "https://example.com/photo", "https://example.com/thumb", album)));
+            album.setCreatedAt(now);
+            album.setUpdatedAt(now);
+            album.setCreatedBy(1L);
+            album.setUpdatedBy(1L);
+            albums.add(album);
+        }
+    }
+
+    @Benchmark
+    public List<AlbumResponse> modelMapper() {
+        return Arrays.asList(modelMapper.map(albums, AlbumResponse[].class));
+    }
+
+    @Benchmark
+    public List<AlbumResponse> handWritten() {
+        List<AlbumResponse> responses = new ArrayList<>(albums.size());
+        for (Album album : albums) {
+            AlbumResponse response = new AlbumResponse();
+            response.setId(album.getId());
+            response.setTitle(album.getTitle());
+            response.setUser(album.getUser());
+            response.setPhoto(album.getPhoto());
+            response.setCreatedAt(album.getCreatedAt());
+            response.setUpdatedAt(album.getUpdatedAt());
+            response.setCreatedBy(album.getCreatedBy());
+            response.setUpdatedBy(album.getUpdatedBy());
+            responses.add(response);
+        }
+        return responses;
+    }
+}
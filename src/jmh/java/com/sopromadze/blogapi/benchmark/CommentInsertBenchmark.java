@@ -0,0 +1,122 @@
+package com.sopromadze.blogapi.benchmark;
+
+import com.sopromadze.blogapi.model.Album;
+import com.sopromadze.blogapi.model.Category;
+import com.sopromadze.blogapi.model.Comment;
+import com.sopromadze.blogapi.model.Photo;
+import com.sopromadze.blogapi.model.Post;
+import com.sopromadze.blogapi.model.Tag;
+import com.sopromadze.blogapi.model.Todo;
+import com.sopromadze.blogapi.model.role.Role;
+import com.sopromadze.blogapi.model.user.Address;
+import com.sopromadze.blogapi.model.user.Company;
+import com.sopromadze.blogapi.model.user.Geo;
+import com.sopromadze.blogapi.model.user.User;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.dialect.H2Dialect;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows per second for inserting 100k comments through Hibernate. A batch size of 1 reproduces the
+ * one-statement-per-row behaviour IDENTITY ids forced; 50 matches the configured JDBC batch size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class CommentInsertBenchmark {
+
+    private static final int ROWS = 100_000;
+
+    private static final int FLUSH_EVERY = 1_000;
+
+    private static final List<Class<?>> ENTITIES = List.of(Album.class, Category.class, Comment.class, Photo.class,
+            Post.class, Tag.class, Todo.class, Role.class, Address.class, Company.class, Geo.class, User.class);
+
+    @Param({ "1", "50" })
+    private int batchSize;
+
+    private SessionFactory sessionFactory;
+
+    private Long postId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Configuration configuration = new Configuration()
+                .setProperty(AvailableSettings.URL, "jdbc:h2:mem:comment-insert;DB_CLOSE_DELAY=-1;MODE=MYSQL")
+                .setProperty(AvailableSettings.USER, "sa")
+                .setProperty(AvailableSettings.DIALECT, H2Dialect.class.getName())
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, String.valueOf(batchSize))
+                .setProperty(AvailableSettings.ORDER_INSERTS, "true")
+                .addPackage(Post.class.getPackage().getName());
+        ENTITIES.forEach(configuration::addAnnotatedClass);
+        sessionFactory = configuration.buildSessionFactory();
+
+        try (Session session = sessionFactory.openSession()) {
+            Transaction transaction = session.beginTransaction();
+            Post post = new Post();
+            post.setTitle("Benchmark post");
+            post.setBody("Post the benchmark comments are attached to");
+            post.setCreatedAt(Instant.now());
+            post.setUpdatedAt(Instant.now());
+            session.persist(post);
+            transaction.commit();
+            postId = post.getId();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void insertComments() {
+        Instant now = Instant.now();
+        try (Session session = sessionFactory.openSession()) {
+            Transaction transaction = session.beginTransaction();
+            Post post = session.getReference(Post.class, postId);
+            for (int i = 1; i <= ROWS; i++) {
+                Comment comment = new Comment("Benchmark comment number " + i);
+                comment.setName("bench");
+                comment.setEmail("bench@example.com");
+                comment.setPost(post);
+                comment.setCreatedAt(now);
+                comment.setUpdatedAt(now);
+                session.persist(comment);
+
+                if (i % FLUSH_EVERY == 0) {
+                    session.flush();
+                    session.clear();
+                    post = session.getReference(Post.class, postId);
+                }
+            }
+            transaction.commit();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.sopromadze.blogapi.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sopromadze.blogapi.model.Album;
+import com.sopromadze.blogapi.model.Category;
+import com.sopromadze.blogapi.model.Photo;
+import com.sopromadze.blogapi.model.Post;
+import com.sopromadze.blogapi.model.Tag;
+import com.sopromadze.blogapi.model.user.Address;
+import com.sopromadze.blogapi.model.user.Company;
+import com.sopromadze.blogapi.model.user.Geo;
+import com.sopromadze.blogapi.payload.AlbumResponse;
+import com.sopromadze.blogapi.payload.PagedResponse;
+import com.sopromadze.blogapi.payload.PostSummary;
+import com.sopromadze.blogapi.payload.UserProfile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of writing the response bodies of the busiest endpoints with an ObjectMapper configured the
+ * way Spring Boot configures the application's one. The post page is measured both as entities
+ * and as the {@link PostSummary} projection the listings return.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private static final String BODY = "Cuerpo del post usado para medir la serializacion de las respuestas paginadas, "
+            + "con la longitud de un articulo corto de blog. ";
+
+    @Param({ "30" })
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+
+    private PagedResponse<Post> postPage;
+
+    private PagedResponse<PostSummary> summaryPage;
+
+    private AlbumResponse albumResponse;
+
+    private UserProfile userProfile;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        Instant now = Instant.now();
+        Category category = new Category("News");
+        category.setId(1L);
+        List<Tag> tags = new ArrayList<>();
+        for (long i = 1; i <= 3; i++) {
+            Tag tag = new Tag("tag-" + i);
+            tag.setId(i);
+            tags.add(tag);
+        }
+
+        List<Post> posts = new ArrayList<>(pageSize);
+        List<PostSummary> summaries = new ArrayList<>(pageSize);
+        for (long i = 1; i <= pageSize; i++) {
+            Post post = new Post();
+            post.setId(i);
+            post.setTitle("Post number " + i);
+            post.setBody(BODY + BODY + BODY);
+            post.setCategory(category);
+            post.setTags(tags);
+            post.setCreatedAt(now);
+            post.setUpdatedAt(now);
+            post.setCreatedBy(1L);
+            post.setUpdatedBy(1L);
+            posts.add(post);
+
+            PostSummary summary = new PostSummary(i, post.getTitle(), post.getBody(), category.getId(), now, 1L);
+            summary.setTags(List.of("tag-1", "tag-2", "tag-3"));
+            summaries.add(summary);
+        }
+        postPage = new PagedResponse<>(posts, 0, pageSize, 1000, 1000 / pageSize, false);
+        summaryPage = new PagedResponse<>(summaries, 0, pageSize, 1000, 1000 / pageSize, false);
+
+        Album album = new Album();
+        album.setId(1L);
+        List<Photo> photos = new ArrayList<>(pageSize);
+        for (long i = 1; i <= pageSize; i++) {
+            Photo photo = new Photo("Photo " + i, "https://example.com/photos/" + i,
+                    "https://example.com/thumbnails/" + i, album);
+            photo.setId(i);
+            photos.add(photo);
+        }
+        albumResponse = new AlbumResponse();
+        albumResponse.setId(1L);
+        albumResponse.setTitle("Album");
+        albumResponse.setPhoto(photos);
+        albumResponse.setCreatedAt(now);
+        albumResponse.setUpdatedAt(now);
+        albumResponse.setCreatedBy(1L);
+        albumResponse.setUpdatedBy(1L);
+
+        userProfile = new UserProfile(1L, "jdoe", "John", "Doe", now, "jdoe@example.com",
+                new Address("Kulas Light", "Apt. 556", "Gwenborough", "92998-3874", new Geo("-37.3159", "81.1496")),
+                "1-770-736-8031", "hildegard.org",
+                new Company("Romaguera-Crona", "Multi-layered client-server neural-net", "harness real-time e-markets"),
+                42L, 310L, 6L, 240L, 18L);
+    }
+
+    @Benchmark
+    public byte[] postPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(postPage);
+    }
+
+    @Benchmark
+    public byte[] postSummaryPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(summaryPage);
+    }
+
+    @Benchmark
+    public byte[] albumResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(albumResponse);
+    }
+
+    @Benchmark
+    public byte[] userProfile() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(userProfile);
+    }
+}
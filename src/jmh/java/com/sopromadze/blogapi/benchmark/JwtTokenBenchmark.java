@@ -0,0 +1,81 @@
+package com.sopromadze.blogapi.benchmark;
+
+import com.sopromadze.blogapi.security.JwtKeyManager;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-token cost of signing and verifying with the raw String secret (how JwtTokenProvider used to
+ * work) against the precomputed key and parser held by {@link JwtKeyManager}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenBenchmark {
+
+    private static final String SECRET = "c2VjcmV0LWtleS11c2VkLWZvci1iZW5jaG1hcmtpbmctb25seQ==";
+
+    private JwtKeyManager keyManager;
+
+    private String legacyToken;
+
+    private String rotatedToken;
+
+    @Setup
+    public void setUp() {
+        keyManager = new JwtKeyManager(SECRET, "current", "previous:" + SECRET);
+        legacyToken = legacySign();
+        rotatedToken = keyManagerSign();
+    }
+
+    @Benchmark
+    public String legacySign() {
+        return Jwts.builder()
+                .setSubject("42")
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 3600000))
+                .signWith(SignatureAlgorithm.HS512, SECRET)
+                .compact();
+    }
+
+    @Benchmark
+    public String keyManagerSign() {
+        return keyManager.signWith(Jwts.builder()
+                .setSubject("42")
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 3600000)))
+                .compact();
+    }
+
+    @Benchmark
+    public Claims legacyParse() {
+        return Jwts.parser().setSigningKey(SECRET).parseClaimsJws(legacyToken).getBody();
+    }
+
+    @Benchmark
+    public Claims keyManagerParse() {
+        return keyManager.parseClaimsJws(rotatedToken).getBody();
+    }
+
+    @Benchmark
+    public Claims keyManagerParseWithoutKeyId() {
+        return keyManager.parseClaimsJws(legacyToken).getBody();
+    }
+}
@@ -0,0 +1,88 @@
+package com.sopromadze.blogapi.benchmark;
+
+import com.sopromadze.blogapi.model.role.RoleName;
+import com.sopromadze.blogapi.security.JwtKeyManager;
+import com.sopromadze.blogapi.security.JwtTokenProvider;
+import com.sopromadze.blogapi.security.UserPrincipal;
+import com.sopromadze.blogapi.security.VerifiedTokenCache;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JwtTokenProvider} end to end: issuing a token with the embedded user claims, and parsing
+ * one with and without the verified token cache in front of the signature check.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    private static final String SECRET = "c2VjcmV0LWtleS11c2VkLWZvci1iZW5jaG1hcmtpbmctb25seQ==";
+
+    private JwtTokenProvider cachingProvider;
+
+    private JwtTokenProvider uncachedProvider;
+
+    private Authentication authentication;
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtKeyManager keyManager = new JwtKeyManager(SECRET, "current", "");
+        cachingProvider = provider(keyManager, 10000);
+        uncachedProvider = provider(keyManager, 0);
+
+        UserPrincipal principal = new UserPrincipal(42L, "John", "Doe", "jdoe", "jdoe@example.com", null,
+                List.of(new SimpleGrantedAuthority(RoleName.ROLE_USER.toString())));
+        authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        token = generate();
+    }
+
+    @Benchmark
+    public String generate() {
+        return cachingProvider.generateToken(authentication);
+    }
+
+    @Benchmark
+    public Claims parseCached() {
+        return cachingProvider.parseToken(token);
+    }
+
+    @Benchmark
+    public Claims parseUncached() {
+        return uncachedProvider.parseToken(token);
+    }
+
+    @Benchmark
+    public UserPrincipal principalFromClaims() {
+        return cachingProvider.getUserPrincipalFromClaims(cachingProvider.parseToken(token));
+    }
+
+    private static JwtTokenProvider provider(JwtKeyManager keyManager, int cacheSize) {
+        JwtTokenProvider provider = new JwtTokenProvider(keyManager, new VerifiedTokenCache(cacheSize),
+                new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(provider, "jwtExpirationInMs", 3600000);
+        return provider;
+    }
+}
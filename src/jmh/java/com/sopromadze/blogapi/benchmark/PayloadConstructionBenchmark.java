@@ -0,0 +1,80 @@
+package com.sopromadze.blogapi.benchmark;
+
+import com.sopromadze.blogapi.model.role.Role;
+import com.sopromadze.blogapi.model.role.RoleName;
+import com.sopromadze.blogapi.model.user.User;
+import com.sopromadze.blogapi.payload.PagedResponse;
+import com.sopromadze.blogapi.payload.PostSummary;
+import com.sopromadze.blogapi.security.UserPrincipal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Allocation-heavy helpers on every request: building the principal from a loaded user, and
+ * building a page and reading it back through the defensive copy in
+ * {@link PagedResponse#getContent()}, which Jackson goes through on every serialization.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayloadConstructionBenchmark {
+
+    @Param({ "30" })
+    private int pageSize;
+
+    private User user;
+
+    private List<PostSummary> summaries;
+
+    private PagedResponse<PostSummary> page;
+
+    @Setup
+    public void setUp() {
+        user = new User("John", "Doe", "jdoe", "jdoe@example.com", "password");
+        user.setId(1L);
+        user.setRoles(List.of(new Role(RoleName.ROLE_USER), new Role(RoleName.ROLE_ADMIN)));
+
+        Instant now = Instant.now();
+        summaries = new ArrayList<>(pageSize);
+        for (long i = 1; i <= pageSize; i++) {
+            summaries.add(new PostSummary(i, "Post " + i, "Excerpt", 1L, now, 1L));
+        }
+        page = newPage();
+    }
+
+    @Benchmark
+    public UserPrincipal userPrincipalCreate() {
+        return UserPrincipal.create(user);
+    }
+
+    @Benchmark
+    public PagedResponse<PostSummary> pagedResponseConstruct() {
+        return newPage();
+    }
+
+    @Benchmark
+    public List<PostSummary> pagedResponseGetContent() {
+        return page.getContent();
+    }
+
+    private PagedResponse<PostSummary> newPage() {
+        return new PagedResponse<>(summaries, 0, pageSize, 1000, 1000 / pageSize, false);
+    }
+}
@@ -0,0 +1,119 @@
+package com.sopromadze.blogapi.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencies and errors of one phase, per operation. Every sample is kept, so percentiles are exact.
+ */
+final class LatencyRecorder {
+
+    private final String phase;
+
+    private final Map<Workload.Operation, Series> series = new ConcurrentHashMap<>();
+
+    private volatile long startedAt;
+
+    private volatile long finishedAt;
+
+    LatencyRecorder(String phase) {
+        this.phase = phase;
+    }
+
+    String getPhase() {
+        return phase;
+    }
+
+    void start() {
+        startedAt = System.nanoTime();
+    }
+
+    void finish() {
+        finishedAt = System.nanoTime();
+    }
+
+    void record(Workload.Operation operation, long nanos, boolean success) {
+        series.computeIfAbsent(operation, key -> new Series()).add(nanos, success);
+    }
+
+    Map<String, Object> summarize() {
+        double seconds = Math.max(finishedAt - startedAt, 1) / 1e9;
+
+        long requests = 0;
+        long errors = 0;
+        Map<String, Object> operations = new LinkedHashMap<>();
+        for (Workload.Operation operation : Workload.Operation.values()) {
+            Series operationSeries = series.get(operation);
+            if (operationSeries != null) {
+                Map<String, Object> summary = operationSeries.summarize(seconds);
+                operations.put(operation.key, summary);
+                requests += (Long) summary.get("requests");
+                errors += (Long) summary.get("errors");
+            }
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("durationSeconds", round(seconds));
+        result.put("requests", requests);
+        result.put("errors", errors);
+        result.put("throughputPerSecond", round(requests / seconds));
+        result.put("operations", operations);
+        return result;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static double millis(long nanos) {
+        return round(nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    private static final class Series {
+
+        private long[] latencies = new long[1024];
+
+        private int count;
+
+        private long errors;
+
+        synchronized void add(long nanos, boolean success) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            if (!success) {
+                errors++;
+            }
+        }
+
+        synchronized Map<String, Object> summarize(double seconds) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("requests", (long) count);
+            summary.put("errors", errors);
+            summary.put("throughputPerSecond", round(count / seconds));
+            summary.put("p50Ms", millis(percentile(sorted, 50)));
+            summary.put("p95Ms", millis(percentile(sorted, 95)));
+            summary.put("p99Ms", millis(percentile(sorted, 99)));
+            summary.put("maxMs", millis(count == 0 ? 0 : sorted[count - 1]));
+            return summary;
+        }
+
+        /**
+         * Nearest-rank percentile.
+         */
+        private static long percentile(long[] sorted, int percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+            return sorted[Math.max(rank, 1) - 1];
+        }
+    }
+}
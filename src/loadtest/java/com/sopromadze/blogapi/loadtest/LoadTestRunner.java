@@ -0,0 +1,180 @@
+package com.sopromadze.blogapi.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sopromadze.blogapi.BlogApiApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Closed-loop load test: starts the application on a random port against an in-memory H2 database
+ * in MySQL mode, seeds it through the API and lets {@code loadtest.users} virtual users run the
+ * configured operation mix back to back. A warm-up phase at full concurrency is followed by a ramp
+ * from one user to all of them and a steady-state phase; each is summarized separately in the JSON
+ * report.
+ */
+public final class LoadTestRunner {
+
+    private final LoadTestSettings settings;
+
+    private final Workload workload;
+
+    private final Workload.Operation[] operations;
+
+    private final int[] cumulativeWeights;
+
+    private final AtomicReference<LatencyRecorder> recorder = new AtomicReference<>();
+
+    private final AtomicInteger activeUsers = new AtomicInteger();
+
+    private volatile boolean running = true;
+
+    private LoadTestRunner(LoadTestSettings settings, Workload workload) {
+        this.settings = settings;
+        this.workload = workload;
+        this.operations = settings.mix.keySet().toArray(new Workload.Operation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += settings.mix.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        System.setProperty("http.maxConnections", String.valueOf(Math.max(settings.users, 5)));
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BlogApiApplication.class)
+                .run(applicationArguments(settings))) {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            Workload workload = new Workload("http://localhost:" + port);
+            workload.seed(settings.users, settings.seedPosts);
+
+            Map<String, Object> report = new LoadTestRunner(settings, workload).run();
+
+            File output = new File(settings.report);
+            if (output.getParentFile() != null) {
+                output.getParentFile().mkdirs();
+            }
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output, report);
+            System.out.println("Load test report written to " + output.getAbsolutePath());
+        }
+    }
+
+    private static String[] applicationArguments(LoadTestSettings settings) {
+        return new String[] {
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1;MODE=MYSQL",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.hikari.maximum-pool-size=" + settings.poolSize,
+                "--spring.flyway.enabled=true",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.show-sql=false",
+                "--app.sqlStatisticsHeaders=false",
+                "--logging.level.root=WARN"
+        };
+    }
+
+    private Map<String, Object> run() throws InterruptedException {
+        Map<String, Object> phases = new LinkedHashMap<>();
+        ExecutorService executor = Executors.newFixedThreadPool(settings.users);
+        for (int user = 0; user < settings.users; user++) {
+            int index = user;
+            executor.execute(() -> virtualUser(index));
+        }
+
+        try {
+            LatencyRecorder warmup = startPhase("warmup", settings.users);
+            TimeUnit.SECONDS.sleep(settings.warmupSeconds);
+            warmup.finish();
+            phases.put(warmup.getPhase(), warmup.summarize());
+
+            LatencyRecorder ramp = startPhase("ramp", 1);
+            for (int second = 1; second <= settings.rampSeconds; second++) {
+                TimeUnit.SECONDS.sleep(1);
+                activeUsers.set(Math.max(1, (int) Math.ceil((double) settings.users * second / settings.rampSeconds)));
+            }
+            ramp.finish();
+            phases.put(ramp.getPhase(), ramp.summarize());
+
+            LatencyRecorder steady = startPhase("steady", settings.users);
+            TimeUnit.SECONDS.sleep(settings.steadySeconds);
+            steady.finish();
+            phases.put(steady.getPhase(), steady.summarize());
+        } finally {
+            running = false;
+            executor.shutdown();
+            executor.awaitTermination(30, TimeUnit.SECONDS);
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("finishedAt", Instant.now().toString());
+        report.put("settings", settings.describe());
+        report.put("phases", phases);
+        return report;
+    }
+
+    private LatencyRecorder startPhase(String name, int users) {
+        LatencyRecorder phase = new LatencyRecorder(name);
+        phase.start();
+        recorder.set(phase);
+        activeUsers.set(users);
+        return phase;
+    }
+
+    /**
+     * Users above the current concurrency level idle until the ramp reaches them. Samples belong to
+     * the phase the request started in.
+     */
+    private void virtualUser(int index) {
+        SplittableRandom random = new SplittableRandom(index);
+        while (running) {
+            if (index >= activeUsers.get()) {
+                pause(10);
+                continue;
+            }
+
+            LatencyRecorder phase = recorder.get();
+            Workload.Operation operation = nextOperation(random);
+            long start = System.nanoTime();
+            boolean success = workload.execute(operation, index, random);
+            phase.record(operation, System.nanoTime() - start, success);
+
+            if (settings.thinkTimeMillis > 0) {
+                pause(settings.thinkTimeMillis);
+            }
+        }
+    }
+
+    private Workload.Operation nextOperation(SplittableRandom random) {
+        int ticket = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (ticket < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private static void pause(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.sopromadze.blogapi.loadtest;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Load test knobs, read from {@code -Dloadtest.*} system properties.
+ */
+final class LoadTestSettings {
+
+    static final String DEFAULT_MIX = "listPosts=35,categoryPosts=10,tagPosts=10,commentThread=20,"
+            + "createPost=5,createComment=10,createPhoto=5,signIn=5";
+
+    final int users;
+
+    final int warmupSeconds;
+
+    final int rampSeconds;
+
+    final int steadySeconds;
+
+    final int thinkTimeMillis;
+
+    final int seedPosts;
+
+    final int poolSize;
+
+    final String report;
+
+    final Map<Workload.Operation, Integer> mix;
+
+    private LoadTestSettings() {
+        users = Integer.getInteger("loadtest.users", 16);
+        warmupSeconds = Integer.getInteger("loadtest.warmupSeconds", 30);
+        rampSeconds = Integer.getInteger("loadtest.rampSeconds", 30);
+        steadySeconds = Integer.getInteger("loadtest.steadySeconds", 120);
+        thinkTimeMillis = Integer.getInteger("loadtest.thinkTimeMs", 0);
+        seedPosts = Integer.getInteger("loadtest.seedPosts", 60);
+        poolSize = Integer.getInteger("loadtest.poolSize", 10);
+        report = System.getProperty("loadtest.report", "target/loadtest-report.json");
+        mix = parseMix(System.getProperty("loadtest.mix", DEFAULT_MIX));
+    }
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings();
+    }
+
+    Map<String, Object> describe() {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("users", users);
+        description.put("warmupSeconds", warmupSeconds);
+        description.put("rampSeconds", rampSeconds);
+        description.put("steadySeconds", steadySeconds);
+        description.put("thinkTimeMs", thinkTimeMillis);
+        description.put("seedPosts", seedPosts);
+        description.put("poolSize", poolSize);
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        mix.forEach((operation, weight) -> weights.put(operation.key, weight));
+        description.put("mix", weights);
+        return description;
+    }
+
+    private static Map<Workload.Operation, Integer> parseMix(String value) {
+        Map<Workload.Operation, Integer> mix = new EnumMap<>(Workload.Operation.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Mix entries look like operation=weight, got: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                mix.put(Workload.Operation.fromKey(parts[0].trim()), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("The workload mix has no operation with a positive weight");
+        }
+        return mix;
+    }
+}
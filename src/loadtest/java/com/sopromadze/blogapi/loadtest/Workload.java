@@ -0,0 +1,246 @@
+package com.sopromadze.blogapi.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.DefaultResponseErrorHandler;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The operations virtual users pick from, the data they run against and the HTTP calls behind them.
+ * {@link #seed(int, int)} creates that data through the API before anything is measured.
+ */
+final class Workload {
+
+    private static final String BODY = "Cuerpo generado por la prueba de carga con la longitud suficiente para "
+            + "pasar la validacion de las publicaciones.";
+
+    private static final int PAGE_SIZE = 30;
+
+    private static final int CATEGORIES = 3;
+
+    private static final int TAGS = 10;
+
+    enum Operation {
+        LIST_POSTS("listPosts"),
+        CATEGORY_POSTS("categoryPosts"),
+        TAG_POSTS("tagPosts"),
+        COMMENT_THREAD("commentThread"),
+        CREATE_POST("createPost"),
+        CREATE_COMMENT("createComment"),
+        CREATE_PHOTO("createPhoto"),
+        SIGN_IN("signIn");
+
+        final String key;
+
+        Operation(String key) {
+            this.key = key;
+        }
+
+        static Operation fromKey(String key) {
+            for (Operation operation : values()) {
+                if (operation.key.equals(key)) {
+                    return operation;
+                }
+            }
+            throw new IllegalArgumentException("Unknown operation " + key + ", expected one of "
+                    + Arrays.toString(Arrays.stream(values()).map(operation -> operation.key).toArray()));
+        }
+    }
+
+    private final RestTemplate restTemplate = new RestTemplate();
+
+    private final String baseUrl;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final List<Account> accounts = new ArrayList<>();
+
+    private final List<Long> categoryIds = new ArrayList<>();
+
+    private final List<Long> tagIds = new ArrayList<>();
+
+    private final List<Long> postIds = new ArrayList<>();
+
+    Workload(String baseUrl) {
+        this.baseUrl = baseUrl;
+        restTemplate.setErrorHandler(new DefaultResponseErrorHandler() {
+            @Override
+            public boolean hasError(ClientHttpResponse response) {
+                return false;
+            }
+        });
+    }
+
+    /**
+     * One account per virtual user, the first one being the bootstrap admin, a few categories, a
+     * post backlog spread over {@value #TAGS} tags and one album per account.
+     */
+    void seed(int accountCount, int posts) {
+        for (int i = 0; i < accountCount; i++) {
+            Account account = new Account("load" + i, "password" + i);
+            Map<String, Object> signUp = new LinkedHashMap<>();
+            signUp.put("firstName", "Load");
+            signUp.put("lastName", "Tester");
+            signUp.put("username", account.username);
+            signUp.put("email", account.username + "@example.com");
+            signUp.put("password", account.password);
+            require(send(HttpMethod.POST, "/api/auth/signup", signUp, null), "sign up " + account.username);
+            require(signIn(account), "sign in " + account.username);
+            accounts.add(account);
+        }
+
+        String adminToken = accounts.get(0).token;
+        for (int i = 1; i <= CATEGORIES; i++) {
+            Map<String, Object> category = new LinkedHashMap<>();
+            category.put("name", "Category " + i);
+            categoryIds.add(require(send(HttpMethod.POST, "/api/categories", category, adminToken), "create category")
+                    .getBody().get("id").asLong());
+        }
+
+        for (int i = 0; i < posts; i++) {
+            Account author = accounts.get(i % accounts.size());
+            require(send(HttpMethod.POST, "/api/posts", post("Seed post number " + i, i), author.token), "seed post");
+        }
+        collectIds("/api/posts?page={page}&size={size}", postIds);
+        collectIds("/api/tags?page={page}&size={size}", tagIds);
+
+        for (Account account : accounts) {
+            Map<String, Object> album = new LinkedHashMap<>();
+            album.put("title", "Album of " + account.username);
+            account.albumId = require(send(HttpMethod.POST, "/api/albums", album, account.token), "create album")
+                    .getBody().get("id").asLong();
+        }
+    }
+
+    /**
+     * Runs one operation as virtual user {@code user} and reports whether it got a 2xx answer.
+     */
+    boolean execute(Operation operation, int user, SplittableRandom random) {
+        Account account = accounts.get(user % accounts.size());
+        try {
+            switch (operation) {
+            case LIST_POSTS:
+                return ok(send(HttpMethod.GET, "/api/posts?page={page}&size={size}", null, null,
+                        random.nextInt(3), PAGE_SIZE));
+            case CATEGORY_POSTS:
+                return ok(send(HttpMethod.GET, "/api/posts/category/{id}", null, null, pick(categoryIds, random)));
+            case TAG_POSTS:
+                return ok(send(HttpMethod.GET, "/api/posts/tag/{id}", null, null, pick(tagIds, random)));
+            case COMMENT_THREAD:
+                return ok(send(HttpMethod.GET, "/api/posts/{id}/comments", null, null, pick(postIds, random)));
+            case CREATE_POST:
+                return ok(send(HttpMethod.POST, "/api/posts",
+                        post("Load post " + sequence.incrementAndGet() + " by " + account.username,
+                                random.nextInt(TAGS)), account.token));
+            case CREATE_COMMENT:
+                Map<String, Object> comment = new LinkedHashMap<>();
+                comment.put("body", "Comment number " + sequence.incrementAndGet() + " from the load test");
+                return ok(send(HttpMethod.POST, "/api/posts/{id}/comments", comment, account.token,
+                        pick(postIds, random)));
+            case CREATE_PHOTO:
+                long photo = sequence.incrementAndGet();
+                Map<String, Object> request = new LinkedHashMap<>();
+                request.put("title", "Photo " + photo);
+                request.put("url", "https://example.com/photos/" + photo);
+                request.put("thumbnailUrl", "https://example.com/thumbnails/" + photo);
+                request.put("albumId", account.albumId);
+                return ok(send(HttpMethod.POST, "/api/photos", request, account.token));
+            case SIGN_IN:
+                return ok(signIn(account));
+            default:
+                throw new IllegalArgumentException("Unhandled operation " + operation);
+            }
+        } catch (RestClientException ex) {
+            return false;
+        }
+    }
+
+    private ResponseEntity<JsonNode> signIn(Account account) {
+        Map<String, Object> login = new LinkedHashMap<>();
+        login.put("usernameOrEmail", account.username);
+        login.put("password", account.password);
+        ResponseEntity<JsonNode> response = send(HttpMethod.POST, "/api/auth/signin", login, null);
+        if (ok(response)) {
+            account.token = response.getBody().get("accessToken").asText();
+        }
+        return response;
+    }
+
+    private Map<String, Object> post(String title, int tag) {
+        Map<String, Object> post = new LinkedHashMap<>();
+        post.put("title", title);
+        post.put("body", BODY);
+        post.put("categoryId", categoryIds.get(tag % categoryIds.size()));
+        post.put("tags", Arrays.asList("tag-" + tag % TAGS, "tag-" + (tag + 3) % TAGS));
+        return post;
+    }
+
+    private void collectIds(String listing, List<Long> ids) {
+        for (int page = 0; ; page++) {
+            JsonNode body = require(send(HttpMethod.GET, listing, null, null, page, PAGE_SIZE), listing).getBody();
+            for (JsonNode item : body.get("content")) {
+                ids.add(item.get("id").asLong());
+            }
+            if (body.get("last").asBoolean() || body.get("content").size() == 0) {
+                return;
+            }
+        }
+    }
+
+    private ResponseEntity<JsonNode> send(HttpMethod method, String path, Object body, String token,
+            Object... uriVariables) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        if (token != null) {
+            headers.setBearerAuth(token);
+        }
+        return restTemplate.exchange(baseUrl + path, method, new HttpEntity<>(body, headers), JsonNode.class,
+                uriVariables);
+    }
+
+    private static ResponseEntity<JsonNode> require(ResponseEntity<JsonNode> response, String step) {
+        if (!ok(response)) {
+            throw new IllegalStateException("Seeding failed to " + step + ": " + response.getStatusCode() + " "
+                    + response.getBody());
+        }
+        return response;
+    }
+
+    private static boolean ok(ResponseEntity<?> response) {
+        return response.getStatusCode().is2xxSuccessful();
+    }
+
+    private static Long pick(List<Long> ids, SplittableRandom random) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private static final class Account {
+
+        private final String username;
+
+        private final String password;
+
+        private volatile String token;
+
+        private volatile Long albumId;
+
+        private Account(String username, String password) {
+            this.username = username;
+            this.password = password;
+        }
+    }
+}
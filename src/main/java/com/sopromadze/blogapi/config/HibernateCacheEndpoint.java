@@ -0,0 +1,70 @@
+package com.sopromadze.blogapi.config;
+
+import com.sopromadze.blogapi.utils.AppConstants;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * {@code /actuator/hibernatecache}: hit, miss and put counts of the second-level and query cache
+ * regions holding reference data.
+ */
+@Component
+@Endpoint(id = "hibernatecache")
+@RequiredArgsConstructor
+public class HibernateCacheEndpoint {
+
+	private static final String DEFAULT_QUERY_REGION = "default-query-results-region";
+
+	private final EntityManagerFactory entityManagerFactory;
+
+	@ReadOperation
+	public Map<String, Object> cacheStatistics() {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		Set<String> regionNames = new TreeSet<>(Arrays.asList(statistics.getSecondLevelCacheRegionNames()));
+		regionNames.add(AppConstants.REFERENCE_QUERY_REGION);
+		regionNames.add(DEFAULT_QUERY_REGION);
+
+		Map<String, Object> regions = new TreeMap<>();
+		for (String regionName : regionNames) {
+			CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+			if (region != null) {
+				regions.put(regionName, counts(region.getHitCount(), region.getMissCount(), region.getPutCount(),
+						region.getElementCountInMemory()));
+			}
+		}
+
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("statisticsEnabled", statistics.isStatisticsEnabled());
+		result.put("secondLevelCache", counts(statistics.getSecondLevelCacheHitCount(),
+				statistics.getSecondLevelCacheMissCount(), statistics.getSecondLevelCachePutCount(), -1));
+		result.put("queryCache", counts(statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount(),
+				statistics.getQueryCachePutCount(), -1));
+		result.put("regions", regions);
+		return result;
+	}
+
+	private static Map<String, Long> counts(long hits, long misses, long puts, long elements) {
+		Map<String, Long> counts = new LinkedHashMap<>();
+		counts.put("hits", hits);
+		counts.put("misses", misses);
+		counts.put("puts", puts);
+		if (elements >= 0) {
+			counts.put("elements", elements);
+		}
+		return counts;
+	}
+}
@@ -3,8 +3,11 @@ package com.sopromadze.blogapi.config;
 import com.sopromadze.blogapi.repository.UserRepository;
 import com.sopromadze.blogapi.security.JwtAuthenticationEntryPoint;
 import com.sopromadze.blogapi.security.JwtAuthenticationFilter;
+import com.sopromadze.blogapi.security.PooledPasswordEncoder;
 import com.sopromadze.blogapi.service.impl.CustomUserDetailsServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -30,13 +33,28 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 	private final CustomUserDetailsServiceImpl customUserDetailsService;
 	private final JwtAuthenticationEntryPoint unauthorizedHandler;
 	private final JwtAuthenticationFilter jwtAuthenticationFilter;
+	private final MeterRegistry meterRegistry;
+
+	@Value(value = "${app.bcryptStrength:10}")
+	private int bcryptStrength;
+
+	@Value(value = "${app.passwordHashingPoolSize:0}")
+	private int passwordHashingPoolSize;
+
+	@Value(value = "${app.passwordHashingQueueCapacity:0}")
+	private int passwordHashingQueueCapacity;
+
+	@Value(value = "${app.passwordHashingMaxWaitInMs:2000}")
+	private long passwordHashingMaxWaitInMs;
 
 	@Autowired
 	public SecurityConfig(UserRepository userRepository, CustomUserDetailsServiceImpl customUserDetailsService,
-						  JwtAuthenticationEntryPoint unauthorizedHandler, JwtAuthenticationFilter jwtAuthenticationFilter) {
+						  JwtAuthenticationEntryPoint unauthorizedHandler, JwtAuthenticationFilter jwtAuthenticationFilter,
+						  MeterRegistry meterRegistry) {
 		this.customUserDetailsService = customUserDetailsService;
 		this.unauthorizedHandler = unauthorizedHandler;
 		this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+		this.meterRegistry = meterRegistry;
 	}
 
 	@Override
@@ -53,6 +71,8 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 				.antMatchers(HttpMethod.GET, "/api/**").permitAll()
 				.antMatchers(HttpMethod.POST, "/api/auth/**").permitAll()
 				.antMatchers(HttpMethod.GET, "/api/users/checkUsernameAvailability", "/api/users/checkEmailAvailability").permitAll()
+				.antMatchers(HttpMethod.GET, "/actuator/health").permitAll()
+				.antMatchers("/actuator/**").hasRole("ADMIN")
 				.anyRequest().authenticated();
 
 		http.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
@@ -71,6 +91,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 
 	@Bean
 	public PasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
+		return new PooledPasswordEncoder(new BCryptPasswordEncoder(bcryptStrength), passwordHashingPoolSize,
+				passwordHashingQueueCapacity, passwordHashingMaxWaitInMs, meterRegistry);
 	}
 }
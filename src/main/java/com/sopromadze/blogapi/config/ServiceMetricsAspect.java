@@ -0,0 +1,45 @@
+package com.sopromadze.blogapi.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every public method of the service implementations as {@code blogapi.service.invocations},
+ * tagged with the service class, the method and the exception thrown, if any. Repository calls are
+ * timed by Spring Boot itself as {@code spring.data.repository.invocations}.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+
+	private static final String SERVICE_TIMER = "blogapi.service.invocations";
+
+	private static final String NO_EXCEPTION = "none";
+
+	private final MeterRegistry meterRegistry;
+
+	@Around("execution(public * com.sopromadze.blogapi.service.impl..*(..))")
+	public Object timeServiceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+		Timer.Sample sample = Timer.start(meterRegistry);
+		String exception = NO_EXCEPTION;
+		try {
+			return joinPoint.proceed();
+		} catch (Throwable ex) {
+			exception = ex.getClass().getSimpleName();
+			throw ex;
+		} finally {
+			sample.stop(Timer.builder(SERVICE_TIMER)
+					.tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+					.tag("method", joinPoint.getSignature().getName())
+					.tag("exception", exception)
+					.description("Time spent in service methods")
+					.register(meterRegistry));
+		}
+	}
+}
@@ -0,0 +1,91 @@
+package com.sopromadze.blogapi.config;
+
+import com.sopromadze.blogapi.utils.SqlStatistics;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.util.List;
+
+/**
+ * Wraps the data source so every statement, every row read or changed and the time spent in JDBC
+ * are added to the executing thread's {@link SqlStatistics}. Every result set row goes through a
+ * reflective proxy, so this is only switched on with {@code app.sqlStatisticsEnabled}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.sqlStatisticsEnabled", havingValue = "true")
+public class SqlStatisticsConfig {
+
+	@Bean
+	public static BeanPostProcessor sqlStatisticsDataSourcePostProcessor() {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (!(bean instanceof DataSource) || bean instanceof ProxyDataSource) {
+					return bean;
+				}
+				return ProxyDataSourceBuilder.create((DataSource) bean)
+						.name(beanName)
+						.listener(new StatementListener())
+						.methodListener(new RowListener())
+						.proxyResultSet()
+						.build();
+			}
+		};
+	}
+
+	private static final class StatementListener implements QueryExecutionListener {
+
+		@Override
+		public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+			SqlStatistics.current().executionStarted();
+		}
+
+		@Override
+		public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+			SqlStatistics.current().executionFinished(affectedRows(execInfo.getResult()));
+		}
+
+		/**
+		 * Update counts; rows returned by a query are counted one by one as the result set is read.
+		 */
+		private static long affectedRows(Object result) {
+			if (result instanceof Number) {
+				return Math.max(((Number) result).longValue(), 0);
+			}
+			long rows = 0;
+			if (result instanceof int[]) {
+				for (int count : (int[]) result) {
+					rows += Math.max(count, 0);
+				}
+			}
+			return rows;
+		}
+	}
+
+	private static final class RowListener implements MethodExecutionListener {
+
+		@Override
+		public void beforeMethod(MethodExecutionContext executionContext) {
+		}
+
+		@Override
+		public void afterMethod(MethodExecutionContext executionContext) {
+			if (executionContext.getTarget() instanceof ResultSet
+					&& "next".equals(executionContext.getMethod().getName())
+					&& Boolean.TRUE.equals(executionContext.getResult())) {
+				SqlStatistics.current().rowRead();
+			}
+		}
+	}
+}
@@ -0,0 +1,95 @@
+package com.sopromadze.blogapi.config;
+
+import com.sopromadze.blogapi.utils.SqlStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Logs requests that ran more SQL statements than {@code app.sqlStatementBudget}. With
+ * {@code app.sqlStatisticsHeaders} on, the statement, row and JDBC time totals are also returned as
+ * response headers; they are written just before the response commits, so a streamed response
+ * reports what ran until its first flush. Registered only with {@link SqlStatisticsConfig}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.sqlStatisticsEnabled", havingValue = "true")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+	private static final Logger LOGGER = LoggerFactory.getLogger(SqlStatisticsFilter.class);
+
+	public static final String STATEMENTS_HEADER = "X-SQL-Statements";
+
+	public static final String ROWS_HEADER = "X-SQL-Rows";
+
+	public static final String TIME_HEADER = "X-SQL-Time-Ms";
+
+	@Value(value = "${app.sqlStatementBudget:20}")
+	private int statementBudget;
+
+	@Value(value = "${app.sqlStatisticsHeaders:false}")
+	private boolean exposeHeaders;
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		SqlStatistics.Snapshot start = SqlStatistics.current().snapshot();
+
+		if (exposeHeaders) {
+			StatisticsHeadersResponse wrapper = new StatisticsHeadersResponse(response, start);
+			filterChain.doFilter(request, wrapper);
+			if (!response.isCommitted()) {
+				wrapper.addStatisticsHeaders();
+			}
+		} else {
+			filterChain.doFilter(request, response);
+		}
+
+		SqlStatistics.Snapshot used = SqlStatistics.current().snapshot().since(start);
+		if (used.getStatements() > statementBudget) {
+			LOGGER.warn("{} {} ran {} SQL statements ({} rows, {} ms), budget is {}", request.getMethod(),
+					request.getRequestURI(), used.getStatements(), used.getRows(), used.getJdbcMillis(),
+					statementBudget);
+		}
+	}
+
+	private static final class StatisticsHeadersResponse extends OnCommittedResponseWrapper {
+
+		private final SqlStatistics.Snapshot start;
+
+		private boolean headersAdded;
+
+		private StatisticsHeadersResponse(HttpServletResponse response, SqlStatistics.Snapshot start) {
+			super(response);
+			this.start = start;
+		}
+
+		@Override
+		protected void onResponseCommitted() {
+			addStatisticsHeaders();
+		}
+
+		private void addStatisticsHeaders() {
+			if (headersAdded) {
+				return;
+			}
+			headersAdded = true;
+
+			SqlStatistics.Snapshot used = SqlStatistics.current().snapshot().since(start);
+			setHeader(STATEMENTS_HEADER, Long.toString(used.getStatements()));
+			setHeader(ROWS_HEADER, Long.toString(used.getRows()));
+			setHeader(TIME_HEADER, Long.toString(used.getJdbcMillis()));
+		}
+	}
+}
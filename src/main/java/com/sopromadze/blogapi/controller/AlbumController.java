@@ -4,6 +4,7 @@ import com.sopromadze.blogapi.exception.ResponseEntityErrorException;
 import com.sopromadze.blogapi.model.Album;
 import com.sopromadze.blogapi.payload.AlbumResponse;
 import com.sopromadze.blogapi.payload.ApiResponse;
+import com.sopromadze.blogapi.payload.CursorPagedResponse;
 import com.sopromadze.blogapi.payload.PagedResponse;
 import com.sopromadze.blogapi.payload.PhotoResponse;
 import com.sopromadze.blogapi.payload.request.AlbumRequest;
@@ -13,6 +14,7 @@ import com.sopromadze.blogapi.service.AlbumService;
 import com.sopromadze.blogapi.service.PhotoService;
 import com.sopromadze.blogapi.utils.AppConstants;
 import com.sopromadze.blogapi.utils.AppUtils;
+import com.sopromadze.blogapi.utils.ResourceVersion;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -28,6 +30,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
 
@@ -54,6 +57,12 @@ public class AlbumController {
 		return albumService.getAllAlbums(page, size);
 	}
 
+	@GetMapping(params = "after")
+	public CursorPagedResponse<AlbumResponse> getAllAlbumsAfter(@RequestParam(name = "after") String after,
+			@RequestParam(name = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size) {
+		return albumService.getAllAlbums(after, size);
+	}
+
 	@PostMapping
 	@PreAuthorize("hasRole('USER')")
 	public ResponseEntity<Album> addAlbum(@Valid @RequestBody AlbumRequest albumRequest, @CurrentUser UserPrincipal currentUser) {
@@ -61,7 +70,12 @@ public class AlbumController {
 	}
 
 	@GetMapping("/{id}")
-	public ResponseEntity<Album> getAlbum(@PathVariable(name = "id") Long id) {
+	public ResponseEntity<Album> getAlbum(@PathVariable(name = "id") Long id, WebRequest request) {
+		ResourceVersion version = albumService.getAlbumVersion(id);
+		if (request.checkNotModified(version.getETag(), version.getLastModified())) {
+			return null;
+		}
+
 		return albumService.getAlbum(id);
 	}
 
@@ -81,7 +95,12 @@ public class AlbumController {
 	@GetMapping("/{id}/photos")
 	public ResponseEntity<PagedResponse<PhotoResponse>> getAllPhotosByAlbum(@PathVariable(name = "id") Long id,
 			@RequestParam(name = "page", required = false, defaultValue = AppConstants.DEFAULT_PAGE_NUMBER) Integer page,
-			@RequestParam(name = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size) {
+			@RequestParam(name = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size,
+			WebRequest request) {
+		ResourceVersion version = photoService.getAllPhotosByAlbumVersion(id);
+		if (request.checkNotModified(version.getETag(), version.getLastModified())) {
+			return null;
+		}
 
 		PagedResponse<PhotoResponse> response = photoService.getAllPhotosByAlbum(id, page, size);
 
@@ -1,17 +1,20 @@
 package com.sopromadze.blogapi.controller;
 
-import com.sopromadze.blogapi.exception.AppException;
 import com.sopromadze.blogapi.exception.BlogapiException;
+import com.sopromadze.blogapi.model.BootstrapFlag;
 import com.sopromadze.blogapi.model.role.Role;
 import com.sopromadze.blogapi.model.role.RoleName;
 import com.sopromadze.blogapi.model.user.User;
+import com.sopromadze.blogapi.model.user.UserStats;
 import com.sopromadze.blogapi.payload.ApiResponse;
 import com.sopromadze.blogapi.payload.JwtAuthenticationResponse;
 import com.sopromadze.blogapi.payload.LoginRequest;
 import com.sopromadze.blogapi.payload.SignUpRequest;
-import com.sopromadze.blogapi.repository.RoleRepository;
+import com.sopromadze.blogapi.repository.BootstrapFlagRepository;
 import com.sopromadze.blogapi.repository.UserRepository;
+import com.sopromadze.blogapi.repository.UserStatsRepository;
 import com.sopromadze.blogapi.security.JwtTokenProvider;
+import com.sopromadze.blogapi.security.RoleRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -21,6 +24,7 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -36,19 +40,23 @@ import java.util.List;
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
 public class AuthController {
-	private static final String USER_ROLE_NOT_SET = "User role not set";
-
 
 	private final AuthenticationManager authenticationManager;
 
 	private final UserRepository userRepository;
 
-	private final RoleRepository roleRepository;
+	private final RoleRegistry roleRegistry;
+
+	private final BootstrapFlagRepository bootstrapFlagRepository;
+
+	private final UserStatsRepository userStatsRepository;
 
 	private final PasswordEncoder passwordEncoder;
 
 	private final JwtTokenProvider jwtTokenProvider;
 
+	private final TransactionTemplate transactionTemplate;
+
 	@PostMapping("/signin")
 	public ResponseEntity<JwtAuthenticationResponse> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
 		Authentication authentication = authenticationManager.authenticate(
@@ -84,19 +92,18 @@ public class AuthController {
 
 		List<Role> roles = new ArrayList<>();
 
-		if (userRepository.count() == 0) {
-			roles.add(roleRepository.findByName(RoleName.ROLE_USER)
-					.orElseThrow(() -> new AppException(USER_ROLE_NOT_SET)));
-			roles.add(roleRepository.findByName(RoleName.ROLE_ADMIN)
-					.orElseThrow(() -> new AppException(USER_ROLE_NOT_SET)));
-		} else {
-			roles.add(roleRepository.findByName(RoleName.ROLE_USER)
-					.orElseThrow(() -> new AppException(USER_ROLE_NOT_SET)));
-		}
-
-		user.setRoles(roles);
-
-		User result = userRepository.save(user);
+		roles.add(roleRegistry.get(RoleName.ROLE_USER));
+
+		// the flag is claimed in the same transaction as the insert, so a failed insert hands it back
+		User result = transactionTemplate.execute(status -> {
+			if (bootstrapFlagRepository.consume(BootstrapFlag.FIRST_ADMIN) == 1) {
+				roles.add(roleRegistry.get(RoleName.ROLE_ADMIN));
+			}
+			user.setRoles(roles);
+			User newUser = userRepository.save(user);
+			userStatsRepository.save(new UserStats(newUser.getId()));
+			return newUser;
+		});
 
 		URI location = ServletUriComponentsBuilder.fromCurrentContextPath().path("/api/users/{userId}")
 				.buildAndExpand(result.getId()).toUri();
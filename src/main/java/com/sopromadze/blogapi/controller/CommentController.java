@@ -3,6 +3,7 @@ package com.sopromadze.blogapi.controller;
 import com.sopromadze.blogapi.model.Comment;
 import com.sopromadze.blogapi.payload.ApiResponse;
 import com.sopromadze.blogapi.payload.CommentRequest;
+import com.sopromadze.blogapi.payload.CursorPagedResponse;
 import com.sopromadze.blogapi.payload.PagedResponse;
 import com.sopromadze.blogapi.security.CurrentUser;
 import com.sopromadze.blogapi.security.UserPrincipal;
@@ -43,6 +44,16 @@ public class CommentController {
 		return new ResponseEntity< >(allComments, HttpStatus.OK);
 	}
 
+	@GetMapping(params = "after")
+	public ResponseEntity<CursorPagedResponse<Comment>> getAllCommentsAfter(@PathVariable(name = "postId") Long postId,
+			@RequestParam(name = "after") String after,
+			@RequestParam(name = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size) {
+
+		CursorPagedResponse<Comment> comments = commentService.getAllComments(postId, after, size);
+
+		return new ResponseEntity< >(comments, HttpStatus.OK);
+	}
+
 	@PostMapping
 	@PreAuthorize("hasRole('USER')")
 	public ResponseEntity<Comment> addComment(@Valid @RequestBody CommentRequest commentRequest,
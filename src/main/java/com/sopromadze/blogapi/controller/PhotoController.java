@@ -1,13 +1,16 @@
 package com.sopromadze.blogapi.controller;
 
 import com.sopromadze.blogapi.payload.ApiResponse;
+import com.sopromadze.blogapi.payload.CursorPagedResponse;
 import com.sopromadze.blogapi.payload.PagedResponse;
 import com.sopromadze.blogapi.payload.PhotoRequest;
 import com.sopromadze.blogapi.payload.PhotoResponse;
+import com.sopromadze.blogapi.payload.TotalMode;
 import com.sopromadze.blogapi.security.CurrentUser;
 import com.sopromadze.blogapi.security.UserPrincipal;
 import com.sopromadze.blogapi.service.PhotoService;
 import com.sopromadze.blogapi.utils.AppConstants;
+import com.sopromadze.blogapi.utils.ResourceVersion;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -22,6 +25,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
 
@@ -36,8 +40,16 @@ public class PhotoController {
 	@GetMapping
 	public PagedResponse<PhotoResponse> getAllPhotos(
 			@RequestParam(name = "page", required = false, defaultValue = AppConstants.DEFAULT_PAGE_NUMBER) Integer page,
+			@RequestParam(name = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size,
+			@RequestParam(name = "withTotal", required = false, defaultValue = "true") boolean withTotal,
+			@RequestParam(name = "approximateTotal", required = false, defaultValue = "false") boolean approximateTotal) {
+		return photoService.getAllPhotos(page, size, TotalMode.of(withTotal, approximateTotal));
+	}
+
+	@GetMapping(params = "after")
+	public CursorPagedResponse<PhotoResponse> getAllPhotosAfter(@RequestParam(name = "after") String after,
 			@RequestParam(name = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size) {
-		return photoService.getAllPhotos(page, size);
+		return photoService.getAllPhotos(after, size);
 	}
 
 	@PostMapping
@@ -50,7 +62,12 @@ public class PhotoController {
 	}
 
 	@GetMapping("/{id}")
-	public ResponseEntity<PhotoResponse> getPhoto(@PathVariable(name = "id") Long id) {
+	public ResponseEntity<PhotoResponse> getPhoto(@PathVariable(name = "id") Long id, WebRequest request) {
+		ResourceVersion version = photoService.getPhotoVersion(id);
+		if (request.checkNotModified(version.getETag(), version.getLastModified())) {
+			return null;
+		}
+
 		PhotoResponse photoResponse = photoService.getPhoto(id);
 
 		return new ResponseEntity< >(photoResponse, HttpStatus.OK);
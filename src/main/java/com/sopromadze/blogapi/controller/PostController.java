@@ -2,16 +2,22 @@ package com.sopromadze.blogapi.controller;
 
 import com.sopromadze.blogapi.model.Post;
 import com.sopromadze.blogapi.payload.ApiResponse;
+import com.sopromadze.blogapi.payload.CursorPagedResponse;
 import com.sopromadze.blogapi.payload.PagedResponse;
 import com.sopromadze.blogapi.payload.PostRequest;
 import com.sopromadze.blogapi.payload.PostResponse;
+import com.sopromadze.blogapi.payload.PostSummary;
+import com.sopromadze.blogapi.payload.TotalMode;
 import com.sopromadze.blogapi.security.CurrentUser;
 import com.sopromadze.blogapi.security.UserPrincipal;
+import com.sopromadze.blogapi.service.PostImportService;
 import com.sopromadze.blogapi.service.PostService;
 import com.sopromadze.blogapi.utils.AppConstants;
+import com.sopromadze.blogapi.utils.ResourceVersion;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -23,8 +29,12 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
 
 @RestController
 @RequestMapping("/api/posts")
@@ -34,31 +44,43 @@ public class PostController {
 
 	private final PostService postService;
 
+	private final PostImportService postImportService;
+
 	@GetMapping
-	public ResponseEntity<PagedResponse<Post>> getAllPosts(
+	public ResponseEntity<PagedResponse<PostSummary>> getAllPosts(
 			@RequestParam(value = "page", required = false, defaultValue = AppConstants.DEFAULT_PAGE_NUMBER) Integer page,
+			@RequestParam(value = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size,
+			@RequestParam(value = "withTotal", required = false, defaultValue = "true") boolean withTotal,
+			@RequestParam(value = "approximateTotal", required = false, defaultValue = "false") boolean approximateTotal) {
+		PagedResponse<PostSummary> response = postService.getAllPosts(page, size, TotalMode.of(withTotal, approximateTotal));
+
+		return new ResponseEntity< >(response, HttpStatus.OK);
+	}
+
+	@GetMapping(params = "after")
+	public ResponseEntity<CursorPagedResponse<PostSummary>> getAllPostsAfter(@RequestParam(value = "after") String after,
 			@RequestParam(value = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size) {
-		PagedResponse<Post> response = postService.getAllPosts(page, size);
+		CursorPagedResponse<PostSummary> response = postService.getAllPosts(after, size);
 
 		return new ResponseEntity< >(response, HttpStatus.OK);
 	}
 
 	@GetMapping("/category/{id}")
-	public ResponseEntity<PagedResponse<Post>> getPostsByCategory(
+	public ResponseEntity<PagedResponse<PostSummary>> getPostsByCategory(
 			@RequestParam(value = "page", required = false, defaultValue = AppConstants.DEFAULT_PAGE_NUMBER) Integer page,
 			@RequestParam(value = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size,
 			@PathVariable(name = "id") Long id) {
-		PagedResponse<Post> response = postService.getPostsByCategory(id, page, size);
+		PagedResponse<PostSummary> response = postService.getPostsByCategory(id, page, size);
 
 		return new ResponseEntity< >(response, HttpStatus.OK);
 	}
 
 	@GetMapping("/tag/{id}")
-	public ResponseEntity<PagedResponse<Post>> getPostsByTag(
+	public ResponseEntity<PagedResponse<PostSummary>> getPostsByTag(
 			@RequestParam(value = "page", required = false, defaultValue = AppConstants.DEFAULT_PAGE_NUMBER) Integer page,
 			@RequestParam(value = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size,
 			@PathVariable(name = "id") Long id) {
-		PagedResponse<Post> response = postService.getPostsByTag(id, page, size);
+		PagedResponse<PostSummary> response = postService.getPostsByTag(id, page, size);
 
 		return new ResponseEntity< >(response, HttpStatus.OK);
 	}
@@ -72,8 +94,22 @@ public class PostController {
 		return new ResponseEntity< >(postResponse, HttpStatus.CREATED);
 	}
 
+	@PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+	@PreAuthorize("hasRole('ADMIN')")
+	public void importPosts(HttpServletRequest request, HttpServletResponse response,
+			@CurrentUser UserPrincipal currentUser) throws IOException {
+		response.setStatus(HttpStatus.OK.value());
+		response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+		postImportService.importPosts(request.getInputStream(), response.getOutputStream(), currentUser);
+	}
+
 	@GetMapping("/{id}")
-	public ResponseEntity<Post> getPost(@PathVariable(name = "id") Long id) {
+	public ResponseEntity<Post> getPost(@PathVariable(name = "id") Long id, WebRequest request) {
+		ResourceVersion version = postService.getPostVersion(id);
+		if (request.checkNotModified(version.getETag(), version.getLastModified())) {
+			return null;
+		}
+
 		Post post = postService.getPost(id);
 
 		return new ResponseEntity< >(post, HttpStatus.OK);
@@ -57,6 +57,23 @@ public class TagController {
 		return new ResponseEntity< >(tag, HttpStatus.OK);
 	}
 
+	@GetMapping("/{id}/posts")
+	public ResponseEntity<PagedResponse<Long>> getPostIdsByTag(@PathVariable(name = "id") Long id,
+			@RequestParam(name = "page", required = false, defaultValue = AppConstants.DEFAULT_PAGE_NUMBER) Integer page,
+			@RequestParam(name = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size) {
+
+		PagedResponse<Long> response = tagService.getPostIdsByTag(id, page, size);
+
+		return new ResponseEntity< >(response, HttpStatus.OK);
+	}
+
+	@GetMapping("/{id}/posts/count")
+	public ResponseEntity<Long> countPostsByTag(@PathVariable(name = "id") Long id) {
+		long count = tagService.countPostsByTag(id);
+
+		return new ResponseEntity< >(count, HttpStatus.OK);
+	}
+
 	@PutMapping("/{id}")
 	@PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
 	public ResponseEntity<Tag> updateTag(@PathVariable(name = "id") Long id, @Valid @RequestBody Tag tag, @CurrentUser UserPrincipal currentUser) {
@@ -1,11 +1,13 @@
 package com.sopromadze.blogapi.controller;
 
+import com.sopromadze.blogapi.exception.BadRequestException;
 import com.sopromadze.blogapi.model.Album;
-import com.sopromadze.blogapi.model.Post;
 import com.sopromadze.blogapi.model.user.User;
 import com.sopromadze.blogapi.payload.ApiResponse;
 import com.sopromadze.blogapi.payload.InfoRequest;
 import com.sopromadze.blogapi.payload.PagedResponse;
+import com.sopromadze.blogapi.payload.PostSummary;
+import com.sopromadze.blogapi.payload.TotalMode;
 import com.sopromadze.blogapi.payload.UserIdentityAvailability;
 import com.sopromadze.blogapi.payload.UserProfile;
 import com.sopromadze.blogapi.payload.UserSummary;
@@ -13,11 +15,17 @@ import com.sopromadze.blogapi.security.CurrentUser;
 import com.sopromadze.blogapi.security.UserPrincipal;
 import com.sopromadze.blogapi.service.AlbumService;
 import com.sopromadze.blogapi.service.PostService;
+import com.sopromadze.blogapi.service.UserExportService;
+import com.sopromadze.blogapi.service.UserExportService.ExportFormat;
+import com.sopromadze.blogapi.service.UserExportService.ExportType;
 import com.sopromadze.blogapi.service.UserService;
 import com.sopromadze.blogapi.utils.AppConstants;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -30,7 +38,11 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
 
 @RestController
 @RequestMapping("/api/users")
@@ -45,6 +57,8 @@ public class UserController {
 
 	private final AlbumService albumService;
 
+	private final UserExportService userExportService;
+
 	@GetMapping("/me")
 	@PreAuthorize("hasRole('USER')")
 	public ResponseEntity<UserSummary> getCurrentUser(@CurrentUser UserPrincipal currentUser) {
@@ -74,10 +88,13 @@ public class UserController {
 	}
 
 	@GetMapping("/{username}/posts")
-	public ResponseEntity<PagedResponse<Post>> getPostsCreatedBy(@PathVariable(value = "username") String username,
+	public ResponseEntity<PagedResponse<PostSummary>> getPostsCreatedBy(@PathVariable(value = "username") String username,
 			@RequestParam(value = "page", required = false, defaultValue = AppConstants.DEFAULT_PAGE_NUMBER) Integer page,
-			@RequestParam(value = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size) {
-		PagedResponse<Post> response = postService.getPostsByCreatedBy(username, page, size);
+			@RequestParam(value = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size,
+			@RequestParam(value = "withTotal", required = false, defaultValue = "true") boolean withTotal,
+			@RequestParam(value = "approximateTotal", required = false, defaultValue = "false") boolean approximateTotal) {
+		PagedResponse<PostSummary> response = postService.getPostsByCreatedBy(username, page, size,
+				TotalMode.of(withTotal, approximateTotal));
 
 		return new ResponseEntity<  >(response, HttpStatus.OK);
 	}
@@ -92,6 +109,26 @@ public class UserController {
 		return new ResponseEntity<  >(response, HttpStatus.OK);
 	}
 
+	@GetMapping("/{username}/export/{type}")
+	@PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+	public void exportUserData(@PathVariable(name = "username") String username,
+			@PathVariable(name = "type") String type,
+			@RequestParam(name = "format", required = false, defaultValue = "ndjson") String format,
+			@CurrentUser UserPrincipal currentUser, HttpServletResponse response) throws IOException {
+		ExportType exportType = parse(ExportType.class, type);
+		ExportFormat exportFormat = parse(ExportFormat.class, format);
+		String extension = exportFormat.name().toLowerCase(Locale.ROOT);
+		Long userId = userExportService.authorizeExport(username, currentUser);
+
+		response.setStatus(HttpStatus.OK.value());
+		response.setContentType(exportFormat == ExportFormat.CSV ? "text/csv;charset=UTF-8"
+				: MediaType.APPLICATION_NDJSON_VALUE);
+		String filename = username + "-" + exportType.name().toLowerCase(Locale.ROOT) + "." + extension;
+		response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+				ContentDisposition.attachment().filename(filename, StandardCharsets.UTF_8).build().toString());
+		userExportService.export(userId, exportType, exportFormat, response.getOutputStream());
+	}
+
 	@PostMapping
 	@PreAuthorize("hasRole('ADMIN')")
 	public ResponseEntity<User> addUser(@Valid @RequestBody User user) {
@@ -143,4 +180,12 @@ public class UserController {
 		return new ResponseEntity< >(userProfile, HttpStatus.OK);
 	}
 
+	private static <E extends Enum<E>> E parse(Class<E> type, String value) {
+		try {
+			return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException e) {
+			throw new BadRequestException(new ApiResponse(Boolean.FALSE, "Unsupported export option: " + value));
+		}
+	}
+
 }
@@ -0,0 +1,17 @@
+package com.sopromadze.blogapi.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ServiceUnavailableException extends RuntimeException {
+	private static final long serialVersionUID = 1L;
+
+	public ServiceUnavailableException(String message) {
+		super(message);
+	}
+
+	public ServiceUnavailableException(String message, Throwable cause) {
+		super(message, cause);
+	}
+}
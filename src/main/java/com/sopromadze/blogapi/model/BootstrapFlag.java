@@ -0,0 +1,30 @@
+package com.sopromadze.blogapi.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * One-shot flag seeded by a migration and consumed with a conditional update, so exactly one caller
+ * wins it without counting rows.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "bootstrap_flags")
+public class BootstrapFlag {
+	public static final String FIRST_ADMIN = "FIRST_ADMIN";
+
+	@Id
+	@Column(name = "name")
+	private String name;
+
+	@Column(name = "consumed", nullable = false)
+	private boolean consumed;
+}
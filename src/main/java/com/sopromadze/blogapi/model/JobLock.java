@@ -0,0 +1,36 @@
+package com.sopromadze.blogapi.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.Instant;
+
+/**
+ * Lease on a scheduled job, seeded by a migration and taken with a conditional update so only one
+ * instance runs the job until the lease expires.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "job_locks")
+public class JobLock {
+	public static final String POST_COUNTERS = "POST_COUNTERS";
+
+	public static final String USER_STATS = "USER_STATS";
+
+	@Id
+	@Column(name = "name")
+	private String name;
+
+	@Column(name = "locked_until", nullable = false)
+	private Instant lockedUntil;
+
+	@Column(name = "locked_by")
+	private String lockedBy;
+}
@@ -12,7 +12,6 @@ import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.JoinTable;
@@ -37,7 +36,7 @@ public class Post extends UserDateAudit {
 	private static final long serialVersionUID = 1L;
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(generator = "pooled_table")
 	private Long id;
 
 	@Column(name = "title")
@@ -54,6 +53,16 @@ public class Post extends UserDateAudit {
 	@JoinColumn(name = "category_id")
 	private Category category;
 
+	/**
+	 * Maintained with relative updates in {@link com.sopromadze.blogapi.repository.PostRepository}, so
+	 * it is written on insert only and a loaded post may hold a stale value.
+	 */
+	@Column(name = "comment_count", updatable = false)
+	private int commentCount;
+
+	@Column(name = "tag_count", updatable = false)
+	private int tagCount;
+
 	@JsonIgnore
 	@OneToMany(mappedBy = "post", cascade = CascadeType.ALL, orphanRemoval = true)
 	private List<Comment> comments;
@@ -0,0 +1,13 @@
+/**
+ * Entity ids are handed out in blocks of 50 from the {@code id_sequences} table, one row per entity table,
+ * so Hibernate can batch inserts. IDENTITY columns would force one INSERT round trip per row.
+ */
+@GenericGenerator(name = "pooled_table", strategy = "org.hibernate.id.enhanced.TableGenerator", parameters = {
+		@Parameter(name = "table_name", value = "id_sequences"),
+		@Parameter(name = "prefer_entity_table_as_segment_value", value = "true"),
+		@Parameter(name = "increment_size", value = "50"),
+		@Parameter(name = "optimizer", value = "pooled-lo") })
+package com.sopromadze.blogapi.model;
+
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
@@ -0,0 +1,46 @@
+package com.sopromadze.blogapi.model.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * Activity counts of one user, keyed by the user id. The counters are changed only through the
+ * relative updates in {@link com.sopromadze.blogapi.repository.UserStatsRepository}, so they are
+ * written on insert only.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "user_stats")
+public class UserStats {
+
+	@Id
+	@Column(name = "user_id")
+	private Long userId;
+
+	@Column(name = "post_count", nullable = false, updatable = false)
+	private long postCount;
+
+	@Column(name = "comment_count", nullable = false, updatable = false)
+	private long commentCount;
+
+	@Column(name = "album_count", nullable = false, updatable = false)
+	private long albumCount;
+
+	@Column(name = "photo_count", nullable = false, updatable = false)
+	private long photoCount;
+
+	@Column(name = "todo_count", nullable = false, updatable = false)
+	private long todoCount;
+
+	public UserStats(Long userId) {
+		this.userId = userId;
+	}
+}
@@ -2,6 +2,7 @@ package com.sopromadze.blogapi.payload;
 
 import lombok.Builder;
 import lombok.Data;
+import org.springframework.data.domain.Slice;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -10,6 +11,8 @@ import java.util.List;
 @Data
 @Builder
 public class PagedResponse<T> {
+	public static final long UNKNOWN_TOTAL = -1;
+
 	private List<T> content;
 	private int page;
 	private int size;
@@ -43,6 +46,19 @@ public class PagedResponse<T> {
 	}
 
 
+	/**
+	 * Builds a page from a {@link Slice}. A {@code totalElements} of {@link #UNKNOWN_TOTAL} is reported as
+	 * is for both totals.
+	 */
+	public static <T> PagedResponse<T> of(Slice<?> slice, List<T> content, long totalElements) {
+		int totalPages = (int) UNKNOWN_TOTAL;
+		if (totalElements != UNKNOWN_TOTAL) {
+			int seenPages = slice.getNumber() + (slice.hasNext() ? 2 : 1);
+			totalPages = Math.max(seenPages, (int) ((totalElements + slice.getSize() - 1) / slice.getSize()));
+		}
+		return new PagedResponse<>(content, slice.getNumber(), slice.getSize(), totalElements, totalPages,
+				slice.isLast());
+	}
 
 	public boolean isLast() {
 		return last;
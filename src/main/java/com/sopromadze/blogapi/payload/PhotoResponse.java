@@ -1,7 +1,10 @@
 package com.sopromadze.blogapi.payload;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 
+import java.time.Instant;
+
 @Data
 
 public class PhotoResponse {
@@ -11,6 +14,12 @@ public class PhotoResponse {
 	private String thumbnailUrl;
 	private Long albumId;
 
+	/**
+	 * Only selected by the keyset listing, where it is needed to build the next cursor.
+	 */
+	@JsonIgnore
+	private Instant createdAt;
+
 	public PhotoResponse(Long id, String title, String url, String thumbnailUrl, Long albumId) {
 		this.id = id;
 		this.title = title;
@@ -19,4 +28,9 @@ public class PhotoResponse {
 		this.albumId = albumId;
 	}
 
+	public PhotoResponse(Long id, String title, String url, String thumbnailUrl, Long albumId, Instant createdAt) {
+		this(id, title, url, thumbnailUrl, albumId);
+		this.createdAt = createdAt;
+	}
+
 }
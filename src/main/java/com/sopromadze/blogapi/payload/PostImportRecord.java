@@ -0,0 +1,67 @@
+package com.sopromadze.blogapi.payload;
+
+import lombok.Data;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Email;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Size;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One line of a post import stream. Category and tags are referenced by name and created when missing.
+ */
+@Data
+public class PostImportRecord {
+
+	@NotBlank
+	@Size(min = 10)
+	private String title;
+
+	@NotBlank
+	@Size(min = 50)
+	private String body;
+
+	@NotBlank
+	private String category;
+
+	private List<String> tags;
+
+	@Valid
+	private List<CommentRecord> comments;
+
+	public List<String> getTags() {
+		return tags == null ? Collections.emptyList() : new ArrayList<>(tags);
+	}
+
+	public void setTags(List<String> tags) {
+		this.tags = tags == null ? null : Collections.unmodifiableList(tags);
+	}
+
+	public List<CommentRecord> getComments() {
+		return comments == null ? Collections.emptyList() : new ArrayList<>(comments);
+	}
+
+	public void setComments(List<CommentRecord> comments) {
+		this.comments = comments == null ? null : Collections.unmodifiableList(comments);
+	}
+
+	@Data
+	public static class CommentRecord {
+
+		@NotBlank
+		@Size(min = 4, max = 50)
+		private String name;
+
+		@NotBlank
+		@Email
+		@Size(min = 4, max = 50)
+		private String email;
+
+		@NotBlank
+		@Size(min = 10, message = "Comment body must be minimum 10 characters")
+		private String body;
+	}
+}
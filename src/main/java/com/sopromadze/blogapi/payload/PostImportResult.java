@@ -0,0 +1,25 @@
+package com.sopromadze.blogapi.payload;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PostImportResult {
+	private long line;
+	private Boolean success;
+	private Long postId;
+	private String message;
+
+	public static PostImportResult imported(long line, Long postId) {
+		return new PostImportResult(line, Boolean.TRUE, postId, null);
+	}
+
+	public static PostImportResult failed(long line, String message) {
+		return new PostImportResult(line, Boolean.FALSE, null, message);
+	}
+}
@@ -0,0 +1,57 @@
+package com.sopromadze.blogapi.payload;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * List view of a post. Built straight from a JPQL constructor expression, so the full body and the
+ * lazy category and tag associations are never loaded; tag names are filled in afterwards.
+ */
+@Data
+@NoArgsConstructor
+public class PostSummary {
+	public static final int EXCERPT_LENGTH = 200;
+
+	private Long id;
+	private String title;
+	private String excerpt;
+	private Long categoryId;
+	private List<String> tags = Collections.emptyList();
+	private Instant createdAt;
+	private Long createdBy;
+	private int commentCount;
+	private int tagCount;
+
+	public PostSummary(Long id, String title, String excerpt, Long categoryId, Instant createdAt, Long createdBy) {
+		this(id, title, excerpt, categoryId, createdAt, createdBy, 0, 0);
+	}
+
+	public PostSummary(Long id, String title, String excerpt, Long categoryId, Instant createdAt, Long createdBy,
+			int commentCount, int tagCount) {
+		this.id = id;
+		this.title = title;
+		this.excerpt = excerpt;
+		this.categoryId = categoryId;
+		this.createdAt = createdAt;
+		this.createdBy = createdBy;
+		this.commentCount = commentCount;
+		this.tagCount = tagCount;
+	}
+
+	public List<String> getTags() {
+		return tags == null ? null : new ArrayList<>(tags);
+	}
+
+	public void setTags(List<String> tags) {
+		if (tags == null) {
+			this.tags = null;
+		} else {
+			this.tags = Collections.unmodifiableList(tags);
+		}
+	}
+}
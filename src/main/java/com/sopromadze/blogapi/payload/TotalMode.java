@@ -0,0 +1,20 @@
+package com.sopromadze.blogapi.payload;
+
+/**
+ * How a paged listing fills in {@code totalElements} and {@code totalPages}.
+ */
+public enum TotalMode {
+	/** Runs a {@code COUNT(*)} next to the page query. */
+	EXACT,
+	/** Skips the count; totals are reported as {@link PagedResponse#UNKNOWN_TOTAL}. */
+	NONE,
+	/** Skips the count and reports a periodically refreshed estimate. */
+	APPROXIMATE;
+
+	public static TotalMode of(boolean withTotal, boolean approximateTotal) {
+		if (approximateTotal) {
+			return APPROXIMATE;
+		}
+		return withTotal ? EXACT : NONE;
+	}
+}
@@ -25,4 +25,8 @@ public class UserProfile {
 	private String website;
 	private Company company;
 	private Long postCount;
+	private Long commentCount;
+	private Long albumCount;
+	private Long photoCount;
+	private Long todoCount;
 }
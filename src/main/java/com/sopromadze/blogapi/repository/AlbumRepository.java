@@ -4,9 +4,25 @@ import com.sopromadze.blogapi.model.Album;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
+
 @Repository
 public interface AlbumRepository extends JpaRepository<Album, Long> {
 	Page<Album> findByCreatedBy(Long userId, Pageable pageable);
+
+	@Query("select a from Album a order by a.createdAt desc, a.id desc")
+	List<Album> findLatest(Pageable pageable);
+
+	@Query("select a from Album a where a.createdAt <= :createdAt and (a.createdAt < :createdAt or a.id < :id) "
+			+ "order by a.createdAt desc, a.id desc")
+	List<Album> findLatestBefore(@Param("createdAt") Instant createdAt, @Param("id") Long id, Pageable pageable);
+
+	@Query("select a.updatedAt, count(p), max(p.updatedAt) from Album a left join a.photo p where a.id = :id "
+			+ "group by a.id, a.updatedAt")
+	List<Object[]> findVersionById(@Param("id") Long id);
 }
@@ -0,0 +1,22 @@
+package com.sopromadze.blogapi.repository;
+
+import com.sopromadze.blogapi.model.BootstrapFlag;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface BootstrapFlagRepository extends JpaRepository<BootstrapFlag, String> {
+
+	/**
+	 * Returns 1 for the single caller that flips the flag and 0 for everyone else, including when the
+	 * flag row does not exist.
+	 */
+	@Transactional
+	@Modifying
+	@Query("update BootstrapFlag f set f.consumed = true where f.name = :name and f.consumed = false")
+	int consume(@Param("name") String name);
+}
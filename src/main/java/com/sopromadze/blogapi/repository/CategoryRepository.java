@@ -4,7 +4,11 @@ import com.sopromadze.blogapi.model.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
 
+	List<Category> findByNameIn(Collection<String> names);
 }
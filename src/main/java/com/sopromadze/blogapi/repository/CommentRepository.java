@@ -4,9 +4,32 @@ import com.sopromadze.blogapi.model.Comment;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
+
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 	Page<Comment> findByPostId(Long postId, Pageable pageable);
+
+	@Query("select c from Comment c where c.post.id = :postId order by c.createdAt desc, c.id desc")
+	List<Comment> findLatestByPostId(@Param("postId") Long postId, Pageable pageable);
+
+	@Query("select c from Comment c where c.post.id = :postId "
+			+ "and c.createdAt <= :createdAt and (c.createdAt < :createdAt or c.id < :id) "
+			+ "order by c.createdAt desc, c.id desc")
+	List<Comment> findLatestByPostIdBefore(@Param("postId") Long postId, @Param("createdAt") Instant createdAt,
+			@Param("id") Long id, Pageable pageable);
+
+	@Query("select c.createdBy, count(c) from Comment c where c.post.id = :postId group by c.createdBy")
+	List<Object[]> countGroupByCreatedByForPost(@Param("postId") Long postId);
+
+	@Query("select c.createdBy, count(c) from Comment c where c.post.user.id = :userId group by c.createdBy")
+	List<Object[]> countGroupByCreatedByForPostsOfUser(@Param("userId") Long userId);
+
+	@Query("select c.post.id, count(c) from Comment c where c.user.id = :userId group by c.post.id")
+	List<Object[]> countGroupByPostForUser(@Param("userId") Long userId);
 }
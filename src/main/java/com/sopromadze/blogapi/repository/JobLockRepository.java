@@ -0,0 +1,26 @@
+package com.sopromadze.blogapi.repository;
+
+import com.sopromadze.blogapi.model.JobLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+@Repository
+public interface JobLockRepository extends JpaRepository<JobLock, String> {
+
+	/**
+	 * Returns 1 when the lease had expired and is now held by {@code owner} until {@code until}, and 0
+	 * otherwise, including when the lock row does not exist.
+	 */
+	@Transactional
+	@Modifying
+	@Query("update JobLock l set l.lockedUntil = :until, l.lockedBy = :owner "
+			+ "where l.name = :name and l.lockedUntil <= :now")
+	int acquire(@Param("name") String name, @Param("now") Instant now, @Param("until") Instant until,
+			@Param("owner") String owner);
+}
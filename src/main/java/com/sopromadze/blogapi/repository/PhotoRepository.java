@@ -1,12 +1,65 @@
 package com.sopromadze.blogapi.repository;
 
 import com.sopromadze.blogapi.model.Photo;
+import com.sopromadze.blogapi.payload.PhotoResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface PhotoRepository extends JpaRepository<Photo, Long> {
 	Page<Photo> findByAlbumId(Long albumId, Pageable pageable);
+
+	@Query("select p from Photo p")
+	Slice<Photo> findAllAsSlice(Pageable pageable);
+
+	@Query(value = "select new com.sopromadze.blogapi.payload.PhotoResponse(p.id, p.title, p.url, p.thumbnailUrl, "
+			+ "p.album.id) from Photo p", countQuery = "select count(p) from Photo p")
+	Page<PhotoResponse> findAllResponses(Pageable pageable);
+
+	@Query("select new com.sopromadze.blogapi.payload.PhotoResponse(p.id, p.title, p.url, p.thumbnailUrl, "
+			+ "p.album.id) from Photo p")
+	Slice<PhotoResponse> findAllResponsesAsSlice(Pageable pageable);
+
+	@Query(value = "select new com.sopromadze.blogapi.payload.PhotoResponse(p.id, p.title, p.url, p.thumbnailUrl, "
+			+ "p.album.id) from Photo p where p.album.id = :albumId",
+			countQuery = "select count(p) from Photo p where p.album.id = :albumId")
+	Page<PhotoResponse> findResponsesByAlbumId(@Param("albumId") Long albumId, Pageable pageable);
+
+	@Query("select new com.sopromadze.blogapi.payload.PhotoResponse(p.id, p.title, p.url, p.thumbnailUrl, "
+			+ "p.album.id) from Photo p where p.id = :id")
+	Optional<PhotoResponse> findResponseById(@Param("id") Long id);
+
+	@Query("select p.updatedAt from Photo p where p.id = :id")
+	Optional<Instant> findUpdatedAtById(@Param("id") Long id);
+
+	@Query("select count(p), max(p.updatedAt) from Photo p where p.album.id = :albumId")
+	List<Object[]> findVersionByAlbumId(@Param("albumId") Long albumId);
+
+	boolean existsByIdAndAlbumUserId(Long id, Long userId);
+
+	@Query("select p.createdBy from Photo p where p.id = :id")
+	Optional<Long> findCreatedByById(@Param("id") Long id);
+
+	@Query("select p.createdBy, count(p) from Photo p where p.album.id = :albumId group by p.createdBy")
+	List<Object[]> countGroupByCreatedByForAlbum(@Param("albumId") Long albumId);
+
+	@Query("select new com.sopromadze.blogapi.payload.PhotoResponse(p.id, p.title, p.url, p.thumbnailUrl, "
+			+ "p.album.id, p.createdAt) from Photo p order by p.createdAt desc, p.id desc")
+	List<PhotoResponse> findLatest(Pageable pageable);
+
+	@Query("select new com.sopromadze.blogapi.payload.PhotoResponse(p.id, p.title, p.url, p.thumbnailUrl, "
+			+ "p.album.id, p.createdAt) from Photo p "
+			+ "where p.createdAt <= :createdAt and (p.createdAt < :createdAt or p.id < :id) "
+			+ "order by p.createdAt desc, p.id desc")
+	List<PhotoResponse> findLatestBefore(@Param("createdAt") Instant createdAt, @Param("id") Long id,
+			Pageable pageable);
 }
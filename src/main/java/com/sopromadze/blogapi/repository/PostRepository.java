@@ -2,20 +2,112 @@ package com.sopromadze.blogapi.repository;
 
 import com.sopromadze.blogapi.model.Post;
 import com.sopromadze.blogapi.model.Tag;
+import com.sopromadze.blogapi.payload.PostSummary;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
+	String SUMMARY = "select new com.sopromadze.blogapi.payload.PostSummary(p.id, p.title, "
+			+ "substring(p.body, 1, " + PostSummary.EXCERPT_LENGTH + "), p.category.id, p.createdAt, p.createdBy, "
+			+ "p.commentCount, p.tagCount) ";
+
 	Page<Post> findByCreatedBy(Long userId, Pageable pageable);
 
 	Page<Post> findByCategory(Long categoryId, Pageable pageable);
 
 	Page<Post> findByTagsIn(List<Tag> tags, Pageable pageable);
 
+	@Query(value = "select p.id from Post p join p.tags t where t.id = :tagId",
+			countQuery = "select count(p) from Post p join p.tags t where t.id = :tagId")
+	Page<Long> findIdsByTagId(@Param("tagId") Long tagId, Pageable pageable);
+
+	@Query("select p.id from Post p join p.tags t where t.id = :tagId")
+	List<Long> findAllIdsByTagId(@Param("tagId") Long tagId);
+
+	@Query("select count(p) from Post p join p.tags t where t.id = :tagId")
+	long countByTagId(@Param("tagId") Long tagId);
+
 	Long countByCreatedBy(Long userId);
+
+	@Query(value = SUMMARY + "from Post p", countQuery = "select count(p) from Post p")
+	Page<PostSummary> findAllSummaries(Pageable pageable);
+
+	@Query(SUMMARY + "from Post p")
+	Slice<PostSummary> findAllSummariesAsSlice(Pageable pageable);
+
+	@Query(value = SUMMARY + "from Post p where p.createdBy = :userId",
+			countQuery = "select count(p) from Post p where p.createdBy = :userId")
+	Page<PostSummary> findSummariesByCreatedBy(@Param("userId") Long userId, Pageable pageable);
+
+	@Query(SUMMARY + "from Post p where p.createdBy = :userId")
+	Slice<PostSummary> findSummarySliceByCreatedBy(@Param("userId") Long userId, Pageable pageable);
+
+	@Query(value = SUMMARY + "from Post p where p.category.id = :categoryId",
+			countQuery = "select count(p) from Post p where p.category.id = :categoryId")
+	Page<PostSummary> findSummariesByCategoryId(@Param("categoryId") Long categoryId, Pageable pageable);
+
+	@Query(value = SUMMARY + "from Post p join p.tags t where t.id = :tagId",
+			countQuery = "select count(p) from Post p join p.tags t where t.id = :tagId")
+	Page<PostSummary> findSummariesByTagId(@Param("tagId") Long tagId, Pageable pageable);
+
+	@Query(SUMMARY + "from Post p order by p.createdAt desc, p.id desc")
+	List<PostSummary> findLatestSummaries(Pageable pageable);
+
+	@Query(SUMMARY + "from Post p where p.createdAt <= :createdAt and (p.createdAt < :createdAt or p.id < :id) "
+			+ "order by p.createdAt desc, p.id desc")
+	List<PostSummary> findLatestSummariesBefore(@Param("createdAt") Instant createdAt, @Param("id") Long id,
+			Pageable pageable);
+
+	@Query("select p.id, t.name from Post p join p.tags t where p.id in :postIds order by t.name")
+	List<Object[]> findTagNamesByPostIds(@Param("postIds") Collection<Long> postIds);
+
+	@Transactional
+	@Modifying
+	@Query("update Post p set p.commentCount = p.commentCount + :delta where p.id = :postId")
+	int adjustCommentCount(@Param("postId") Long postId, @Param("delta") int delta);
+
+	@Transactional
+	@Modifying
+	@Query("update Post p set p.tagCount = p.tagCount + :delta where p.id = :postId")
+	int adjustTagCount(@Param("postId") Long postId, @Param("delta") int delta);
+
+	@Transactional
+	@Modifying
+	@Query("update Post p set p.tagCount = p.tagCount - 1 where p.id in :postIds")
+	int decrementTagCount(@Param("postIds") Collection<Long> postIds);
+
+	/**
+	 * Rows of post id, stored comment count and actual comment count for every post whose counter
+	 * has drifted. Both counts come from the same statement, so their difference stays valid as a
+	 * relative correction even if comments are added meanwhile.
+	 */
+	@Query("select p.id, p.commentCount, count(c) from Post p left join p.comments c "
+			+ "group by p.id, p.commentCount having count(c) <> p.commentCount")
+	List<Object[]> findCommentCountDrift();
+
+	@Query("select p.id, p.tagCount, count(t) from Post p left join p.tags t "
+			+ "group by p.id, p.tagCount having count(t) <> p.tagCount")
+	List<Object[]> findTagCountDrift();
+
+	/**
+	 * Everything the single-post representation depends on besides its own columns: the counters,
+	 * its category and its tags. Returns one row per tag ordered by tag id, each repeating the post's
+	 * columns and ending with the tag's id and {@code updatedAt}, or a single row ending in nulls
+	 * when the post has no tags.
+	 */
+	@Query("select p.updatedAt, p.commentCount, p.tagCount, c.updatedAt, t.id, t.updatedAt "
+			+ "from Post p left join p.category c left join p.tags t where p.id = :id order by t.id")
+	List<Object[]> findVersionById(@Param("id") Long id);
 }
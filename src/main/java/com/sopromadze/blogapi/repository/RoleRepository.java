@@ -2,10 +2,18 @@ package com.sopromadze.blogapi.repository;
 
 import com.sopromadze.blogapi.model.role.Role;
 import com.sopromadze.blogapi.model.role.RoleName;
+import com.sopromadze.blogapi.utils.AppConstants;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import javax.persistence.QueryHint;
 import java.util.Optional;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_REGION;
+
 public interface RoleRepository extends JpaRepository<Role, Long> {
+	@QueryHints({ @QueryHint(name = HINT_CACHEABLE, value = "true"),
+			@QueryHint(name = HINT_CACHE_REGION, value = AppConstants.REFERENCE_QUERY_REGION) })
 	Optional<Role> findByName(RoleName name);
 }
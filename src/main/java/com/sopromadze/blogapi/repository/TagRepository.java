@@ -1,10 +1,34 @@
 package com.sopromadze.blogapi.repository;
 
 import com.sopromadze.blogapi.model.Tag;
+import com.sopromadze.blogapi.utils.AppConstants;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_REGION;
+
 @Repository
 public interface TagRepository extends JpaRepository<Tag, Long> {
+	@QueryHints({ @QueryHint(name = HINT_CACHEABLE, value = "true"),
+			@QueryHint(name = HINT_CACHE_REGION, value = AppConstants.REFERENCE_QUERY_REGION) })
 	Tag findByName(String name);
+
+	@QueryHints({ @QueryHint(name = HINT_CACHEABLE, value = "true"),
+			@QueryHint(name = HINT_CACHE_REGION, value = AppConstants.REFERENCE_QUERY_REGION) })
+	List<Tag> findByNameIn(Collection<String> names);
+
+	/**
+	 * Bypasses the query cache, which is local to each node and may still hold a miss for a tag that
+	 * another instance has just inserted.
+	 */
+	@Query("select t from Tag t where t.name in :names")
+	List<Tag> findUncachedByNameIn(@Param("names") Collection<String> names);
 }
@@ -0,0 +1,79 @@
+package com.sopromadze.blogapi.repository;
+
+import com.sopromadze.blogapi.model.user.UserStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UserStatsRepository extends JpaRepository<UserStats, Long> {
+
+	@Query("select s.postCount from UserStats s where s.userId = :userId")
+	Optional<Long> findPostCountByUserId(@Param("userId") Long userId);
+
+	@Query("select coalesce(sum(s.postCount), 0) from UserStats s")
+	long sumPostCount();
+
+	@Transactional
+	@Modifying
+	@Query("update UserStats s set s.postCount = s.postCount + :delta where s.userId = :userId")
+	int adjustPostCount(@Param("userId") Long userId, @Param("delta") long delta);
+
+	@Transactional
+	@Modifying
+	@Query("update UserStats s set s.commentCount = s.commentCount + :delta where s.userId = :userId")
+	int adjustCommentCount(@Param("userId") Long userId, @Param("delta") long delta);
+
+	@Transactional
+	@Modifying
+	@Query("update UserStats s set s.albumCount = s.albumCount + :delta where s.userId = :userId")
+	int adjustAlbumCount(@Param("userId") Long userId, @Param("delta") long delta);
+
+	@Transactional
+	@Modifying
+	@Query("update UserStats s set s.photoCount = s.photoCount + :delta where s.userId = :userId")
+	int adjustPhotoCount(@Param("userId") Long userId, @Param("delta") long delta);
+
+	@Transactional
+	@Modifying
+	@Query("update UserStats s set s.todoCount = s.todoCount + :delta where s.userId = :userId")
+	int adjustTodoCount(@Param("userId") Long userId, @Param("delta") long delta);
+
+	/**
+	 * Creates the row of every user who has none, counting their existing rows as V8 did. The relative
+	 * adjustments above update nothing while a row is missing, so nothing is counted twice.
+	 */
+	@Transactional
+	@Modifying
+	@Query(value = "insert into user_stats (user_id, post_count, comment_count, album_count, photo_count, todo_count) "
+			+ "select u.id, "
+			+ "(select count(*) from posts p where p.created_by = u.id), "
+			+ "(select count(*) from comments c where c.created_by = u.id), "
+			+ "(select count(*) from albums a where a.created_by = u.id), "
+			+ "(select count(*) from photos ph where ph.created_by = u.id), "
+			+ "(select count(*) from todos t where t.created_by = u.id) "
+			+ "from users u where not exists (select 1 from user_stats s where s.user_id = u.id)", nativeQuery = true)
+	int insertMissing();
+
+	/**
+	 * Takes rows of user id and count, as returned by the grouped count queries, and subtracts each
+	 * count from that user's comment counter. Used before deletes that cascade to other users' rows.
+	 */
+	default void subtractCommentCounts(List<Object[]> countsByUser) {
+		for (Object[] row : countsByUser) {
+			adjustCommentCount((Long) row[0], -((Long) row[1]));
+		}
+	}
+
+	default void subtractPhotoCounts(List<Object[]> countsByUser) {
+		for (Object[] row : countsByUser) {
+			adjustPhotoCount((Long) row[0], -((Long) row[1]));
+		}
+	}
+}
@@ -1,17 +1,20 @@
 package com.sopromadze.blogapi.security;
 
 import com.sopromadze.blogapi.service.CustomUserDetailsService;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
 
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
@@ -24,21 +27,29 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 	private static final Logger LOGGER = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
-
 	private final JwtTokenProvider tokenProvider;
 
 	private final CustomUserDetailsService customUserDetailsService;
 
+	private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+	private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+	@Value(value = "${app.jwtStateless:false}")
+	private boolean stateless;
+
+	@Value(value = "${app.jwtStatelessDbLookupPaths:/api/users/**}")
+	private String[] dbLookupPaths;
+
 	@Override
 	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
 			throws ServletException, IOException {
 		try {
 			String jwt = getJwtFromRequest(request);
 
-			if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-				Long userId = tokenProvider.getUserIdFromJWT(jwt);
-
-				UserDetails userDetails = customUserDetailsService.loadUserById(userId);
+			Claims claims = StringUtils.hasText(jwt) ? tokenProvider.parseToken(jwt) : null;
+			if (claims != null) {
+				UserDetails userDetails = loadUserDetails(claims, request);
 				UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(userDetails, null,
 						userDetails.getAuthorities());
 				authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -52,6 +63,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 		filterChain.doFilter(request, response);
 	}
 
+	private UserDetails loadUserDetails(Claims claims, HttpServletRequest request) {
+		if (stateless && !requiresDbLookup(request)) {
+			UserPrincipal userPrincipal = tokenProvider.getUserPrincipalFromClaims(claims);
+			if (userPrincipal != null) {
+				return userPrincipal;
+			}
+		}
+
+		return customUserDetailsService.loadUserById(Long.valueOf(claims.getSubject()));
+	}
+
+	private boolean requiresDbLookup(HttpServletRequest request) {
+		String path = urlPathHelper.getPathWithinApplication(request);
+		for (String pattern : dbLookupPaths) {
+			if (pathMatcher.match(pattern, path)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	private String getJwtFromRequest(HttpServletRequest request) {
 		String bearerToken = request.getHeader("Authorization");
 		if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
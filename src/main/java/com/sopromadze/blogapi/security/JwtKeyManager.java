@@ -0,0 +1,95 @@
+package com.sopromadze.blogapi.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SignatureException;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.impl.TextCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.security.Key;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Holds the JWT signing keys, derived once at startup. New tokens are signed with the current key
+ * and carry its id in the {@code kid} header; retired keys stay valid for verification so tokens
+ * issued before a rotation keep working until they expire.
+ */
+@Component
+public class JwtKeyManager {
+
+	private static final SignatureAlgorithm SIGNATURE_ALGORITHM = SignatureAlgorithm.HS512;
+
+	private final String currentKeyId;
+
+	private final Key currentKey;
+
+	private final Map<String, Key> verificationKeys;
+
+	private final JwtParser parser;
+
+	/**
+	 * @param jwtSecret   base64 encoded secret of the current key
+	 * @param jwtKeyId    id written to the {@code kid} header of new tokens
+	 * @param retiredKeys comma separated {@code kid:secret} pairs that are still accepted
+	 */
+	public JwtKeyManager(@Value(value = "${app.jwtSecret}") String jwtSecret,
+			@Value(value = "${app.jwtKeyId:default}") String jwtKeyId,
+			@Value(value = "${app.jwtRetiredKeys:}") String retiredKeys) {
+		this.currentKeyId = jwtKeyId;
+		this.currentKey = toKey(jwtSecret);
+
+		Map<String, Key> keys = new HashMap<>();
+		for (String retiredKey : StringUtils.commaDelimitedListToStringArray(retiredKeys)) {
+			String[] idAndSecret = retiredKey.trim().split(":", 2);
+			if (idAndSecret.length != 2 || idAndSecret[0].isEmpty() || idAndSecret[1].isEmpty()) {
+				throw new IllegalArgumentException("Retired JWT keys must be configured as kid:secret pairs");
+			}
+			keys.put(idAndSecret[0], toKey(idAndSecret[1]));
+		}
+		keys.put(currentKeyId, currentKey);
+		this.verificationKeys = Collections.unmodifiableMap(keys);
+
+		this.parser = Jwts.parser().setSigningKeyResolver(new SigningKeyResolverAdapter() {
+			@Override
+			public Key resolveSigningKey(JwsHeader header, Claims claims) {
+				return resolveKey(header.getKeyId());
+			}
+		});
+	}
+
+	public JwtBuilder signWith(JwtBuilder builder) {
+		return builder.setHeaderParam(JwsHeader.KEY_ID, currentKeyId)
+				.signWith(SIGNATURE_ALGORITHM, currentKey);
+	}
+
+	public Jws<Claims> parseClaimsJws(String token) {
+		return parser.parseClaimsJws(token);
+	}
+
+	private Key resolveKey(String keyId) {
+		if (keyId == null) {
+			return currentKey;
+		}
+
+		Key key = verificationKeys.get(keyId);
+		if (key == null) {
+			throw new SignatureException("Unknown JWT key id: " + keyId);
+		}
+		return key;
+	}
+
+	private static Key toKey(String base64Secret) {
+		return new SecretKeySpec(TextCodec.BASE64.decode(base64Secret), SIGNATURE_ALGORITHM.getJcaName());
+	}
+}
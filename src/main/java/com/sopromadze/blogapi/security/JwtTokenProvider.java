@@ -4,23 +4,44 @@ import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
-import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.SignatureException;
 import io.jsonwebtoken.UnsupportedJwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
 
 @Component
+@RequiredArgsConstructor
 public class JwtTokenProvider {
 	private static final Logger LOGGER = LoggerFactory.getLogger(JwtTokenProvider.class);
 
-	@Value(value = "${app.jwtSecret}")
-	private String jwtSecret;
+	private static final String USERNAME_CLAIM = "username";
+
+	private static final String FIRST_NAME_CLAIM = "firstName";
+
+	private static final String LAST_NAME_CLAIM = "lastName";
+
+	private static final String ROLES_CLAIM = "roles";
+
+	private static final String VALIDATION_TIMER = "blogapi.jwt.validation";
+
+	private final JwtKeyManager jwtKeyManager;
+
+	private final VerifiedTokenCache verifiedTokenCache;
+
+	private final MeterRegistry meterRegistry;
 
 	@Value(value = "${app.jwtExpirationInMs}")
 	private int jwtExpirationInMs;
@@ -28,30 +49,54 @@ public class JwtTokenProvider {
 	public String generateToken(Authentication authentication) {
 		UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
 
+		List<String> roles = userPrincipal.getAuthorities().stream()
+				.map(GrantedAuthority::getAuthority).collect(Collectors.toList());
+
 		Date now = new Date();
 		Date expiryDate = new Date(now.getTime() + jwtExpirationInMs);
 
-		return Jwts.builder()
+		return jwtKeyManager.signWith(Jwts.builder()
 				.setSubject(Long.toString(userPrincipal.getId()))
+				.claim(USERNAME_CLAIM, userPrincipal.getUsername())
+				.claim(FIRST_NAME_CLAIM, userPrincipal.getFirstName())
+				.claim(LAST_NAME_CLAIM, userPrincipal.getLastName())
+				.claim(ROLES_CLAIM, roles)
 				.setIssuedAt(new Date())
-				.setExpiration(expiryDate)
-				.signWith(SignatureAlgorithm.HS512, jwtSecret)
+				.setExpiration(expiryDate))
 				.compact();
 	}
 
 	public Long getUserIdFromJWT(String token) {
-		Claims claims = Jwts.parser()
-				.setSigningKey(jwtSecret)
-				.parseClaimsJws(token)
-				.getBody();
+		Claims claims = jwtKeyManager.parseClaimsJws(token).getBody();
 
 		return Long.valueOf(claims.getSubject());
 	}
 
 	public boolean validateToken(String authToken) {
+		return parseToken(authToken) != null;
+	}
+
+	/**
+	 * Verifies the token and returns its claims, or {@code null} when the token is not valid.
+	 */
+	public Claims parseToken(String authToken) {
+		if (authToken == null || authToken.isEmpty()) {
+			LOGGER.error("JWT claims string is empty");
+			return null;
+		}
+
+		Timer.Sample sample = Timer.start(meterRegistry);
+		Claims cached = verifiedTokenCache.get(authToken);
+		if (cached != null) {
+			stopValidationTimer(sample, "cached");
+			return cached;
+		}
+
 		try {
-			Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(authToken);
-			return true;
+			Claims claims = jwtKeyManager.parseClaimsJws(authToken).getBody();
+			verifiedTokenCache.put(authToken, claims);
+			stopValidationTimer(sample, "valid");
+			return claims;
 		} catch (SignatureException ex) {
 			LOGGER.error("Invalid JWT signature");
 		} catch (MalformedJwtException ex) {
@@ -63,6 +108,59 @@ public class JwtTokenProvider {
 		} catch (IllegalArgumentException ex) {
 			LOGGER.error("JWT claims string is empty");
 		}
-		return false;
+		stopValidationTimer(sample, "invalid");
+		return null;
+	}
+
+	/**
+	 * Builds the principal straight from the token claims. Returns {@code null} for tokens issued
+	 * before the user claims were embedded, or whose claims do not have the expected shape, so the
+	 * caller can fall back to the database. The email address is kept out of the token and is
+	 * therefore not set.
+	 */
+	public UserPrincipal getUserPrincipalFromClaims(Claims claims) {
+		Object username = claims.get(USERNAME_CLAIM);
+		Object roles = claims.get(ROLES_CLAIM);
+		Object firstName = claims.get(FIRST_NAME_CLAIM);
+		Object lastName = claims.get(LAST_NAME_CLAIM);
+
+		if (!(username instanceof String) || !(roles instanceof List) || !isOptionalString(firstName)
+				|| !isOptionalString(lastName) || !isUserId(claims.getSubject())) {
+			return null;
+		}
+
+		List<GrantedAuthority> authorities = new ArrayList<>();
+		for (Object role : (List<?>) roles) {
+			if (!(role instanceof String)) {
+				return null;
+			}
+			authorities.add(new SimpleGrantedAuthority((String) role));
+		}
+
+		return new UserPrincipal(Long.valueOf(claims.getSubject()), (String) firstName, (String) lastName,
+				(String) username, null, null, authorities);
+	}
+
+	private static boolean isOptionalString(Object claim) {
+		return claim == null || claim instanceof String;
+	}
+
+	private static boolean isUserId(String subject) {
+		if (subject == null || subject.isEmpty()) {
+			return false;
+		}
+		try {
+			Long.parseLong(subject);
+			return true;
+		} catch (NumberFormatException ex) {
+			return false;
+		}
+	}
+
+	private void stopValidationTimer(Timer.Sample sample, String result) {
+		sample.stop(Timer.builder(VALIDATION_TIMER)
+				.tag("result", result)
+				.description("Time spent validating JWT tokens, including verified token cache hits")
+				.register(meterRegistry));
 	}
 }
@@ -0,0 +1,128 @@
+package com.sopromadze.blogapi.security;
+
+import com.sopromadze.blogapi.exception.AppException;
+import com.sopromadze.blogapi.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs the (deliberately slow) password hashing and verification of the delegate on a dedicated,
+ * bounded pool so signup and sign-in bursts can't occupy every request thread with CPU work.
+ * When both the workers and the queue are busy the call fails fast with a 503, and a caller that
+ * has waited longer than {@code maxWaitInMs} gives up with a 503 as well, so request threads are
+ * never parked behind the pool for long. A pool size of zero or less uses one worker per available
+ * processor; a queue capacity of zero or less queues one operation per worker.
+ */
+public class PooledPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+	private final PasswordEncoder delegate;
+
+	private final ThreadPoolExecutor executor;
+
+	private final long maxWaitInMs;
+
+	private final Timer encodeTimer;
+
+	private final Timer matchesTimer;
+
+	private final Timer queueWaitTimer;
+
+	private final Counter rejections;
+
+	public PooledPasswordEncoder(PasswordEncoder delegate, int poolSize, int queueCapacity, long maxWaitInMs,
+			MeterRegistry meterRegistry) {
+		int workers = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+
+		this.delegate = delegate;
+		this.maxWaitInMs = maxWaitInMs;
+		this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity > 0 ? queueCapacity : workers),
+				new CustomizableThreadFactory("password-hashing-"), new ThreadPoolExecutor.AbortPolicy());
+
+		this.encodeTimer = Timer.builder("blogapi.password.hashing")
+				.tag("operation", "encode")
+				.description("Time spent hashing or verifying passwords")
+				.register(meterRegistry);
+		this.matchesTimer = Timer.builder("blogapi.password.hashing")
+				.tag("operation", "matches")
+				.description("Time spent hashing or verifying passwords")
+				.register(meterRegistry);
+		this.queueWaitTimer = Timer.builder("blogapi.password.queue.wait")
+				.description("Time password operations wait for a hashing worker")
+				.register(meterRegistry);
+		this.rejections = Counter.builder("blogapi.password.rejected")
+				.description("Password operations rejected or timed out because the hashing pool was saturated")
+				.register(meterRegistry);
+		Gauge.builder("blogapi.password.queue.size", executor, pool -> pool.getQueue().size())
+				.description("Password operations waiting for a hashing worker")
+				.register(meterRegistry);
+	}
+
+	@Override
+	public String encode(CharSequence rawPassword) {
+		return execute(encodeTimer, () -> delegate.encode(rawPassword));
+	}
+
+	@Override
+	public boolean matches(CharSequence rawPassword, String encodedPassword) {
+		return execute(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+	}
+
+	@Override
+	public boolean upgradeEncoding(String encodedPassword) {
+		return delegate.upgradeEncoding(encodedPassword);
+	}
+
+	@Override
+	public void destroy() {
+		executor.shutdown();
+	}
+
+	private <T> T execute(Timer timer, Callable<T> operation) {
+		long submittedAt = System.nanoTime();
+
+		FutureTask<T> result = new FutureTask<>(() -> {
+			queueWaitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+			return timer.recordCallable(operation);
+		});
+		try {
+			executor.execute(result);
+		} catch (RejectedExecutionException ex) {
+			rejections.increment();
+			throw new ServiceUnavailableException("Too many password operations in progress, please try again later");
+		}
+
+		try {
+			return result.get(maxWaitInMs, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException ex) {
+			// frees the queue slot of an operation that has not started; a running one just finishes
+			result.cancel(false);
+			executor.remove(result);
+			rejections.increment();
+			throw new ServiceUnavailableException("Too many password operations in progress, please try again later");
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			result.cancel(true);
+			throw new AppException("Interrupted while waiting for password hashing", ex);
+		} catch (ExecutionException ex) {
+			if (ex.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) ex.getCause();
+			}
+			throw new AppException("Password hashing failed", ex.getCause());
+		}
+	}
+}
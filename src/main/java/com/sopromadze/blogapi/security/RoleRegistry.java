@@ -0,0 +1,50 @@
+package com.sopromadze.blogapi.security;
+
+import com.sopromadze.blogapi.exception.AppException;
+import com.sopromadze.blogapi.model.role.Role;
+import com.sopromadze.blogapi.model.role.RoleName;
+import com.sopromadze.blogapi.repository.RoleRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Immutable {@link RoleName} to {@link Role} map, read once at startup. Roles never change at runtime
+ * and only their ids matter when they are linked to a user, so signup and role changes no longer
+ * query the roles table.
+ */
+@Component
+@RequiredArgsConstructor
+public class RoleRegistry {
+
+	private final RoleRepository roleRepository;
+
+	private volatile Map<RoleName, Role> roles = Collections.emptyMap();
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void refresh() {
+		Map<RoleName, Role> loaded = new EnumMap<>(RoleName.class);
+		for (Role role : roleRepository.findAll()) {
+			loaded.put(role.getName(), role);
+		}
+		roles = Collections.unmodifiableMap(loaded);
+	}
+
+	public Role get(RoleName name) {
+		Role role = roles.get(name);
+		if (role == null) {
+			// not loaded yet, or the role was inserted after startup
+			refresh();
+			role = roles.get(name);
+		}
+		if (role == null) {
+			throw new AppException("User role not set");
+		}
+		return role;
+	}
+}
@@ -0,0 +1,154 @@
+package com.sopromadze.blogapi.security;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Size-bounded, TTL-evicting cache of {@link UserPrincipal}s keyed by user id, with a secondary
+ * username/email index so sign-in lookups can be served from it as well.
+ */
+@Component
+public class UserPrincipalCache implements MeterBinder {
+
+	private final int maxSize;
+
+	private final long ttlInMs;
+
+	private final Map<Long, CachedPrincipal> principalsById = new LinkedHashMap<Long, CachedPrincipal>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Long, CachedPrincipal> eldest) {
+			if (size() <= maxSize) {
+				return false;
+			}
+			removeFromIndex(eldest.getValue().principal);
+			evictions.incrementAndGet();
+			return true;
+		}
+	};
+
+	private final Map<String, Long> idsByLogin = new HashMap<>();
+
+	private final AtomicLong hits = new AtomicLong();
+
+	private final AtomicLong misses = new AtomicLong();
+
+	private final AtomicLong evictions = new AtomicLong();
+
+	public UserPrincipalCache(@Value(value = "${app.userCacheMaxSize:10000}") int maxSize,
+			@Value(value = "${app.userCacheTtlInMs:60000}") long ttlInMs) {
+		this.maxSize = maxSize;
+		this.ttlInMs = ttlInMs;
+	}
+
+	public synchronized UserPrincipal getById(Long id) {
+		CachedPrincipal cached = principalsById.get(id);
+		if (cached == null) {
+			misses.incrementAndGet();
+			return null;
+		}
+
+		if (cached.isExpired(System.currentTimeMillis())) {
+			remove(id);
+			evictions.incrementAndGet();
+			misses.incrementAndGet();
+			return null;
+		}
+
+		hits.incrementAndGet();
+		return cached.principal;
+	}
+
+	public synchronized UserPrincipal getByUsernameOrEmail(String usernameOrEmail) {
+		Long id = idsByLogin.get(usernameOrEmail);
+		if (id == null) {
+			misses.incrementAndGet();
+			return null;
+		}
+		return getById(id);
+	}
+
+	public synchronized void put(UserPrincipal principal) {
+		if (maxSize <= 0) {
+			return;
+		}
+
+		remove(principal.getId());
+		principalsById.put(principal.getId(),
+				new CachedPrincipal(principal, System.currentTimeMillis() + ttlInMs));
+		idsByLogin.put(principal.getUsername(), principal.getId());
+		if (principal.getEmail() != null) {
+			idsByLogin.put(principal.getEmail(), principal.getId());
+		}
+	}
+
+	public synchronized void invalidate(Long id) {
+		remove(id);
+	}
+
+	public synchronized void invalidateAll() {
+		principalsById.clear();
+		idsByLogin.clear();
+	}
+
+	public synchronized int size() {
+		return principalsById.size();
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		FunctionCounter.builder("blogapi.user.cache.requests", hits, AtomicLong::get)
+				.tag("result", "hit")
+				.description("User principal cache lookups")
+				.register(registry);
+		FunctionCounter.builder("blogapi.user.cache.requests", misses, AtomicLong::get)
+				.tag("result", "miss")
+				.description("User principal cache lookups")
+				.register(registry);
+		FunctionCounter.builder("blogapi.user.cache.evictions", evictions, AtomicLong::get)
+				.description("User principals evicted because of size or TTL")
+				.register(registry);
+		Gauge.builder("blogapi.user.cache.size", this, UserPrincipalCache::size)
+				.description("User principals currently cached")
+				.register(registry);
+	}
+
+	private void remove(Long id) {
+		CachedPrincipal removed = principalsById.remove(id);
+		if (removed != null) {
+			removeFromIndex(removed.principal);
+		}
+	}
+
+	private void removeFromIndex(UserPrincipal principal) {
+		idsByLogin.remove(principal.getUsername(), principal.getId());
+		if (principal.getEmail() != null) {
+			idsByLogin.remove(principal.getEmail(), principal.getId());
+		}
+	}
+
+	private static final class CachedPrincipal {
+		private final UserPrincipal principal;
+
+		private final long expiresAt;
+
+		private CachedPrincipal(UserPrincipal principal, long expiresAt) {
+			this.principal = principal;
+			this.expiresAt = expiresAt;
+		}
+
+		private boolean isExpired(long now) {
+			return now >= expiresAt;
+		}
+	}
+}
@@ -0,0 +1,153 @@
+package com.sopromadze.blogapi.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.impl.DefaultClaims;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Claims of tokens that already passed signature verification, keyed by the SHA-256 digest of the
+ * whole compact token so a cached entry can only be hit by the exact same header, payload and
+ * signature. Entries expire together with the token and are kept as a read-only snapshot, so the
+ * claims handed out to concurrent requests cannot be changed by any of them.
+ */
+@Component
+public class VerifiedTokenCache implements MeterBinder {
+
+	private final Cache<ByteBuffer, VerifiedToken> tokens;
+
+	public VerifiedTokenCache(@Value(value = "${app.jwtCacheMaxSize:10000}") int maxSize) {
+		this.tokens = maxSize <= 0 ? null : Caffeine.newBuilder()
+				.maximumSize(maxSize)
+				.expireAfter(new TokenExpiry())
+				.recordStats()
+				.build();
+	}
+
+	public Claims get(String token) {
+		if (tokens == null) {
+			return null;
+		}
+
+		VerifiedToken verified = tokens.getIfPresent(digest(token));
+		return verified == null ? null : new DefaultClaims(verified.claims);
+	}
+
+	public void put(String token, Claims claims) {
+		Date expiration = claims.getExpiration();
+		if (tokens == null || expiration == null) {
+			return;
+		}
+
+		tokens.put(digest(token), new VerifiedToken(snapshot(claims), expiration.getTime()));
+	}
+
+	public int size() {
+		if (tokens == null) {
+			return 0;
+		}
+
+		tokens.cleanUp();
+		return (int) tokens.estimatedSize();
+	}
+
+	public double hitRate() {
+		return tokens == null ? 0 : tokens.stats().hitRate();
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		FunctionCounter.builder("blogapi.jwt.cache.requests", this, VerifiedTokenCache::hitCount)
+				.tag("result", "hit")
+				.description("Verified token cache lookups")
+				.register(registry);
+		FunctionCounter.builder("blogapi.jwt.cache.requests", this, VerifiedTokenCache::missCount)
+				.tag("result", "miss")
+				.description("Verified token cache lookups")
+				.register(registry);
+		Gauge.builder("blogapi.jwt.cache.hit.rate", this, VerifiedTokenCache::hitRate)
+				.description("Share of token verifications served from the cache")
+				.register(registry);
+		Gauge.builder("blogapi.jwt.cache.size", this, VerifiedTokenCache::size)
+				.description("Verified tokens currently cached")
+				.register(registry);
+	}
+
+	private double hitCount() {
+		return tokens == null ? 0 : tokens.stats().hitCount();
+	}
+
+	private double missCount() {
+		return tokens == null ? 0 : tokens.stats().missCount();
+	}
+
+	private static Map<String, Object> snapshot(Claims claims) {
+		Map<String, Object> copy = new LinkedHashMap<>();
+		for (Map.Entry<String, Object> claim : claims.entrySet()) {
+			Object value = claim.getValue();
+			if (value instanceof List) {
+				value = Collections.unmodifiableList((List<?>) value);
+			} else if (value instanceof Map) {
+				value = Collections.unmodifiableMap((Map<?, ?>) value);
+			}
+			copy.put(claim.getKey(), value);
+		}
+		return Collections.unmodifiableMap(copy);
+	}
+
+	private static ByteBuffer digest(String token) {
+		try {
+			MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+			return ByteBuffer.wrap(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+		} catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException("SHA-256 is not available", ex);
+		}
+	}
+
+	private static final class VerifiedToken {
+		private final Map<String, Object> claims;
+
+		private final long expiresAt;
+
+		private VerifiedToken(Map<String, Object> claims, long expiresAt) {
+			this.claims = claims;
+			this.expiresAt = expiresAt;
+		}
+	}
+
+	private static final class TokenExpiry implements Expiry<ByteBuffer, VerifiedToken> {
+		@Override
+		public long expireAfterCreate(ByteBuffer key, VerifiedToken value, long currentTime) {
+			long remainingInMs = value.expiresAt - System.currentTimeMillis();
+			return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingInMs, 0));
+		}
+
+		@Override
+		public long expireAfterUpdate(ByteBuffer key, VerifiedToken value, long currentTime, long currentDuration) {
+			return expireAfterCreate(key, value, currentTime);
+		}
+
+		@Override
+		public long expireAfterRead(ByteBuffer key, VerifiedToken value, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
+	}
+}
@@ -3,19 +3,25 @@ package com.sopromadze.blogapi.service;
 import com.sopromadze.blogapi.model.Album;
 import com.sopromadze.blogapi.payload.AlbumResponse;
 import com.sopromadze.blogapi.payload.ApiResponse;
+import com.sopromadze.blogapi.payload.CursorPagedResponse;
 import com.sopromadze.blogapi.payload.PagedResponse;
 import com.sopromadze.blogapi.payload.request.AlbumRequest;
 import com.sopromadze.blogapi.security.UserPrincipal;
+import com.sopromadze.blogapi.utils.ResourceVersion;
 import org.springframework.http.ResponseEntity;
 
 public interface AlbumService {
 
 	PagedResponse<AlbumResponse> getAllAlbums(int page, int size);
 
+	CursorPagedResponse<AlbumResponse> getAllAlbums(String after, int size);
+
 	ResponseEntity<Album> addAlbum(AlbumRequest albumRequest, UserPrincipal currentUser);
 
 	ResponseEntity<Album> getAlbum(Long id);
 
+	ResourceVersion getAlbumVersion(Long id);
+
 	ResponseEntity<AlbumResponse> updateAlbum(Long id, AlbumRequest newAlbum, UserPrincipal currentUser);
 
 	ResponseEntity<ApiResponse> deleteAlbum(Long id, UserPrincipal currentUser);
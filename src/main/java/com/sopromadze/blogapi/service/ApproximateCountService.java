@@ -0,0 +1,12 @@
+package com.sopromadze.blogapi.service;
+
+public interface ApproximateCountService {
+
+	long countPosts();
+
+	long countPostsByCreatedBy(Long userId);
+
+	long countPhotos();
+
+	void refresh();
+}
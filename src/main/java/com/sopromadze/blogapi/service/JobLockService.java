@@ -0,0 +1,10 @@
+package com.sopromadze.blogapi.service;
+
+public interface JobLockService {
+
+	/**
+	 * Takes the named lease for {@code leaseInMs} unless another instance holds it. The lease is not
+	 * released when the job ends, so the other instances skip their runs until it expires.
+	 */
+	boolean tryLock(String name, long leaseInMs);
+}
@@ -1,17 +1,26 @@
 package com.sopromadze.blogapi.service;
 
 import com.sopromadze.blogapi.payload.ApiResponse;
+import com.sopromadze.blogapi.payload.CursorPagedResponse;
 import com.sopromadze.blogapi.payload.PagedResponse;
 import com.sopromadze.blogapi.payload.PhotoRequest;
 import com.sopromadze.blogapi.payload.PhotoResponse;
+import com.sopromadze.blogapi.payload.TotalMode;
 import com.sopromadze.blogapi.security.UserPrincipal;
+import com.sopromadze.blogapi.utils.ResourceVersion;
 
 public interface PhotoService {
 
 	PagedResponse<PhotoResponse> getAllPhotos(int page, int size);
 
+	CursorPagedResponse<PhotoResponse> getAllPhotos(String after, int size);
+
+	PagedResponse<PhotoResponse> getAllPhotos(int page, int size, TotalMode totalMode);
+
 	PhotoResponse getPhoto(Long id);
 
+	ResourceVersion getPhotoVersion(Long id);
+
 	PhotoResponse updatePhoto(Long id, PhotoRequest photoRequest, UserPrincipal currentUser);
 
 	PhotoResponse addPhoto(PhotoRequest photoRequest, UserPrincipal currentUser);
@@ -20,4 +29,6 @@ public interface PhotoService {
 
 	PagedResponse<PhotoResponse> getAllPhotosByAlbum(Long albumId, int page, int size);
 
+	ResourceVersion getAllPhotosByAlbumVersion(Long albumId);
+
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.sopromadze.blogapi.service;
+
+import com.sopromadze.blogapi.security.UserPrincipal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface PostImportService {
+
+	/**
+	 * Reads newline-delimited JSON post records from {@code input} and writes one NDJSON result per
+	 * non-blank line to {@code output}, in input order. Neither stream is closed.
+	 */
+	void importPosts(InputStream input, OutputStream output, UserPrincipal currentUser) throws IOException;
+}
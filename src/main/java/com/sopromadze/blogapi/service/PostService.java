@@ -2,20 +2,30 @@ package com.sopromadze.blogapi.service;
 
 import com.sopromadze.blogapi.model.Post;
 import com.sopromadze.blogapi.payload.ApiResponse;
+import com.sopromadze.blogapi.payload.CursorPagedResponse;
 import com.sopromadze.blogapi.payload.PagedResponse;
 import com.sopromadze.blogapi.payload.PostRequest;
 import com.sopromadze.blogapi.payload.PostResponse;
+import com.sopromadze.blogapi.payload.PostSummary;
+import com.sopromadze.blogapi.payload.TotalMode;
 import com.sopromadze.blogapi.security.UserPrincipal;
+import com.sopromadze.blogapi.utils.ResourceVersion;
 
 public interface PostService {
 
-	PagedResponse<Post> getAllPosts(int page, int size);
+	PagedResponse<PostSummary> getAllPosts(int page, int size);
 
-	PagedResponse<Post> getPostsByCreatedBy(String username, int page, int size);
+	CursorPagedResponse<PostSummary> getAllPosts(String after, int size);
 
-	PagedResponse<Post> getPostsByCategory(Long id, int page, int size);
+	PagedResponse<PostSummary> getAllPosts(int page, int size, TotalMode totalMode);
 
-	PagedResponse<Post> getPostsByTag(Long id, int page, int size);
+	PagedResponse<PostSummary> getPostsByCreatedBy(String username, int page, int size);
+
+	PagedResponse<PostSummary> getPostsByCreatedBy(String username, int page, int size, TotalMode totalMode);
+
+	PagedResponse<PostSummary> getPostsByCategory(Long id, int page, int size);
+
+	PagedResponse<PostSummary> getPostsByTag(Long id, int page, int size);
 
 	Post updatePost(Long id, PostRequest newPostRequest, UserPrincipal currentUser);
 
@@ -25,4 +35,6 @@ public interface PostService {
 
 	Post getPost(Long id);
 
+	ResourceVersion getPostVersion(Long id);
+
 }
@@ -11,6 +11,10 @@ public interface TagService {
 
 	Tag getTag(Long id);
 
+	PagedResponse<Long> getPostIdsByTag(Long id, int page, int size);
+
+	long countPostsByTag(Long id);
+
 	Tag addTag(Tag tag, UserPrincipal currentUser);
 
 	Tag updateTag(Long id, Tag newTag, UserPrincipal currentUser);
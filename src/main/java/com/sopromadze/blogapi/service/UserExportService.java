@@ -0,0 +1,28 @@
+package com.sopromadze.blogapi.service;
+
+import com.sopromadze.blogapi.security.UserPrincipal;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface UserExportService {
+
+	/**
+	 * Returns the id of {@code username} if the caller may export their data. Called before any response
+	 * header is set, so a missing user or a denied caller still gets a normal error response.
+	 */
+	Long authorizeExport(String username, UserPrincipal currentUser);
+
+	/**
+	 * Writes every row of the given type created by {@code userId} to {@code output}.
+	 */
+	void export(Long userId, ExportType type, ExportFormat format, OutputStream output) throws IOException;
+
+	enum ExportType {
+		POSTS, COMMENTS, ALBUMS, PHOTOS
+	}
+
+	enum ExportFormat {
+		NDJSON, CSV
+	}
+}
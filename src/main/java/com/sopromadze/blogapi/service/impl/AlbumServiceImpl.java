@@ -7,13 +7,18 @@ import com.sopromadze.blogapi.model.role.RoleName;
 import com.sopromadze.blogapi.model.user.User;
 import com.sopromadze.blogapi.payload.AlbumResponse;
 import com.sopromadze.blogapi.payload.ApiResponse;
+import com.sopromadze.blogapi.payload.CursorPagedResponse;
 import com.sopromadze.blogapi.payload.PagedResponse;
 import com.sopromadze.blogapi.payload.request.AlbumRequest;
 import com.sopromadze.blogapi.repository.AlbumRepository;
+import com.sopromadze.blogapi.repository.PhotoRepository;
 import com.sopromadze.blogapi.repository.UserRepository;
+import com.sopromadze.blogapi.repository.UserStatsRepository;
 import com.sopromadze.blogapi.security.UserPrincipal;
 import com.sopromadze.blogapi.service.AlbumService;
 import com.sopromadze.blogapi.utils.AppUtils;
+import com.sopromadze.blogapi.utils.KeysetCursor;
+import com.sopromadze.blogapi.utils.ResourceVersion;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,6 +30,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -48,6 +54,10 @@ public class AlbumServiceImpl implements AlbumService {
 
 	private final ModelMapper modelMapper;
 
+	private final PhotoRepository photoRepository;
+
+	private final UserStatsRepository userStatsRepository;
+
 	@Override
 	public PagedResponse<AlbumResponse> getAllAlbums(int page, int size) {
 		AppUtils.validatePageNumberAndSize(page, size);
@@ -68,6 +78,18 @@ public class AlbumServiceImpl implements AlbumService {
 	}
 
 	@Override
+	public CursorPagedResponse<AlbumResponse> getAllAlbums(String after, int size) {
+		KeysetCursor cursor = KeysetCursor.decode(after);
+		Pageable pageable = KeysetCursor.pageable(size);
+
+		List<Album> albums = cursor == null ? albumRepository.findLatest(pageable)
+				: albumRepository.findLatestBefore(cursor.getCreatedAt(), cursor.getId(), pageable);
+
+		return KeysetCursor.toResponse(albums, size, Album::getId, album -> modelMapper.map(album, AlbumResponse.class));
+	}
+
+	@Override
+	@Transactional
 	public ResponseEntity<Album> addAlbum(AlbumRequest albumRequest, UserPrincipal currentUser) {
 		User user = userRepository.getUser(currentUser);
 
@@ -77,6 +99,7 @@ public class AlbumServiceImpl implements AlbumService {
 
 		album.setUser(user);
 		Album newAlbum = albumRepository.save(album);
+		userStatsRepository.adjustAlbumCount(currentUser.getId(), 1);
 		return new ResponseEntity<>(newAlbum, HttpStatus.CREATED);
 	}
 
@@ -86,6 +109,15 @@ public class AlbumServiceImpl implements AlbumService {
 		return new ResponseEntity<>(album, HttpStatus.OK);
 	}
 
+	@Override
+	public ResourceVersion getAlbumVersion(Long id) {
+		List<Object[]> rows = albumRepository.findVersionById(id);
+		if (rows.isEmpty()) {
+			throw new ResourceNotFoundException(ALBUM_STR, ID, id);
+		}
+		return ResourceVersion.derived(ALBUM_STR, id, rows.get(0));
+	}
+
 	@Override
 	public ResponseEntity<AlbumResponse> updateAlbum(Long id, AlbumRequest newAlbum, UserPrincipal currentUser) {
 		Album album = albumRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(ALBUM_STR, ID, id));
@@ -106,11 +138,14 @@ public class AlbumServiceImpl implements AlbumService {
 	}
 
 	@Override
+	@Transactional
 	public ResponseEntity<ApiResponse> deleteAlbum(Long id, UserPrincipal currentUser) {
 		Album album = albumRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(ALBUM_STR, ID, id));
 		User user = userRepository.getUser(currentUser);
 		if (album.getUser().getId().equals(user.getId()) || currentUser.getAuthorities()
 				.contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
+			userStatsRepository.subtractPhotoCounts(photoRepository.countGroupByCreatedByForAlbum(id));
+			userStatsRepository.adjustAlbumCount(album.getCreatedBy(), -1);
 			albumRepository.deleteById(id);
 			return new ResponseEntity<>(new ApiResponse(Boolean.TRUE, "You successfully deleted album"), HttpStatus.NO_CONTENT);
 		}
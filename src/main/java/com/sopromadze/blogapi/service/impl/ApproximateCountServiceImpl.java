@@ -0,0 +1,76 @@
+package com.sopromadze.blogapi.service.impl;
+
+import com.sopromadze.blogapi.repository.PhotoRepository;
+import com.sopromadze.blogapi.repository.PostRepository;
+import com.sopromadze.blogapi.repository.UserStatsRepository;
+import com.sopromadze.blogapi.service.ApproximateCountService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps table row counts in memory so listings can report a total without running a
+ * {@code COUNT(*)} per request. The counts are rebuilt on a fixed delay and may lag behind writes.
+ * Per-author post counts come from the {@code user_stats} counters with a primary key lookup.
+ */
+@Service
+@RequiredArgsConstructor
+public class ApproximateCountServiceImpl implements ApproximateCountService {
+
+	private final PostRepository postRepository;
+
+	private final PhotoRepository photoRepository;
+
+	private final UserStatsRepository userStatsRepository;
+
+	private volatile Counts counts;
+
+	@Override
+	public long countPosts() {
+		return counts().posts;
+	}
+
+	/**
+	 * Falls back to the indexed count when the user has no stats row.
+	 */
+	@Override
+	public long countPostsByCreatedBy(Long userId) {
+		return userStatsRepository.findPostCountByUserId(userId)
+				.orElseGet(() -> postRepository.countByCreatedBy(userId));
+	}
+
+	@Override
+	public long countPhotos() {
+		return counts().photos;
+	}
+
+	@Override
+	@Scheduled(fixedDelayString = "${app.approximateCountRefreshInMs:60000}")
+	public void refresh() {
+		counts = new Counts(userStatsRepository.sumPostCount(), photoRepository.count());
+	}
+
+	private Counts counts() {
+		Counts current = counts;
+		if (current == null) {
+			synchronized (this) {
+				if (counts == null) {
+					refresh();
+				}
+				current = counts;
+			}
+		}
+		return current;
+	}
+
+	private static final class Counts {
+		private final long posts;
+
+		private final long photos;
+
+		private Counts(long posts, long photos) {
+			this.posts = posts;
+			this.photos = photos;
+		}
+	}
+}
@@ -8,13 +8,16 @@ import com.sopromadze.blogapi.model.role.RoleName;
 import com.sopromadze.blogapi.model.user.User;
 import com.sopromadze.blogapi.payload.ApiResponse;
 import com.sopromadze.blogapi.payload.CommentRequest;
+import com.sopromadze.blogapi.payload.CursorPagedResponse;
 import com.sopromadze.blogapi.payload.PagedResponse;
 import com.sopromadze.blogapi.repository.CommentRepository;
 import com.sopromadze.blogapi.repository.PostRepository;
 import com.sopromadze.blogapi.repository.UserRepository;
+import com.sopromadze.blogapi.repository.UserStatsRepository;
 import com.sopromadze.blogapi.security.UserPrincipal;
 import com.sopromadze.blogapi.service.CommentService;
 import com.sopromadze.blogapi.utils.AppUtils;
+import com.sopromadze.blogapi.utils.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -24,6 +27,10 @@ import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
@@ -46,6 +53,8 @@ public class CommentServiceImpl implements CommentService {
 
 	private final UserRepository userRepository;
 
+	private final UserStatsRepository userStatsRepository;
+
 	@Override
 	public PagedResponse<Comment> getAllComments(Long postId, int page, int size) {
 		AppUtils.validatePageNumberAndSize(page, size);
@@ -58,6 +67,18 @@ public class CommentServiceImpl implements CommentService {
 	}
 
 	@Override
+	public CursorPagedResponse<Comment> getAllComments(Long postId, String after, int size) {
+		KeysetCursor cursor = KeysetCursor.decode(after);
+		Pageable pageable = KeysetCursor.pageable(size);
+
+		List<Comment> comments = cursor == null ? commentRepository.findLatestByPostId(postId, pageable)
+				: commentRepository.findLatestByPostIdBefore(postId, cursor.getCreatedAt(), cursor.getId(), pageable);
+
+		return KeysetCursor.toResponse(comments, size, Comment::getId, Function.identity());
+	}
+
+	@Override
+	@Transactional
 	public Comment addComment(CommentRequest commentRequest, Long postId, UserPrincipal currentUser) {
 		Post post = postRepository.findById(postId)
 				.orElseThrow(() -> new ResourceNotFoundException(POST_STR, ID_STR, postId));
@@ -67,7 +88,10 @@ public class CommentServiceImpl implements CommentService {
 		comment.setPost(post);
 		comment.setName(currentUser.getUsername());
 		comment.setEmail(currentUser.getEmail());
-		return commentRepository.save(comment);
+		Comment newComment = commentRepository.save(comment);
+		postRepository.adjustCommentCount(post.getId(), 1);
+		userStatsRepository.adjustCommentCount(currentUser.getId(), 1);
+		return newComment;
 	}
 
 	@Override
@@ -105,6 +129,7 @@ public class CommentServiceImpl implements CommentService {
 	}
 
 	@Override
+	@Transactional
 	public ApiResponse deleteComment(Long postId, Long id, UserPrincipal currentUser) {
 		Post post = postRepository.findById(postId)
 				.orElseThrow(() -> new ResourceNotFoundException(POST_STR, ID_STR, postId));
@@ -118,6 +143,8 @@ public class CommentServiceImpl implements CommentService {
 		if (comment.getUser().getId().equals(currentUser.getId())
 				|| currentUser.getAuthorities().contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
 			commentRepository.deleteById(comment.getId());
+			postRepository.adjustCommentCount(post.getId(), -1);
+			userStatsRepository.adjustCommentCount(comment.getCreatedBy(), -1);
 			return new ApiResponse(Boolean.TRUE, "You successfully deleted comment");
 		}
 
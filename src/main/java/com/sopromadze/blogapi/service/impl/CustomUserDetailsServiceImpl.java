@@ -3,35 +3,48 @@ package com.sopromadze.blogapi.service.impl;
 import com.sopromadze.blogapi.model.user.User;
 import com.sopromadze.blogapi.repository.UserRepository;
 import com.sopromadze.blogapi.security.UserPrincipal;
+import com.sopromadze.blogapi.security.UserPrincipalCache;
 import com.sopromadze.blogapi.service.CustomUserDetailsService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import javax.transaction.Transactional;
-
 @Service
 @RequiredArgsConstructor
 public class CustomUserDetailsServiceImpl implements UserDetailsService, CustomUserDetailsService {
 
 	private final UserRepository userRepository;
 
+	private final UserPrincipalCache userPrincipalCache;
+
 	@Override
-	@Transactional
 	public UserDetails loadUserByUsername(String usernameOrEmail) {
+		UserPrincipal cached = userPrincipalCache.getByUsernameOrEmail(usernameOrEmail);
+		if (cached != null) {
+			return cached;
+		}
+
 		User user = userRepository.findByUsernameOrEmail(usernameOrEmail, usernameOrEmail)
 				.orElseThrow(() -> new UsernameNotFoundException(String.format("User not found with this username or email: %s", usernameOrEmail)));
-		return UserPrincipal.create(user);
+		return cache(UserPrincipal.create(user));
 	}
 
 	@Override
-	@Transactional
 	public UserDetails loadUserById(Long id) {
+		UserPrincipal cached = userPrincipalCache.getById(id);
+		if (cached != null) {
+			return cached;
+		}
+
 		User user = userRepository.findById(id).orElseThrow(() -> new UsernameNotFoundException(String.format("User not found with id: %s", id)));
 
-		return UserPrincipal.create(user);
+		return cache(UserPrincipal.create(user));
+	}
+
+	private UserPrincipal cache(UserPrincipal userPrincipal) {
+		userPrincipalCache.put(userPrincipal);
+		return userPrincipal;
 	}
 }
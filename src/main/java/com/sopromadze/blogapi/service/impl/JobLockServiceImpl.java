@@ -0,0 +1,24 @@
+package com.sopromadze.blogapi.service.impl;
+
+import com.sopromadze.blogapi.repository.JobLockRepository;
+import com.sopromadze.blogapi.service.JobLockService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+
+@Service
+@RequiredArgsConstructor
+public class JobLockServiceImpl implements JobLockService {
+	// pid@host, recorded on the row to show which instance holds the lease
+	private static final String OWNER = ManagementFactory.getRuntimeMXBean().getName();
+
+	private final JobLockRepository jobLockRepository;
+
+	@Override
+	public boolean tryLock(String name, long leaseInMs) {
+		Instant now = Instant.now();
+		return jobLockRepository.acquire(name, now, now.plusMillis(leaseInMs), OWNER) == 1;
+	}
+}
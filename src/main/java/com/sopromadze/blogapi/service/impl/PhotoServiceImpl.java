@@ -6,27 +6,35 @@ import com.sopromadze.blogapi.model.Album;
 import com.sopromadze.blogapi.model.Photo;
 import com.sopromadze.blogapi.model.role.RoleName;
 import com.sopromadze.blogapi.payload.ApiResponse;
+import com.sopromadze.blogapi.payload.CursorPagedResponse;
 import com.sopromadze.blogapi.payload.PagedResponse;
 import com.sopromadze.blogapi.payload.PhotoRequest;
 import com.sopromadze.blogapi.payload.PhotoResponse;
+import com.sopromadze.blogapi.payload.TotalMode;
 import com.sopromadze.blogapi.repository.AlbumRepository;
 import com.sopromadze.blogapi.repository.PhotoRepository;
+import com.sopromadze.blogapi.repository.UserStatsRepository;
 import com.sopromadze.blogapi.security.UserPrincipal;
+import com.sopromadze.blogapi.service.ApproximateCountService;
 import com.sopromadze.blogapi.service.PhotoService;
 import com.sopromadze.blogapi.utils.AppConstants;
 import com.sopromadze.blogapi.utils.AppUtils;
+import com.sopromadze.blogapi.utils.KeysetCursor;
+import com.sopromadze.blogapi.utils.ResourceVersion;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Function;
 
 import static com.sopromadze.blogapi.utils.AppConstants.ALBUM;
 import static com.sopromadze.blogapi.utils.AppConstants.CREATED_AT;
@@ -41,34 +49,63 @@ public class PhotoServiceImpl implements PhotoService {
 
 	private final AlbumRepository albumRepository;
 
+	private final ApproximateCountService approximateCountService;
+
+	private final UserStatsRepository userStatsRepository;
+
 	@Override
 	public PagedResponse<PhotoResponse> getAllPhotos(int page, int size) {
 		AppUtils.validatePageNumberAndSize(page, size);
 
 		Pageable pageable = PageRequest.of(page, size, Sort.Direction.DESC, CREATED_AT);
-		Page<Photo> photos = photoRepository.findAll(pageable);
-
-		List<PhotoResponse> photoResponses = new ArrayList<>(photos.getContent().size());
-		for (Photo photo : photos.getContent()) {
-			photoResponses.add(new PhotoResponse(photo.getId(), photo.getTitle(), photo.getUrl(),
-					photo.getThumbnailUrl(), photo.getAlbum().getId()));
-		}
+		Page<PhotoResponse> photos = photoRepository.findAllResponses(pageable);
 
 		if (photos.getNumberOfElements() == 0) {
 			return new PagedResponse<>(Collections.emptyList(), photos.getNumber(), photos.getSize(),
 					photos.getTotalElements(), photos.getTotalPages(), photos.isLast());
 		}
-		return new PagedResponse<>(photoResponses, photos.getNumber(), photos.getSize(), photos.getTotalElements(),
-				photos.getTotalPages(), photos.isLast());
+		return new PagedResponse<>(photos.getContent(), photos.getNumber(), photos.getSize(),
+				photos.getTotalElements(), photos.getTotalPages(), photos.isLast());
+
+	}
+
+	@Override
+	public PagedResponse<PhotoResponse> getAllPhotos(int page, int size, TotalMode totalMode) {
+		if (totalMode == TotalMode.EXACT) {
+			return getAllPhotos(page, size);
+		}
+		AppUtils.validatePageNumberAndSize(page, size);
+
+		Pageable pageable = PageRequest.of(page, size, Sort.Direction.DESC, CREATED_AT);
+		Slice<PhotoResponse> photos = photoRepository.findAllResponsesAsSlice(pageable);
+
+		long totalElements = totalMode == TotalMode.APPROXIMATE ? approximateCountService.countPhotos()
+				: PagedResponse.UNKNOWN_TOTAL;
 
+		return PagedResponse.of(photos, photos.getContent(), totalElements);
+	}
+
+	@Override
+	public CursorPagedResponse<PhotoResponse> getAllPhotos(String after, int size) {
+		KeysetCursor cursor = KeysetCursor.decode(after);
+		Pageable pageable = KeysetCursor.pageable(size);
+
+		List<PhotoResponse> photos = cursor == null ? photoRepository.findLatest(pageable)
+				: photoRepository.findLatestBefore(cursor.getCreatedAt(), cursor.getId(), pageable);
+
+		return KeysetCursor.toResponse(photos, size, PhotoResponse::getCreatedAt, PhotoResponse::getId,
+				Function.identity());
 	}
 
 	@Override
 	public PhotoResponse getPhoto(Long id) {
-		Photo photo = photoRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(PHOTO, ID, id));
+		return photoRepository.findResponseById(id).orElseThrow(() -> new ResourceNotFoundException(PHOTO, ID, id));
+	}
 
-		return new PhotoResponse(photo.getId(), photo.getTitle(), photo.getUrl(),
-				photo.getThumbnailUrl(), photo.getAlbum().getId());
+	@Override
+	public ResourceVersion getPhotoVersion(Long id) {
+		return photoRepository.findUpdatedAtById(id).map(updatedAt -> ResourceVersion.of(PHOTO, id, updatedAt))
+				.orElseThrow(() -> new ResourceNotFoundException(PHOTO, ID, id));
 	}
 
 	@Override
@@ -76,14 +113,13 @@ public class PhotoServiceImpl implements PhotoService {
 		Album album = albumRepository.findById(photoRequest.getAlbumId())
 				.orElseThrow(() -> new ResourceNotFoundException(ALBUM, ID, photoRequest.getAlbumId()));
 		Photo photo = photoRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(PHOTO, ID, id));
-		if (photo.getAlbum().getUser().getId().equals(currentUser.getId())
-				|| currentUser.getAuthorities().contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
+		if (isAdmin(currentUser) || photoRepository.existsByIdAndAlbumUserId(id, currentUser.getId())) {
 			photo.setTitle(photoRequest.getTitle());
 			photo.setThumbnailUrl(photoRequest.getThumbnailUrl());
 			photo.setAlbum(album);
 			Photo updatedPhoto = photoRepository.save(photo);
 			return new PhotoResponse(updatedPhoto.getId(), updatedPhoto.getTitle(),
-					updatedPhoto.getUrl(), updatedPhoto.getThumbnailUrl(), updatedPhoto.getAlbum().getId());
+					updatedPhoto.getUrl(), updatedPhoto.getThumbnailUrl(), album.getId());
 		}
 
 		ApiResponse apiResponse = new ApiResponse(Boolean.FALSE, "You don't have permission to update this photo");
@@ -92,6 +128,7 @@ public class PhotoServiceImpl implements PhotoService {
 	}
 
 	@Override
+	@Transactional
 	public PhotoResponse addPhoto(PhotoRequest photoRequest, UserPrincipal currentUser) {
 		Album album = albumRepository.findById(photoRequest.getAlbumId())
 				.orElseThrow(() -> new ResourceNotFoundException(ALBUM, ID, photoRequest.getAlbumId()));
@@ -99,6 +136,7 @@ public class PhotoServiceImpl implements PhotoService {
 			Photo photo = new Photo(photoRequest.getTitle(), photoRequest.getUrl(), photoRequest.getThumbnailUrl(),
 					album);
 			Photo newPhoto = photoRepository.save(photo);
+			userStatsRepository.adjustPhotoCount(currentUser.getId(), 1);
 			return new PhotoResponse(newPhoto.getId(), newPhoto.getTitle(), newPhoto.getUrl(),
 					newPhoto.getThumbnailUrl(), newPhoto.getAlbum().getId());
 		}
@@ -109,13 +147,18 @@ public class PhotoServiceImpl implements PhotoService {
 	}
 
 	@Override
+	@Transactional
 	public ApiResponse deletePhoto(Long id, UserPrincipal currentUser) {
-		Photo photo = photoRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(PHOTO, ID, id));
-		if (photo.getAlbum().getUser().getId().equals(currentUser.getId())
-				|| currentUser.getAuthorities().contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
+		boolean allowed = isAdmin(currentUser) ? photoRepository.existsById(id)
+				: photoRepository.existsByIdAndAlbumUserId(id, currentUser.getId());
+		if (allowed) {
+			photoRepository.findCreatedByById(id).ifPresent(userId -> userStatsRepository.adjustPhotoCount(userId, -1));
 			photoRepository.deleteById(id);
 			return new ApiResponse(Boolean.TRUE, "Photo deleted successfully");
 		}
+		if (!photoRepository.existsById(id)) {
+			throw new ResourceNotFoundException(PHOTO, ID, id);
+		}
 
 		ApiResponse apiResponse = new ApiResponse(Boolean.FALSE, "You don't have permission to delete this photo");
 
@@ -128,15 +171,18 @@ public class PhotoServiceImpl implements PhotoService {
 
 		Pageable pageable = PageRequest.of(page, size, Sort.Direction.DESC, AppConstants.CREATED_AT);
 
-		Page<Photo> photos = photoRepository.findByAlbumId(albumId, pageable);
+		Page<PhotoResponse> photos = photoRepository.findResponsesByAlbumId(albumId, pageable);
 
-		List<PhotoResponse> photoResponses = new ArrayList<>(photos.getContent().size());
-		for (Photo photo : photos.getContent()) {
-			photoResponses.add(new PhotoResponse(photo.getId(), photo.getTitle(), photo.getUrl(),
-					photo.getThumbnailUrl(), photo.getAlbum().getId()));
-		}
-
-		return new PagedResponse<>(photoResponses, photos.getNumber(), photos.getSize(), photos.getTotalElements(),
+		return new PagedResponse<>(photos.getContent(), photos.getNumber(), photos.getSize(), photos.getTotalElements(),
 				photos.getTotalPages(), photos.isLast());
 	}
+
+	@Override
+	public ResourceVersion getAllPhotosByAlbumVersion(Long albumId) {
+		return ResourceVersion.derived(ALBUM + PHOTO, albumId, photoRepository.findVersionByAlbumId(albumId).get(0));
+	}
+
+	private static boolean isAdmin(UserPrincipal currentUser) {
+		return currentUser.getAuthorities().contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()));
+	}
 }
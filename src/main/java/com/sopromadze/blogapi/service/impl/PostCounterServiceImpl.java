@@ -0,0 +1,57 @@
+package com.sopromadze.blogapi.service.impl;
+
+import com.sopromadze.blogapi.model.JobLock;
+import com.sopromadze.blogapi.repository.PostRepository;
+import com.sopromadze.blogapi.service.JobLockService;
+import com.sopromadze.blogapi.service.PostCounterService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Repairs the comment and tag counters stored on posts. Writes keep them current with relative
+ * updates; this job catches drift from rows changed outside the application or by failed writes.
+ * Corrections are applied as deltas, so writes running at the same time are not overwritten; the job
+ * lock keeps other instances from applying the same deltas again.
+ */
+@Service
+@RequiredArgsConstructor
+public class PostCounterServiceImpl implements PostCounterService {
+	private static final Logger LOGGER = LoggerFactory.getLogger(PostCounterServiceImpl.class);
+
+	private final PostRepository postRepository;
+
+	private final JobLockService jobLockService;
+
+	@Value("${app.postCounterReconciliationInMs:3600000}")
+	private long reconciliationInMs;
+
+	@Override
+	@Scheduled(fixedDelayString = "${app.postCounterReconciliationInMs:3600000}",
+			initialDelayString = "${app.postCounterReconciliationInMs:3600000}")
+	public int reconcile() {
+		if (!jobLockService.tryLock(JobLock.POST_COUNTERS, reconciliationInMs)) {
+			return 0;
+		}
+		int repaired = repair("comment", postRepository.findCommentCountDrift(), postRepository::adjustCommentCount);
+		repaired += repair("tag", postRepository.findTagCountDrift(), postRepository::adjustTagCount);
+		return repaired;
+	}
+
+	private static int repair(String counter, List<Object[]> drift, BiFunction<Long, Integer, Integer> adjust) {
+		for (Object[] row : drift) {
+			Long postId = (Long) row[0];
+			int stored = (Integer) row[1];
+			long actual = (Long) row[2];
+			LOGGER.warn("Post {} {} count was {} instead of {}", postId, counter, stored, actual);
+			adjust.apply(postId, (int) (actual - stored));
+		}
+		return drift.size();
+	}
+}
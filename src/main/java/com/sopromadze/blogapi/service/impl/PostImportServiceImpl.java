@@ -0,0 +1,350 @@
+package com.sopromadze.blogapi.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.sopromadze.blogapi.model.Category;
+import com.sopromadze.blogapi.model.Comment;
+import com.sopromadze.blogapi.model.Post;
+import com.sopromadze.blogapi.model.Tag;
+import com.sopromadze.blogapi.model.user.User;
+import com.sopromadze.blogapi.payload.PostImportRecord;
+import com.sopromadze.blogapi.payload.PostImportResult;
+import com.sopromadze.blogapi.repository.CategoryRepository;
+import com.sopromadze.blogapi.repository.PostRepository;
+import com.sopromadze.blogapi.repository.TagRepository;
+import com.sopromadze.blogapi.repository.UserRepository;
+import com.sopromadze.blogapi.repository.UserStatsRepository;
+import com.sopromadze.blogapi.security.UserPrincipal;
+import com.sopromadze.blogapi.service.PostImportService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedRuntimeException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Streams posts in from NDJSON. Records are written in chunks, one transaction per chunk, so JDBC
+ * batching applies; when a chunk fails it is replayed one record per transaction so only the bad
+ * records are reported as failed. Tag and category ids are kept in a per-import dictionary so each
+ * name is looked up at most once.
+ */
+@Service
+@RequiredArgsConstructor
+public class PostImportServiceImpl implements PostImportService {
+	private static final Logger LOGGER = LoggerFactory.getLogger(PostImportServiceImpl.class);
+
+	private static final byte[] LINE_SEPARATOR = { '\n' };
+
+	private final PostRepository postRepository;
+
+	private final TagRepository tagRepository;
+
+	private final CategoryRepository categoryRepository;
+
+	private final UserRepository userRepository;
+
+	private final UserStatsRepository userStatsRepository;
+
+	private final ObjectMapper objectMapper;
+
+	private final Validator validator;
+
+	private final PlatformTransactionManager transactionManager;
+
+	private final EntityManager entityManager;
+
+	@Value("${app.importChunkSize:500}")
+	private int chunkSize;
+
+	@Override
+	public void importPosts(InputStream input, OutputStream output, UserPrincipal currentUser) throws IOException {
+		ObjectReader recordReader = objectMapper.readerFor(PostImportRecord.class);
+		BufferedReader lines = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+		Dictionary dictionary = new Dictionary();
+		List<ImportLine> chunk = new ArrayList<>(chunkSize);
+
+		long lineNumber = 0;
+		String line;
+		while ((line = lines.readLine()) != null) {
+			lineNumber++;
+			if (line.trim().isEmpty()) {
+				continue;
+			}
+
+			chunk.add(parse(recordReader, lineNumber, line));
+			if (chunk.size() >= chunkSize) {
+				importChunk(chunk, currentUser.getId(), dictionary, output);
+				chunk.clear();
+			}
+		}
+
+		if (!chunk.isEmpty()) {
+			importChunk(chunk, currentUser.getId(), dictionary, output);
+		}
+		output.flush();
+	}
+
+	private ImportLine parse(ObjectReader recordReader, long lineNumber, String line) {
+		PostImportRecord record;
+		try {
+			record = recordReader.readValue(line);
+		} catch (JsonProcessingException ex) {
+			return ImportLine.failed(lineNumber, "Malformed record: " + ex.getOriginalMessage());
+		} catch (IOException ex) {
+			return ImportLine.failed(lineNumber, "Malformed record: " + ex.getMessage());
+		}
+
+		Set<ConstraintViolation<PostImportRecord>> violations = validator.validate(record);
+		if (!violations.isEmpty()) {
+			ConstraintViolation<PostImportRecord> violation = violations.iterator().next();
+			return ImportLine.failed(lineNumber, violation.getPropertyPath() + " " + violation.getMessage());
+		}
+		return new ImportLine(lineNumber, record);
+	}
+
+	private void importChunk(List<ImportLine> chunk, Long userId, Dictionary dictionary, OutputStream output)
+			throws IOException {
+		List<ImportLine> valid = new ArrayList<>(chunk.size());
+		for (ImportLine line : chunk) {
+			if (line.error == null) {
+				valid.add(line);
+			}
+		}
+
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		try {
+			transactionTemplate.executeWithoutResult(status -> savePosts(valid, userId, dictionary));
+			dictionary.commit();
+		} catch (RuntimeException ex) {
+			LOGGER.debug("Import chunk failed, retrying {} records one by one", valid.size(), ex);
+			dictionary.rollback();
+			for (ImportLine line : valid) {
+				line.postId = null;
+				try {
+					transactionTemplate.executeWithoutResult(status -> savePosts(List.of(line), userId, dictionary));
+					dictionary.commit();
+				} catch (RuntimeException recordEx) {
+					dictionary.rollback();
+					line.postId = null;
+					line.error = "Post could not be saved: " + describe(recordEx);
+				}
+			}
+		} finally {
+			entityManager.clear();
+		}
+
+		for (ImportLine line : chunk) {
+			output.write(objectMapper.writeValueAsBytes(line.toResult()));
+			output.write(LINE_SEPARATOR);
+		}
+	}
+
+	private void savePosts(List<ImportLine> lines, Long userId, Dictionary dictionary) {
+		resolveCategories(lines, dictionary);
+		resolveTags(lines, dictionary);
+
+		User user = userRepository.getById(userId);
+		List<Post> posts = new ArrayList<>(lines.size());
+		long commentCount = 0;
+		for (ImportLine line : lines) {
+			PostImportRecord record = line.record;
+
+			Post post = new Post();
+			post.setTitle(record.getTitle());
+			post.setBody(record.getBody());
+			post.setUser(user);
+			post.setCategory(categoryRepository.getById(dictionary.categoryId(record.getCategory())));
+
+			List<Tag> tags = new ArrayList<>();
+			for (String name : distinctNames(record.getTags())) {
+				tags.add(tagRepository.getById(dictionary.tagId(name)));
+			}
+			post.setTags(tags);
+			post.setTagCount(tags.size());
+
+			List<Comment> comments = new ArrayList<>(record.getComments().size());
+			for (PostImportRecord.CommentRecord commentRecord : record.getComments()) {
+				Comment comment = new Comment(commentRecord.getBody());
+				comment.setName(commentRecord.getName());
+				comment.setEmail(commentRecord.getEmail());
+				comment.setUser(user);
+				comment.setPost(post);
+				comments.add(comment);
+			}
+			post.setComments(comments);
+			post.setCommentCount(comments.size());
+			commentCount += comments.size();
+
+			posts.add(post);
+		}
+
+		List<Post> saved = postRepository.saveAll(posts);
+		postRepository.flush();
+		userStatsRepository.adjustPostCount(userId, saved.size());
+		userStatsRepository.adjustCommentCount(userId, commentCount);
+		for (int i = 0; i < lines.size(); i++) {
+			lines.get(i).postId = saved.get(i).getId();
+		}
+	}
+
+	private void resolveCategories(List<ImportLine> lines, Dictionary dictionary) {
+		Set<String> missing = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+		for (ImportLine line : lines) {
+			if (dictionary.categoryId(line.record.getCategory()) == null) {
+				missing.add(line.record.getCategory().trim());
+			}
+		}
+		if (missing.isEmpty()) {
+			return;
+		}
+
+		for (Category category : categoryRepository.findByNameIn(missing)) {
+			dictionary.putCategory(category.getName(), category.getId());
+			missing.remove(category.getName());
+		}
+
+		List<Category> created = new ArrayList<>(missing.size());
+		for (String name : missing) {
+			created.add(new Category(name));
+		}
+		for (Category category : categoryRepository.saveAll(created)) {
+			dictionary.putCategory(category.getName(), category.getId());
+		}
+	}
+
+	private void resolveTags(List<ImportLine> lines, Dictionary dictionary) {
+		Set<String> missing = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+		for (ImportLine line : lines) {
+			for (String name : distinctNames(line.record.getTags())) {
+				if (dictionary.tagId(name) == null) {
+					missing.add(name);
+				}
+			}
+		}
+		if (missing.isEmpty()) {
+			return;
+		}
+
+		for (Tag tag : tagRepository.findByNameIn(missing)) {
+			dictionary.putTag(tag.getName(), tag.getId());
+			missing.remove(tag.getName());
+		}
+
+		List<Tag> created = new ArrayList<>(missing.size());
+		for (String name : missing) {
+			created.add(new Tag(name));
+		}
+		for (Tag tag : tagRepository.saveAll(created)) {
+			dictionary.putTag(tag.getName(), tag.getId());
+		}
+	}
+
+	private static Collection<String> distinctNames(List<String> names) {
+		Set<String> distinct = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+		for (String name : names) {
+			if (name != null && !name.trim().isEmpty()) {
+				distinct.add(name.trim());
+			}
+		}
+		return distinct;
+	}
+
+	private static String describe(RuntimeException ex) {
+		if (ex instanceof NestedRuntimeException) {
+			return ((NestedRuntimeException) ex).getMostSpecificCause().getMessage();
+		}
+		return ex.getMessage();
+	}
+
+	private static final class ImportLine {
+		private final long number;
+
+		private final PostImportRecord record;
+
+		private String error;
+
+		private Long postId;
+
+		private ImportLine(long number, PostImportRecord record) {
+			this.number = number;
+			this.record = record;
+		}
+
+		private static ImportLine failed(long number, String error) {
+			ImportLine line = new ImportLine(number, null);
+			line.error = error;
+			return line;
+		}
+
+		private PostImportResult toResult() {
+			return error == null ? PostImportResult.imported(number, postId) : PostImportResult.failed(number, error);
+		}
+	}
+
+	/**
+	 * Name to id lookups for the whole import. Ids handed out inside a transaction stay pending until
+	 * it commits, so a rolled back chunk cannot leave ids of rows that were never written.
+	 */
+	private static final class Dictionary {
+		private final Map<String, Long> tags = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+		private final Map<String, Long> categories = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+		private final Map<String, Long> pendingTags = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+		private final Map<String, Long> pendingCategories = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+		private Long tagId(String name) {
+			return lookup(pendingTags, tags, name.trim());
+		}
+
+		private Long categoryId(String name) {
+			return lookup(pendingCategories, categories, name.trim());
+		}
+
+		private void putTag(String name, Long id) {
+			pendingTags.put(name, id);
+		}
+
+		private void putCategory(String name, Long id) {
+			pendingCategories.put(name, id);
+		}
+
+		private void commit() {
+			tags.putAll(pendingTags);
+			categories.putAll(pendingCategories);
+			rollback();
+		}
+
+		private void rollback() {
+			pendingTags.clear();
+			pendingCategories.clear();
+		}
+
+		private static Long lookup(Map<String, Long> pending, Map<String, Long> committed, String name) {
+			Long id = pending.get(name);
+			return id != null ? id : committed.get(name);
+		}
+	}
+}
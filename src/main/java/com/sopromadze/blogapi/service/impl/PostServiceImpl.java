@@ -9,29 +9,48 @@ import com.sopromadze.blogapi.model.Tag;
 import com.sopromadze.blogapi.model.role.RoleName;
 import com.sopromadze.blogapi.model.user.User;
 import com.sopromadze.blogapi.payload.ApiResponse;
+import com.sopromadze.blogapi.payload.CursorPagedResponse;
 import com.sopromadze.blogapi.payload.PagedResponse;
 import com.sopromadze.blogapi.payload.PostRequest;
 import com.sopromadze.blogapi.payload.PostResponse;
+import com.sopromadze.blogapi.payload.PostSummary;
+import com.sopromadze.blogapi.payload.TotalMode;
 import com.sopromadze.blogapi.repository.CategoryRepository;
+import com.sopromadze.blogapi.repository.CommentRepository;
 import com.sopromadze.blogapi.repository.PostRepository;
 import com.sopromadze.blogapi.repository.TagRepository;
 import com.sopromadze.blogapi.repository.UserRepository;
+import com.sopromadze.blogapi.repository.UserStatsRepository;
 import com.sopromadze.blogapi.security.UserPrincipal;
+import com.sopromadze.blogapi.service.ApproximateCountService;
 import com.sopromadze.blogapi.service.PostService;
 import com.sopromadze.blogapi.utils.AppConstants;
 import com.sopromadze.blogapi.utils.AppUtils;
+import com.sopromadze.blogapi.utils.KeysetCursor;
+import com.sopromadze.blogapi.utils.ResourceVersion;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
 
 import static com.sopromadze.blogapi.utils.AppConstants.CATEGORY;
 import static com.sopromadze.blogapi.utils.AppConstants.CREATED_AT;
@@ -44,6 +63,8 @@ import static com.sopromadze.blogapi.utils.AppConstants.USER;
 @RequiredArgsConstructor
 public class PostServiceImpl implements PostService {
 
+	private static final int TAG_INSERT_ATTEMPTS = 3;
+
 	private final PostRepository postRepository;
 
 	private final UserRepository userRepository;
@@ -52,62 +73,105 @@ public class PostServiceImpl implements PostService {
 
 	private final TagRepository tagRepository;
 
+	private final ApproximateCountService approximateCountService;
+
+	private final CommentRepository commentRepository;
+
+	private final UserStatsRepository userStatsRepository;
+
+	private final TransactionTemplate transactionTemplate;
+
 	@Override
-	public PagedResponse<Post> getAllPosts(int page, int size) {
+	public PagedResponse<PostSummary> getAllPosts(int page, int size) {
 		validatePageNumberAndSize(page, size);
 
 		Pageable pageable = PageRequest.of(page, size, Sort.Direction.DESC, CREATED_AT);
 
-		Page<Post> posts = postRepository.findAll(pageable);
+		Page<PostSummary> posts = postRepository.findAllSummaries(pageable);
 
-		List<Post> content = posts.getNumberOfElements() == 0 ? Collections.emptyList() : posts.getContent();
+		return toPagedResponse(posts);
+	}
 
-		return new PagedResponse<>(content, posts.getNumber(), posts.getSize(), posts.getTotalElements(),
-				posts.getTotalPages(), posts.isLast());
+	@Override
+	public PagedResponse<PostSummary> getAllPosts(int page, int size, TotalMode totalMode) {
+		if (totalMode == TotalMode.EXACT) {
+			return getAllPosts(page, size);
+		}
+		validatePageNumberAndSize(page, size);
+
+		Pageable pageable = PageRequest.of(page, size, Sort.Direction.DESC, CREATED_AT);
+
+		Slice<PostSummary> posts = postRepository.findAllSummariesAsSlice(pageable);
+
+		long totalElements = totalMode == TotalMode.APPROXIMATE ? approximateCountService.countPosts()
+				: PagedResponse.UNKNOWN_TOTAL;
+
+		return PagedResponse.of(posts, withTagNames(posts.getContent()), totalElements);
 	}
 
 	@Override
-	public PagedResponse<Post> getPostsByCreatedBy(String username, int page, int size) {
+	public CursorPagedResponse<PostSummary> getAllPosts(String after, int size) {
+		KeysetCursor cursor = KeysetCursor.decode(after);
+		Pageable pageable = KeysetCursor.pageable(size);
+
+		List<PostSummary> posts = cursor == null ? postRepository.findLatestSummaries(pageable)
+				: postRepository.findLatestSummariesBefore(cursor.getCreatedAt(), cursor.getId(), pageable);
+
+		CursorPagedResponse<PostSummary> response = KeysetCursor.toResponse(posts, size, PostSummary::getCreatedAt,
+				PostSummary::getId, Function.identity());
+		response.setContent(withTagNames(response.getContent()));
+		return response;
+	}
+
+	@Override
+	public PagedResponse<PostSummary> getPostsByCreatedBy(String username, int page, int size) {
 		validatePageNumberAndSize(page, size);
 		User user = userRepository.getUserByName(username);
 		Pageable pageable = PageRequest.of(page, size, Sort.Direction.DESC, CREATED_AT);
-		Page<Post> posts = postRepository.findByCreatedBy(user.getId(), pageable);
+		Page<PostSummary> posts = postRepository.findSummariesByCreatedBy(user.getId(), pageable);
 
-		List<Post> content = posts.getNumberOfElements() == 0 ? Collections.emptyList() : posts.getContent();
+		return toPagedResponse(posts);
+	}
 
-		return new PagedResponse<>(content, posts.getNumber(), posts.getSize(), posts.getTotalElements(),
-				posts.getTotalPages(), posts.isLast());
+	@Override
+	public PagedResponse<PostSummary> getPostsByCreatedBy(String username, int page, int size, TotalMode totalMode) {
+		if (totalMode == TotalMode.EXACT) {
+			return getPostsByCreatedBy(username, page, size);
+		}
+		validatePageNumberAndSize(page, size);
+		User user = userRepository.getUserByName(username);
+		Pageable pageable = PageRequest.of(page, size, Sort.Direction.DESC, CREATED_AT);
+		Slice<PostSummary> posts = postRepository.findSummarySliceByCreatedBy(user.getId(), pageable);
+
+		long totalElements = totalMode == TotalMode.APPROXIMATE
+				? approximateCountService.countPostsByCreatedBy(user.getId()) : PagedResponse.UNKNOWN_TOTAL;
+
+		return PagedResponse.of(posts, withTagNames(posts.getContent()), totalElements);
 	}
 
 	@Override
-	public PagedResponse<Post> getPostsByCategory(Long id, int page, int size) {
+	public PagedResponse<PostSummary> getPostsByCategory(Long id, int page, int size) {
 		AppUtils.validatePageNumberAndSize(page, size);
 		Category category = categoryRepository.findById(id)
 				.orElseThrow(() -> new ResourceNotFoundException(CATEGORY, ID, id));
 
 		Pageable pageable = PageRequest.of(page, size, Sort.Direction.DESC, CREATED_AT);
-		Page<Post> posts = postRepository.findByCategory(category.getId(), pageable);
+		Page<PostSummary> posts = postRepository.findSummariesByCategoryId(category.getId(), pageable);
 
-		List<Post> content = posts.getNumberOfElements() == 0 ? Collections.emptyList() : posts.getContent();
-
-		return new PagedResponse<>(content, posts.getNumber(), posts.getSize(), posts.getTotalElements(),
-				posts.getTotalPages(), posts.isLast());
+		return toPagedResponse(posts);
 	}
 
 	@Override
-	public PagedResponse<Post> getPostsByTag(Long id, int page, int size) {
+	public PagedResponse<PostSummary> getPostsByTag(Long id, int page, int size) {
 		AppUtils.validatePageNumberAndSize(page, size);
 
 		Tag tag = tagRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(TAG, ID, id));
 
 		Pageable pageable = PageRequest.of(page, size, Sort.Direction.DESC, CREATED_AT);
 
-		Page<Post> posts = postRepository.findByTagsIn(Collections.singletonList(tag), pageable);
-
-		List<Post> content = posts.getNumberOfElements() == 0 ? Collections.emptyList() : posts.getContent();
+		Page<PostSummary> posts = postRepository.findSummariesByTagId(tag.getId(), pageable);
 
-		return new PagedResponse<>(content, posts.getNumber(), posts.getSize(), posts.getTotalElements(),
-				posts.getTotalPages(), posts.isLast());
+		return toPagedResponse(posts);
 	}
 
 	@Override
@@ -128,10 +192,14 @@ public class PostServiceImpl implements PostService {
 	}
 
 	@Override
+	@Transactional
 	public ApiResponse deletePost(Long id, UserPrincipal currentUser) {
 		Post post = postRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(POST, ID, id));
 		if (post.getUser().getId().equals(currentUser.getId())
 				|| currentUser.getAuthorities().contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
+			// the post's comments go with it, whoever wrote them
+			userStatsRepository.subtractCommentCounts(commentRepository.countGroupByCreatedByForPost(id));
+			userStatsRepository.adjustPostCount(post.getCreatedBy(), -1);
 			postRepository.deleteById(id);
 			return new ApiResponse(Boolean.TRUE, "You successfully deleted post");
 		}
@@ -148,14 +216,9 @@ public class PostServiceImpl implements PostService {
 		Category category = categoryRepository.findById(postRequest.getCategoryId())
 				.orElseThrow(() -> new ResourceNotFoundException(CATEGORY, ID, postRequest.getCategoryId()));
 
-		List<Tag> tags = new ArrayList<>(postRequest.getTags().size());
-
-		for (String name : postRequest.getTags()) {
-			Tag tag = tagRepository.findByName(name);
-			tag = tag == null ? tagRepository.save(new Tag(name)) : tag;
-
-			tags.add(tag);
-		}
+		// tags are created outside the post's transaction, so losing a race for a tag name only fails
+		// that insert and the lookup can be retried
+		List<Tag> tags = findOrCreateTags(postRequest.getTags());
 
 		Post post = new Post();
 		post.setBody(postRequest.getBody());
@@ -163,8 +226,13 @@ public class PostServiceImpl implements PostService {
 		post.setCategory(category);
 		post.setUser(user);
 		post.setTags(tags);
+		post.setTagCount(tags.size());
 
-		Post newPost = postRepository.save(post);
+		Post newPost = transactionTemplate.execute(status -> {
+			Post saved = postRepository.save(post);
+			userStatsRepository.adjustPostCount(currentUser.getId(), 1);
+			return saved;
+		});
 
 		PostResponse postResponse = new PostResponse();
 
@@ -188,6 +256,103 @@ public class PostServiceImpl implements PostService {
 		return postRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(POST, ID, id));
 	}
 
+	@Override
+	public ResourceVersion getPostVersion(Long id) {
+		List<Object[]> rows = postRepository.findVersionById(id);
+		if (rows.isEmpty()) {
+			throw new ResourceNotFoundException(POST, ID, id);
+		}
+		// the post's columns once, then every tag in id order, so any change to the tag set shows
+		List<Object> parts = new ArrayList<>(2 + rows.size() * 2);
+		parts.add(id);
+		parts.add(Arrays.copyOf(rows.get(0), 4));
+		for (Object[] row : rows) {
+			parts.add(row[4]);
+			parts.add(row[5]);
+		}
+		return ResourceVersion.derived(POST, parts.toArray());
+	}
+
+	private PagedResponse<PostSummary> toPagedResponse(Page<PostSummary> posts) {
+		List<PostSummary> content = posts.getNumberOfElements() == 0 ? Collections.emptyList()
+				: withTagNames(posts.getContent());
+
+		return new PagedResponse<>(content, posts.getNumber(), posts.getSize(), posts.getTotalElements(),
+				posts.getTotalPages(), posts.isLast());
+	}
+
+	/**
+	 * Loads the tag names of a whole page with one IN query, keeping listings at a fixed number of
+	 * statements whatever the page size.
+	 */
+	private List<PostSummary> withTagNames(List<PostSummary> posts) {
+		if (posts.isEmpty()) {
+			return posts;
+		}
+
+		Map<Long, List<String>> tagNames = new HashMap<>();
+		for (PostSummary post : posts) {
+			tagNames.put(post.getId(), new ArrayList<>());
+		}
+		for (Object[] row : postRepository.findTagNamesByPostIds(tagNames.keySet())) {
+			tagNames.get((Long) row[0]).add((String) row[1]);
+		}
+
+		for (PostSummary post : posts) {
+			post.setTags(tagNames.get(post.getId()));
+		}
+		return posts;
+	}
+
+	private List<Tag> findOrCreateTags(List<String> names) {
+		// tag names compare case-insensitively, matching the column collation
+		Set<String> seenNames = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+		List<String> uniqueNames = new ArrayList<>(names.size());
+		for (String name : names) {
+			if (seenNames.add(name)) {
+				uniqueNames.add(name);
+			}
+		}
+
+		if (uniqueNames.isEmpty()) {
+			return new ArrayList<>();
+		}
+
+		for (int attempt = 1; ; attempt++) {
+			Map<String, Tag> tagsByName = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+			List<Tag> existingTags = attempt == 1 ? tagRepository.findByNameIn(uniqueNames)
+					: tagRepository.findUncachedByNameIn(uniqueNames);
+			for (Tag tag : existingTags) {
+				tagsByName.put(tag.getName(), tag);
+			}
+
+			List<Tag> missingTags = new ArrayList<>();
+			for (String name : uniqueNames) {
+				if (!tagsByName.containsKey(name)) {
+					missingTags.add(new Tag(name));
+				}
+			}
+
+			try {
+				for (Tag tag : tagRepository.saveAllAndFlush(missingTags)) {
+					tagsByName.put(tag.getName(), tag);
+				}
+			} catch (DataIntegrityViolationException ex) {
+				// a concurrent request inserted one of the new tags first, look them up again
+				if (attempt == TAG_INSERT_ATTEMPTS) {
+					throw ex;
+				}
+				continue;
+			}
+
+			List<Tag> tags = new ArrayList<>(uniqueNames.size());
+			for (String name : uniqueNames) {
+				tags.add(tagsByName.get(name));
+			}
+			return tags;
+		}
+	}
+
 	private void validatePageNumberAndSize(int page, int size) {
 		if (page < 0) {
 			throw new BadRequestException("Page number cannot be less than zero.");
@@ -6,6 +6,7 @@ import com.sopromadze.blogapi.model.Tag;
 import com.sopromadze.blogapi.model.role.RoleName;
 import com.sopromadze.blogapi.payload.ApiResponse;
 import com.sopromadze.blogapi.payload.PagedResponse;
+import com.sopromadze.blogapi.repository.PostRepository;
 import com.sopromadze.blogapi.repository.TagRepository;
 import com.sopromadze.blogapi.security.UserPrincipal;
 import com.sopromadze.blogapi.service.TagService;
@@ -18,6 +19,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collections;
 import java.util.List;
@@ -28,6 +30,8 @@ public class TagServiceImpl implements TagService {
 
 	private final TagRepository tagRepository;
 
+	private final PostRepository postRepository;
+
 	@Override
 	public PagedResponse<Tag> getAllTags(int page, int size) {
 		AppUtils.validatePageNumberAndSize(page, size);
@@ -47,11 +51,39 @@ public class TagServiceImpl implements TagService {
 	}
 
 	@Override
+	public PagedResponse<Long> getPostIdsByTag(Long id, int page, int size) {
+		AppUtils.validatePageNumberAndSize(page, size);
+
+		if (!tagRepository.existsById(id)) {
+			throw new ResourceNotFoundException("Tag", "id", id);
+		}
+
+		Pageable pageable = PageRequest.of(page, size, Sort.Direction.DESC, "createdAt");
+
+		Page<Long> postIds = postRepository.findIdsByTagId(id, pageable);
+
+		List<Long> content = postIds.getNumberOfElements() == 0 ? Collections.emptyList() : postIds.getContent();
+
+		return new PagedResponse<>(content, postIds.getNumber(), postIds.getSize(), postIds.getTotalElements(), postIds.getTotalPages(), postIds.isLast());
+	}
+
+	@Override
+	public long countPostsByTag(Long id) {
+		if (!tagRepository.existsById(id)) {
+			throw new ResourceNotFoundException("Tag", "id", id);
+		}
+
+		return postRepository.countByTagId(id);
+	}
+
+	@Override
+	@Transactional
 	public Tag addTag(Tag tag, UserPrincipal currentUser) {
 		return tagRepository.save(tag);
 	}
 
 	@Override
+	@Transactional
 	public Tag updateTag(Long id, Tag newTag, UserPrincipal currentUser) {
 		Tag tag = tagRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Tag", "id", id));
 		if (tag.getCreatedBy().equals(currentUser.getId()) || currentUser.getAuthorities()
@@ -65,10 +97,15 @@ public class TagServiceImpl implements TagService {
 	}
 
 	@Override
+	@Transactional
 	public ApiResponse deleteTag(Long id, UserPrincipal currentUser) {
 		Tag tag = tagRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Tag", "id", id));
 		if (tag.getCreatedBy().equals(currentUser.getId()) || currentUser.getAuthorities()
 				.contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
+			List<Long> postIds = postRepository.findAllIdsByTagId(id);
+			if (!postIds.isEmpty()) {
+				postRepository.decrementTagCount(postIds);
+			}
 			tagRepository.deleteById(id);
 			return new ApiResponse(Boolean.TRUE, "You successfully deleted tag");
 		}
@@ -9,6 +9,7 @@ import com.sopromadze.blogapi.payload.ApiResponse;
 import com.sopromadze.blogapi.payload.PagedResponse;
 import com.sopromadze.blogapi.repository.TodoRepository;
 import com.sopromadze.blogapi.repository.UserRepository;
+import com.sopromadze.blogapi.repository.UserStatsRepository;
 import com.sopromadze.blogapi.security.UserPrincipal;
 import com.sopromadze.blogapi.service.TodoService;
 import com.sopromadze.blogapi.utils.AppConstants;
@@ -19,6 +20,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collections;
 import java.util.List;
@@ -36,6 +38,8 @@ public class TodoServiceImpl implements TodoService {
 
 	private final UserRepository userRepository;
 
+	private final UserStatsRepository userStatsRepository;
+
 	@Override
 	public Todo completeTodo(Long id, UserPrincipal currentUser) {
 		Todo todo = todoRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(TODO, ID, id));
@@ -80,10 +84,13 @@ public class TodoServiceImpl implements TodoService {
 	}
 
 	@Override
+	@Transactional
 	public Todo addTodo(Todo todo, UserPrincipal currentUser) {
 		User user = userRepository.getUser(currentUser);
 		todo.setUser(user);
-		return todoRepository.save(todo);
+		Todo newTodo = todoRepository.save(todo);
+		userStatsRepository.adjustTodoCount(currentUser.getId(), 1);
+		return newTodo;
 	}
 
 	@Override
@@ -116,11 +123,13 @@ public class TodoServiceImpl implements TodoService {
 	}
 
 	@Override
+	@Transactional
 	public ApiResponse deleteTodo(Long id, UserPrincipal currentUser) {
 		User user = userRepository.getUser(currentUser);
 		Todo todo = todoRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(TODO, ID, id));
 
 		if (todo.getUser().getId().equals(user.getId())) {
+			userStatsRepository.adjustTodoCount(todo.getCreatedBy(), -1);
 			todoRepository.deleteById(id);
 			return new ApiResponse(Boolean.TRUE, "You successfully deleted todo");
 		}
@@ -0,0 +1,182 @@
+package com.sopromadze.blogapi.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sopromadze.blogapi.exception.AccessDeniedException;
+import com.sopromadze.blogapi.model.role.RoleName;
+import com.sopromadze.blogapi.model.user.User;
+import com.sopromadze.blogapi.payload.ApiResponse;
+import com.sopromadze.blogapi.repository.UserRepository;
+import com.sopromadze.blogapi.security.UserPrincipal;
+import com.sopromadze.blogapi.service.UserExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+/**
+ * Streams a user's rows straight from a forward-only cursor to the output. The queries select plain
+ * columns, so no entity ever enters the persistence context and memory use does not grow with the
+ * number of rows. The queries are built here rather than in the repositories because their fetch size
+ * depends on the driver: {@code app.exportFetchSize} is Integer.MIN_VALUE on MySQL, where it makes
+ * Connector/J stream row by row, while other drivers such as H2 reject a negative fetch size.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserExportServiceImpl implements UserExportService {
+	private static final int FLUSH_EVERY = 500;
+
+	private static final String POST_QUERY = "select p.id, p.title, p.body, p.category.id, p.createdAt, p.updatedAt "
+			+ "from Post p where p.createdBy = :userId order by p.createdAt, p.id";
+
+	private static final String COMMENT_QUERY = "select c.id, c.post.id, c.name, c.body, c.createdAt, c.updatedAt "
+			+ "from Comment c where c.createdBy = :userId order by c.createdAt, c.id";
+
+	private static final String ALBUM_QUERY = "select a.id, a.title, a.createdAt, a.updatedAt "
+			+ "from Album a where a.createdBy = :userId order by a.createdAt, a.id";
+
+	private static final String PHOTO_QUERY = "select p.id, p.album.id, p.title, p.url, p.thumbnailUrl, p.createdAt, "
+			+ "p.updatedAt from Photo p where p.createdBy = :userId order by p.createdAt, p.id";
+
+	private static final String[] POST_COLUMNS = { "id", "title", "body", "categoryId", "createdAt", "updatedAt" };
+
+	private static final String[] COMMENT_COLUMNS = { "id", "postId", "name", "body", "createdAt", "updatedAt" };
+
+	private static final String[] ALBUM_COLUMNS = { "id", "title", "createdAt", "updatedAt" };
+
+	private static final String[] PHOTO_COLUMNS = { "id", "albumId", "title", "url", "thumbnailUrl", "createdAt",
+			"updatedAt" };
+
+	private final UserRepository userRepository;
+
+	private final EntityManager entityManager;
+
+	private final ObjectMapper objectMapper;
+
+	@Value("${app.exportFetchSize:500}")
+	private int fetchSize;
+
+	@Override
+	public Long authorizeExport(String username, UserPrincipal currentUser) {
+		User user = userRepository.getUserByName(username);
+		if (!user.getId().equals(currentUser.getId()) && !currentUser.getAuthorities()
+				.contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
+			throw new AccessDeniedException(new ApiResponse(Boolean.FALSE, "You don't have permission to export data of: " + username));
+		}
+		return user.getId();
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public void export(Long userId, ExportType type, ExportFormat format, OutputStream output) throws IOException {
+		try (Stream<Object[]> rows = rows(type, userId)) {
+			if (format == ExportFormat.CSV) {
+				writeCsv(columns(type), rows.iterator(), output);
+			} else {
+				writeNdjson(columns(type), rows.iterator(), output);
+			}
+		}
+	}
+
+	private Stream<Object[]> rows(ExportType type, Long userId) {
+		return entityManager.createQuery(query(type), Object[].class)
+				.setParameter("userId", userId)
+				.setHint(HINT_FETCH_SIZE, fetchSize)
+				.setHint(HINT_READONLY, true)
+				.getResultStream();
+	}
+
+	private static String query(ExportType type) {
+		switch (type) {
+			case COMMENTS:
+				return COMMENT_QUERY;
+			case ALBUMS:
+				return ALBUM_QUERY;
+			case PHOTOS:
+				return PHOTO_QUERY;
+			default:
+				return POST_QUERY;
+		}
+	}
+
+	private static String[] columns(ExportType type) {
+		switch (type) {
+			case COMMENTS:
+				return COMMENT_COLUMNS;
+			case ALBUMS:
+				return ALBUM_COLUMNS;
+			case PHOTOS:
+				return PHOTO_COLUMNS;
+			default:
+				return POST_COLUMNS;
+		}
+	}
+
+	private void writeNdjson(String[] columns, Iterator<Object[]> rows, OutputStream output) throws IOException {
+		JsonGenerator generator = objectMapper.getFactory().createGenerator(output);
+		generator.setRootValueSeparator(null);
+
+		long written = 0;
+		while (rows.hasNext()) {
+			Object[] row = rows.next();
+			generator.writeStartObject();
+			for (int i = 0; i < columns.length; i++) {
+				generator.writeObjectField(columns[i], row[i]);
+			}
+			generator.writeEndObject();
+			generator.writeRaw('\n');
+
+			if (++written % FLUSH_EVERY == 0) {
+				generator.flush();
+			}
+		}
+		generator.flush();
+	}
+
+	private static void writeCsv(String[] columns, Iterator<Object[]> rows, OutputStream output) throws IOException {
+		Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+		writeCsvLine(writer, columns);
+
+		long written = 0;
+		while (rows.hasNext()) {
+			writeCsvLine(writer, rows.next());
+
+			if (++written % FLUSH_EVERY == 0) {
+				writer.flush();
+			}
+		}
+		writer.flush();
+	}
+
+	private static void writeCsvLine(Writer writer, Object[] values) throws IOException {
+		for (int i = 0; i < values.length; i++) {
+			if (i > 0) {
+				writer.write(',');
+			}
+			if (values[i] != null) {
+				writer.write(csvField(values[i].toString()));
+			}
+		}
+		writer.write("\r\n");
+	}
+
+	private static String csvField(String value) {
+		boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0
+				|| value.indexOf('\r') >= 0;
+		return quote ? '"' + value.replace("\"", "\"\"") + '"' : value;
+	}
+}
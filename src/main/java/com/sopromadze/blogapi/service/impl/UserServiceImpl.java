@@ -1,7 +1,6 @@
 package com.sopromadze.blogapi.service.impl;
 
 import com.sopromadze.blogapi.exception.AccessDeniedException;
-import com.sopromadze.blogapi.exception.AppException;
 import com.sopromadze.blogapi.exception.BadRequestException;
 import com.sopromadze.blogapi.exception.ResourceNotFoundException;
 import com.sopromadze.blogapi.exception.UnauthorizedException;
@@ -11,15 +10,19 @@ import com.sopromadze.blogapi.model.user.Address;
 import com.sopromadze.blogapi.model.user.Company;
 import com.sopromadze.blogapi.model.user.Geo;
 import com.sopromadze.blogapi.model.user.User;
+import com.sopromadze.blogapi.model.user.UserStats;
 import com.sopromadze.blogapi.payload.ApiResponse;
 import com.sopromadze.blogapi.payload.InfoRequest;
 import com.sopromadze.blogapi.payload.UserIdentityAvailability;
 import com.sopromadze.blogapi.payload.UserProfile;
 import com.sopromadze.blogapi.payload.UserSummary;
+import com.sopromadze.blogapi.repository.CommentRepository;
 import com.sopromadze.blogapi.repository.PostRepository;
-import com.sopromadze.blogapi.repository.RoleRepository;
 import com.sopromadze.blogapi.repository.UserRepository;
+import com.sopromadze.blogapi.repository.UserStatsRepository;
+import com.sopromadze.blogapi.security.RoleRegistry;
 import com.sopromadze.blogapi.security.UserPrincipal;
+import com.sopromadze.blogapi.security.UserPrincipalCache;
 import com.sopromadze.blogapi.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -27,6 +30,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -39,10 +43,16 @@ public class UserServiceImpl implements UserService {
 
 	private final PostRepository postRepository;
 
-	private final RoleRepository roleRepository;
+	private final RoleRegistry roleRegistry;
 
 	private final PasswordEncoder passwordEncoder;
 
+	private final UserPrincipalCache userPrincipalCache;
+
+	private final UserStatsRepository userStatsRepository;
+
+	private final CommentRepository commentRepository;
+
 	@Override
 	public UserSummary getCurrentUser(UserPrincipal currentUser) {
 		return new UserSummary(currentUser.getId(), currentUser.getUsername(), currentUser.getFirstName(),
@@ -65,14 +75,11 @@ public class UserServiceImpl implements UserService {
 	public UserProfile getUserProfile(String username) {
 		User user = userRepository.getUserByName(username);
 
-		Long postCount = postRepository.countByCreatedBy(user.getId());
-
-		return new UserProfile(user.getId(), user.getUsername(), user.getFirstName(), user.getLastName(),
-				user.getCreatedAt(), user.getEmail(), user.getAddress(), user.getPhone(), user.getWebsite(),
-				user.getCompany(), postCount);
+		return toUserProfile(user);
 	}
 
 	@Override
+	@Transactional
 	public User addUser(User user) {
 		if (userRepository.existsByUsername(user.getUsername())) {
 			ApiResponse apiResponse = new ApiResponse(Boolean.FALSE, "Username is already taken");
@@ -85,12 +92,13 @@ public class UserServiceImpl implements UserService {
 		}
 
 		List<Role> roles = new ArrayList<>();
-		roles.add(
-				roleRepository.findByName(RoleName.ROLE_USER).orElseThrow(() -> new AppException("User role not set")));
+		roles.add(roleRegistry.get(RoleName.ROLE_USER));
 		user.setRoles(roles);
 
 		user.setPassword(passwordEncoder.encode(user.getPassword()));
-		return userRepository.save(user);
+		User newUser = userRepository.save(user);
+		userStatsRepository.save(new UserStats(newUser.getId()));
+		return newUser;
 	}
 
 	@Override
@@ -106,7 +114,9 @@ public class UserServiceImpl implements UserService {
 			user.setWebsite(newUser.getWebsite());
 			user.setCompany(newUser.getCompany());
 
-			return userRepository.save(user);
+			User updatedUser = userRepository.save(user);
+			userPrincipalCache.invalidate(updatedUser.getId());
+			return updatedUser;
 
 		}
 
@@ -116,6 +126,7 @@ public class UserServiceImpl implements UserService {
 	}
 
 	@Override
+	@Transactional
 	public ApiResponse deleteUser(String username, UserPrincipal currentUser) {
 		User user = userRepository.findByUsername(username)
 				.orElseThrow(() -> new ResourceNotFoundException("User", "id", username));
@@ -125,7 +136,14 @@ public class UserServiceImpl implements UserService {
 			throw new AccessDeniedException(apiResponse);
 		}
 
+		// comments cascade with the user and their posts, so fix the counters of the other side first
+		userStatsRepository.subtractCommentCounts(commentRepository.countGroupByCreatedByForPostsOfUser(user.getId()));
+		for (Object[] row : commentRepository.countGroupByPostForUser(user.getId())) {
+			postRepository.adjustCommentCount((Long) row[0], -((Long) row[1]).intValue());
+		}
+
 		userRepository.deleteById(user.getId());
+		userPrincipalCache.invalidate(user.getId());
 
 		return new ApiResponse(Boolean.TRUE, "You successfully deleted profile of: " + username);
 	}
@@ -134,12 +152,11 @@ public class UserServiceImpl implements UserService {
 	public ApiResponse giveAdmin(String username) {
 		User user = userRepository.getUserByName(username);
 		List<Role> roles = new ArrayList<>();
-		roles.add(roleRepository.findByName(RoleName.ROLE_ADMIN)
-				.orElseThrow(() -> new AppException("User role not set")));
-		roles.add(
-				roleRepository.findByName(RoleName.ROLE_USER).orElseThrow(() -> new AppException("User role not set")));
+		roles.add(roleRegistry.get(RoleName.ROLE_ADMIN));
+		roles.add(roleRegistry.get(RoleName.ROLE_USER));
 		user.setRoles(roles);
 		userRepository.save(user);
+		userPrincipalCache.invalidate(user.getId());
 		return new ApiResponse(Boolean.TRUE, "You gave ADMIN role to user: " + username);
 	}
 
@@ -147,10 +164,10 @@ public class UserServiceImpl implements UserService {
 	public ApiResponse removeAdmin(String username) {
 		User user = userRepository.getUserByName(username);
 		List<Role> roles = new ArrayList<>();
-		roles.add(
-				roleRepository.findByName(RoleName.ROLE_USER).orElseThrow(() -> new AppException("User role not set")));
+		roles.add(roleRegistry.get(RoleName.ROLE_USER));
 		user.setRoles(roles);
 		userRepository.save(user);
+		userPrincipalCache.invalidate(user.getId());
 		return new ApiResponse(Boolean.TRUE, "You took ADMIN role from user: " + username);
 	}
 
@@ -169,16 +186,24 @@ public class UserServiceImpl implements UserService {
 			user.setWebsite(infoRequest.getWebsite());
 			user.setPhone(infoRequest.getPhone());
 			User updatedUser = userRepository.save(user);
+			userPrincipalCache.invalidate(updatedUser.getId());
 
-			Long postCount = postRepository.countByCreatedBy(updatedUser.getId());
-
-			return new UserProfile(updatedUser.getId(), updatedUser.getUsername(),
-					updatedUser.getFirstName(), updatedUser.getLastName(), updatedUser.getCreatedAt(),
-					updatedUser.getEmail(), updatedUser.getAddress(), updatedUser.getPhone(), updatedUser.getWebsite(),
-					updatedUser.getCompany(), postCount);
+			return toUserProfile(updatedUser);
 		}
 
 		ApiResponse apiResponse = new ApiResponse(Boolean.FALSE, "You don't have permission to update users profile", HttpStatus.FORBIDDEN);
 		throw new AccessDeniedException(apiResponse);
 	}
+
+	/**
+	 * Reads the counters with one primary key lookup on user_stats rather than counting rows.
+	 */
+	private UserProfile toUserProfile(User user) {
+		UserStats stats = userStatsRepository.findById(user.getId()).orElseGet(() -> new UserStats(user.getId()));
+
+		return new UserProfile(user.getId(), user.getUsername(), user.getFirstName(), user.getLastName(),
+				user.getCreatedAt(), user.getEmail(), user.getAddress(), user.getPhone(), user.getWebsite(),
+				user.getCompany(), stats.getPostCount(), stats.getCommentCount(), stats.getAlbumCount(),
+				stats.getPhotoCount(), stats.getTodoCount());
+	}
 }
@@ -0,0 +1,44 @@
+package com.sopromadze.blogapi.service.impl;
+
+import com.sopromadze.blogapi.model.JobLock;
+import com.sopromadze.blogapi.repository.UserStatsRepository;
+import com.sopromadze.blogapi.service.JobLockService;
+import com.sopromadze.blogapi.service.UserStatsService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Creates missing user_stats rows. Signup and user creation insert one, but a user added any other way,
+ * such as directly in the database, would otherwise keep zero counts because writes only adjust
+ * existing rows. The repair scans every user, so it runs rarely and on one instance at a time.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserStatsServiceImpl implements UserStatsService {
+	private static final Logger LOGGER = LoggerFactory.getLogger(UserStatsServiceImpl.class);
+
+	private final UserStatsRepository userStatsRepository;
+
+	private final JobLockService jobLockService;
+
+	@Value("${app.userStatsRepairInMs:86400000}")
+	private long repairInMs;
+
+	@Override
+	@Scheduled(fixedDelayString = "${app.userStatsRepairInMs:86400000}",
+			initialDelayString = "${app.userStatsRepairInMs:86400000}")
+	public int createMissing() {
+		if (!jobLockService.tryLock(JobLock.USER_STATS, repairInMs)) {
+			return 0;
+		}
+		int created = userStatsRepository.insertMissing();
+		if (created > 0) {
+			LOGGER.warn("Created user_stats rows for {} users that had none", created);
+		}
+		return created;
+	}
+}
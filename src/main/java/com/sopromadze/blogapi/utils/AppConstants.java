@@ -27,5 +27,7 @@ public class AppConstants {
 
 	public static final String TODO = "ToDo";
 
+	public static final String REFERENCE_QUERY_REGION = "reference-queries";
+
 	public static final String YOU_DON_T_HAVE_PERMISSION_TO_MAKE_THIS_OPERATION = "You don't have permission to make this operation";
 }
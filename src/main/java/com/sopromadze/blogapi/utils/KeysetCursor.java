@@ -0,0 +1,109 @@
+package com.sopromadze.blogapi.utils;
+
+import com.sopromadze.blogapi.exception.BadRequestException;
+import com.sopromadze.blogapi.model.audit.UserDateAudit;
+import com.sopromadze.blogapi.payload.ApiResponse;
+import com.sopromadze.blogapi.payload.CursorPagedResponse;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Opaque position of a row in a listing ordered by {@code createdAt desc, id desc}. The next page
+ * is read with a seek predicate on that pair instead of an OFFSET.
+ */
+public final class KeysetCursor {
+
+	private static final String SEPARATOR = "|";
+
+	private final Instant createdAt;
+
+	private final Long id;
+
+	private KeysetCursor(Instant createdAt, Long id) {
+		this.createdAt = createdAt;
+		this.id = id;
+	}
+
+	public Instant getCreatedAt() {
+		return createdAt;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	/**
+	 * Decodes an {@code after} request parameter. An empty value asks for the first page and
+	 * yields {@code null}.
+	 */
+	public static KeysetCursor decode(String cursor) {
+		if (cursor == null || cursor.isEmpty()) {
+			return null;
+		}
+
+		try {
+			String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			int separator = decoded.indexOf(SEPARATOR);
+			if (separator < 0) {
+				throw invalidCursor();
+			}
+			return new KeysetCursor(Instant.parse(decoded.substring(0, separator)),
+					Long.valueOf(decoded.substring(separator + 1)));
+		} catch (IllegalArgumentException | DateTimeParseException ex) {
+			throw invalidCursor();
+		}
+	}
+
+	public static String encode(Instant createdAt, Long id) {
+		String cursor = createdAt.toString() + SEPARATOR + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * One row more than the page size is fetched so the last page can be told apart without a count.
+	 * An empty page has no last row to continue from, so the size must be at least one.
+	 */
+	public static Pageable pageable(int size) {
+		if (size < 1) {
+			throw new BadRequestException(new ApiResponse(Boolean.FALSE, "Page size must be at least one"));
+		}
+		AppUtils.validatePageNumberAndSize(0, size);
+		return PageRequest.of(0, size + 1);
+	}
+
+	public static <E extends UserDateAudit, T> CursorPagedResponse<T> toResponse(List<E> rows, int size,
+			Function<E, Long> idExtractor, Function<E, T> mapper) {
+		return toResponse(rows, size, row -> row.getCreatedAt(), idExtractor, mapper);
+	}
+
+	public static <E, T> CursorPagedResponse<T> toResponse(List<E> rows, int size,
+			Function<E, Instant> createdAtExtractor, Function<E, Long> idExtractor, Function<E, T> mapper) {
+		boolean last = rows.size() <= size;
+		List<E> page = last ? rows : rows.subList(0, size);
+
+		List<T> content = new ArrayList<>(page.size());
+		for (E row : page) {
+			content.add(mapper.apply(row));
+		}
+
+		String nextCursor = null;
+		if (!last) {
+			E lastRow = page.get(page.size() - 1);
+			nextCursor = encode(createdAtExtractor.apply(lastRow), idExtractor.apply(lastRow));
+		}
+
+		return new CursorPagedResponse<>(content, size, nextCursor, last);
+	}
+
+	private static BadRequestException invalidCursor() {
+		return new BadRequestException(new ApiResponse(Boolean.FALSE, "Invalid pagination cursor"));
+	}
+}
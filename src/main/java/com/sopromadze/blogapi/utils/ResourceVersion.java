@@ -0,0 +1,70 @@
+package com.sopromadze.blogapi.utils;
+
+import java.time.Instant;
+
+/**
+ * Validators for a conditional GET, read with a timestamp-only query before the representation is
+ * loaded. Last-Modified is only sent when the body depends on nothing but the row's own
+ * {@code updatedAt}; representations that embed other rows are validated by their ETag alone.
+ * <p>
+ * ETags are weak: {@code updated_at} has one-second resolution, so two writes within the same second
+ * can leave the validator unchanged, which a strong ETag must never allow.
+ */
+public final class ResourceVersion {
+
+	private static final String SEPARATOR = "-";
+
+	private final String eTag;
+
+	private final long lastModified;
+
+	private ResourceVersion(String eTag, long lastModified) {
+		this.eTag = eTag;
+		this.lastModified = lastModified;
+	}
+
+	public String getETag() {
+		return eTag;
+	}
+
+	/**
+	 * Epoch millis of the last change, or -1 when there is no meaningful Last-Modified.
+	 */
+	public long getLastModified() {
+		return lastModified;
+	}
+
+	public static ResourceVersion of(String type, Long id, Instant updatedAt) {
+		return new ResourceVersion(eTag(type, id, updatedAt), updatedAt.toEpochMilli());
+	}
+
+	public static ResourceVersion derived(String type, Object... parts) {
+		return new ResourceVersion(eTag(type, parts), -1);
+	}
+
+	/**
+	 * Nested arrays, such as a row returned by a version query, are flattened.
+	 */
+	private static String eTag(String type, Object... parts) {
+		StringBuilder builder = new StringBuilder("W/\"").append(type.toLowerCase());
+		appendParts(builder, parts);
+		return builder.append('"').toString();
+	}
+
+	private static void appendParts(StringBuilder builder, Object[] parts) {
+		for (Object part : parts) {
+			if (part instanceof Object[]) {
+				appendParts(builder, (Object[]) part);
+				continue;
+			}
+			builder.append(SEPARATOR);
+			if (part == null) {
+				builder.append(0);
+			} else if (part instanceof Instant) {
+				builder.append(((Instant) part).toEpochMilli());
+			} else {
+				builder.append(part);
+			}
+		}
+	}
+}
@@ -0,0 +1,80 @@
+package com.sopromadze.blogapi.utils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Running totals of the JDBC statements the current thread executed, the rows they read or
+ * changed and the time spent waiting on them. Totals are never reset; callers take a
+ * {@link #snapshot()} before the work they want to measure and diff against it afterwards.
+ */
+public final class SqlStatistics {
+
+	private static final ThreadLocal<SqlStatistics> CURRENT = ThreadLocal.withInitial(SqlStatistics::new);
+
+	private long statements;
+
+	private long rows;
+
+	private long jdbcNanos;
+
+	private long executionStartedAt;
+
+	private SqlStatistics() {
+	}
+
+	public static SqlStatistics current() {
+		return CURRENT.get();
+	}
+
+	public void executionStarted() {
+		executionStartedAt = System.nanoTime();
+	}
+
+	public void executionFinished(long affectedRows) {
+		statements++;
+		rows += affectedRows;
+		jdbcNanos += System.nanoTime() - executionStartedAt;
+	}
+
+	public void rowRead() {
+		rows++;
+	}
+
+	public Snapshot snapshot() {
+		return new Snapshot(statements, rows, jdbcNanos);
+	}
+
+	public static final class Snapshot {
+
+		private final long statements;
+
+		private final long rows;
+
+		private final long jdbcNanos;
+
+		private Snapshot(long statements, long rows, long jdbcNanos) {
+			this.statements = statements;
+			this.rows = rows;
+			this.jdbcNanos = jdbcNanos;
+		}
+
+		public long getStatements() {
+			return statements;
+		}
+
+		public long getRows() {
+			return rows;
+		}
+
+		public long getJdbcMillis() {
+			return TimeUnit.NANOSECONDS.toMillis(jdbcNanos);
+		}
+
+		/**
+		 * What the thread executed since {@code earlier} was taken.
+		 */
+		public Snapshot since(Snapshot earlier) {
+			return new Snapshot(statements - earlier.statements, rows - earlier.rows, jdbcNanos - earlier.jdbcNanos);
+		}
+	}
+}
@@ -0,0 +1,12 @@
+-- Leases for scheduled jobs, so only one instance runs each job per interval. Rows are seeded here
+-- with an expired lease and taken with a conditional update.
+
+CREATE TABLE job_locks (
+  name         VARCHAR(64)  NOT NULL,
+  locked_until TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  locked_by    VARCHAR(255),
+  PRIMARY KEY (name)
+);
+
+INSERT INTO job_locks (name, locked_until) VALUES ('POST_COUNTERS', '2000-01-01 00:00:00');
+INSERT INTO job_locks (name, locked_until) VALUES ('USER_STATS', '2000-01-01 00:00:00');
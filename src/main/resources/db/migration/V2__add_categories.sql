@@ -0,0 +1,18 @@
+-- Post.category is mapped to posts.category_id, which blogapi.sql never created.
+
+CREATE TABLE categories (
+  id BIGINT UNSIGNED NOT NULL AUTO_INCREMENT,
+  name VARCHAR(255),
+  created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  created_by BIGINT UNSIGNED DEFAULT NULL,
+  updated_by BIGINT UNSIGNED DEFAULT NULL,
+  PRIMARY KEY (id)
+);
+
+ALTER TABLE posts ADD COLUMN category_id BIGINT UNSIGNED DEFAULT NULL;
+
+-- Created ahead of the foreign key so both MySQL and H2 reuse it instead of adding a single-column index.
+CREATE INDEX idx_posts_category_created_at ON posts (category_id, created_at, id);
+
+ALTER TABLE posts ADD CONSTRAINT fk_post_category FOREIGN KEY (category_id) REFERENCES categories (id);
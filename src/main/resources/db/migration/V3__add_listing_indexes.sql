@@ -0,0 +1,23 @@
+-- Every listing is ordered by created_at desc; the trailing id keeps the order stable for keyset paging.
+
+CREATE INDEX idx_posts_created_at ON posts (created_at, id);
+CREATE INDEX idx_posts_created_by_created_at ON posts (created_by, created_at, id);
+
+CREATE INDEX idx_albums_created_at ON albums (created_at, id);
+CREATE INDEX idx_albums_created_by_created_at ON albums (created_by, created_at, id);
+
+CREATE INDEX idx_todos_created_by_created_at ON todos (created_by, created_at, id);
+
+CREATE INDEX idx_photos_created_at ON photos (created_at, id);
+CREATE INDEX idx_photos_album_created_at ON photos (album_id, created_at, id);
+
+CREATE INDEX idx_comments_post_created_at ON comments (post_id, created_at, id);
+
+-- Drop duplicate links before the unique key goes on; the derived table keeps MySQL from rejecting
+-- a subquery on the table being deleted from.
+DELETE FROM post_tag WHERE id NOT IN (
+  SELECT keep_id FROM (SELECT MIN(id) AS keep_id FROM post_tag GROUP BY post_id, tag_id) kept
+);
+
+ALTER TABLE post_tag ADD CONSTRAINT uk_post_tag_post_tag UNIQUE (post_id, tag_id);
+CREATE INDEX idx_post_tag_tag_post ON post_tag (tag_id, post_id);
@@ -0,0 +1,20 @@
+-- Backs the pooled-lo table generator declared in com.sopromadze.blogapi.model. Each row holds the first id
+-- of the next block for one table, so it starts right after the highest id already in use.
+
+CREATE TABLE id_sequences (
+  sequence_name VARCHAR(255) NOT NULL,
+  next_val BIGINT,
+  PRIMARY KEY (sequence_name)
+);
+
+INSERT INTO id_sequences (sequence_name, next_val) SELECT 'address', COALESCE(MAX(id), 0) + 1 FROM address;
+INSERT INTO id_sequences (sequence_name, next_val) SELECT 'albums', COALESCE(MAX(id), 0) + 1 FROM albums;
+INSERT INTO id_sequences (sequence_name, next_val) SELECT 'categories', COALESCE(MAX(id), 0) + 1 FROM categories;
+INSERT INTO id_sequences (sequence_name, next_val) SELECT 'comments', COALESCE(MAX(id), 0) + 1 FROM comments;
+INSERT INTO id_sequences (sequence_name, next_val) SELECT 'company', COALESCE(MAX(id), 0) + 1 FROM company;
+INSERT INTO id_sequences (sequence_name, next_val) SELECT 'geo', COALESCE(MAX(id), 0) + 1 FROM geo;
+INSERT INTO id_sequences (sequence_name, next_val) SELECT 'photos', COALESCE(MAX(id), 0) + 1 FROM photos;
+INSERT INTO id_sequences (sequence_name, next_val) SELECT 'posts', COALESCE(MAX(id), 0) + 1 FROM posts;
+INSERT INTO id_sequences (sequence_name, next_val) SELECT 'tags', COALESCE(MAX(id), 0) + 1 FROM tags;
+INSERT INTO id_sequences (sequence_name, next_val) SELECT 'todos', COALESCE(MAX(id), 0) + 1 FROM todos;
+INSERT INTO id_sequences (sequence_name, next_val) SELECT 'users', COALESCE(MAX(id), 0) + 1 FROM users;
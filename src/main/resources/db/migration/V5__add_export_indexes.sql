@@ -0,0 +1,4 @@
+-- User exports read comments and photos by created_by in created_at order.
+
+CREATE INDEX idx_comments_created_by_created_at ON comments (created_by, created_at, id);
+CREATE INDEX idx_photos_created_by_created_at ON photos (created_by, created_at, id);
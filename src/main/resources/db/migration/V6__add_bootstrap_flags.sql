@@ -0,0 +1,10 @@
+-- One-shot flags replacing row counts on hot paths. FIRST_ADMIN is already consumed on databases
+-- that have users, so only the first signup on an empty install is granted ROLE_ADMIN.
+
+CREATE TABLE bootstrap_flags (
+  name     VARCHAR(64) NOT NULL,
+  consumed BOOLEAN     NOT NULL,
+  PRIMARY KEY (name)
+);
+
+INSERT INTO bootstrap_flags (name, consumed) SELECT 'FIRST_ADMIN', COUNT(*) > 0 FROM users;
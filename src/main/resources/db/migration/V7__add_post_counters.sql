@@ -0,0 +1,8 @@
+-- Comment and tag counts kept on posts so listings do not count per post. The application adjusts
+-- them with relative updates on write; existing rows are backfilled here.
+
+ALTER TABLE posts ADD COLUMN comment_count INT NOT NULL DEFAULT 0;
+ALTER TABLE posts ADD COLUMN tag_count INT NOT NULL DEFAULT 0;
+
+UPDATE posts SET comment_count = (SELECT COUNT(*) FROM comments c WHERE c.post_id = posts.id);
+UPDATE posts SET tag_count = (SELECT COUNT(*) FROM post_tag pt WHERE pt.post_id = posts.id);
@@ -0,0 +1,22 @@
+-- Per-user activity counts read by profile views instead of counting rows per request. The
+-- application keeps them current with relative updates on write; existing users are backfilled here.
+
+CREATE TABLE user_stats (
+  user_id       BIGINT UNSIGNED NOT NULL,
+  post_count    BIGINT NOT NULL DEFAULT 0,
+  comment_count BIGINT NOT NULL DEFAULT 0,
+  album_count   BIGINT NOT NULL DEFAULT 0,
+  photo_count   BIGINT NOT NULL DEFAULT 0,
+  todo_count    BIGINT NOT NULL DEFAULT 0,
+  PRIMARY KEY (user_id),
+  CONSTRAINT fk_user_stats_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
+
+INSERT INTO user_stats (user_id, post_count, comment_count, album_count, photo_count, todo_count)
+SELECT u.id,
+  (SELECT COUNT(*) FROM posts p WHERE p.created_by = u.id),
+  (SELECT COUNT(*) FROM comments c WHERE c.created_by = u.id),
+  (SELECT COUNT(*) FROM albums a WHERE a.created_by = u.id),
+  (SELECT COUNT(*) FROM photos ph WHERE ph.created_by = u.id),
+  (SELECT COUNT(*) FROM todos t WHERE t.created_by = u.id)
+FROM users u;
@@ -0,0 +1,40 @@
+-- Tag creation relies on uk_tags_name to detect a concurrent insert of the same name. Databases built
+-- from blogapi.sql never had it, so duplicate names are merged into the lowest id before it goes on.
+
+CREATE TABLE tag_merge (
+  old_id  BIGINT UNSIGNED NOT NULL,
+  keep_id BIGINT UNSIGNED NOT NULL,
+  PRIMARY KEY (old_id)
+);
+
+INSERT INTO tag_merge (old_id, keep_id)
+SELECT t.id, k.keep_id FROM tags t
+JOIN (SELECT name, MIN(id) AS keep_id FROM tags GROUP BY name) k ON k.name = t.name
+WHERE t.id <> k.keep_id;
+
+-- A post linked to several copies of a tag keeps only its oldest link. DISTINCT keeps MySQL from merging
+-- the derived table back into the delete, which would reject the subquery on post_tag.
+DELETE FROM post_tag WHERE id IN (
+  SELECT id FROM (
+    SELECT DISTINCT pt.id FROM post_tag pt
+    LEFT JOIN tag_merge m ON m.old_id = pt.tag_id
+    WHERE EXISTS (
+      SELECT 1 FROM post_tag other
+      LEFT JOIN tag_merge om ON om.old_id = other.tag_id
+      WHERE other.post_id = pt.post_id
+        AND COALESCE(om.keep_id, other.tag_id) = COALESCE(m.keep_id, pt.tag_id)
+        AND other.id < pt.id
+    )
+  ) merged
+);
+
+UPDATE post_tag SET tag_id = (SELECT m.keep_id FROM tag_merge m WHERE m.old_id = post_tag.tag_id)
+WHERE tag_id IN (SELECT old_id FROM tag_merge);
+
+DELETE FROM tags WHERE id IN (SELECT old_id FROM tag_merge);
+
+UPDATE posts SET tag_count = (SELECT COUNT(*) FROM post_tag pt WHERE pt.post_id = posts.id);
+
+DROP TABLE tag_merge;
+
+ALTER TABLE tags ADD CONSTRAINT uk_tags_name UNIQUE (name);
@@ -0,0 +1,21 @@
+package com.sopromadze.blogapi;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fails the test when its method body runs more SQL statements than {@link #value()} on the test thread,
+ * which is also the thread MockMvc serves the request on. Fixtures set up in {@code @BeforeEach} are not
+ * counted. Only meaningful for tests that reach a real data source.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(SqlStatementBudgetExtension.class)
+public @interface SqlStatementBudget {
+
+    int value();
+}
@@ -0,0 +1,36 @@
+package com.sopromadze.blogapi;
+
+import com.sopromadze.blogapi.utils.SqlStatistics;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.opentest4j.AssertionFailedError;
+
+public class SqlStatementBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(SqlStatementBudgetExtension.class);
+
+    private static final String START = "start";
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        context.getStore(NAMESPACE).put(START, SqlStatistics.current().snapshot());
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        SqlStatistics.Snapshot start = context.getStore(NAMESPACE).remove(START, SqlStatistics.Snapshot.class);
+        SqlStatementBudget budget = context.getRequiredTestMethod().getAnnotation(SqlStatementBudget.class);
+        if (start == null || budget == null || context.getExecutionException().isPresent()) {
+            return;
+        }
+
+        SqlStatistics.Snapshot used = SqlStatistics.current().snapshot().since(start);
+        if (used.getStatements() > budget.value()) {
+            throw new AssertionFailedError("Expected at most " + budget.value() + " SQL statements but "
+                    + used.getStatements() + " were executed (" + used.getRows() + " rows)",
+                    budget.value(), used.getStatements());
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.sopromadze.blogapi.config;
+
+import com.sopromadze.blogapi.exception.ResourceNotFoundException;
+import com.sopromadze.blogapi.model.Tag;
+import com.sopromadze.blogapi.repository.PostRepository;
+import com.sopromadze.blogapi.repository.TagRepository;
+import com.sopromadze.blogapi.service.impl.TagServiceImpl;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ServiceMetricsAspectTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final TagRepository tagRepository = mock(TagRepository.class);
+
+    private TagServiceImpl tagService;
+
+    @BeforeEach
+    void setUp() {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new TagServiceImpl(tagRepository,
+                mock(PostRepository.class)));
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new ServiceMetricsAspect(meterRegistry));
+        tagService = proxyFactory.getProxy();
+    }
+
+    @Test
+    void serviceCall_shouldBeTimedByClassAndMethod() {
+        Tag tag = new Tag("java");
+        tag.setId(1L);
+        when(tagRepository.findById(1L)).thenReturn(Optional.of(tag));
+
+        tagService.getTag(1L);
+
+        Timer timer = meterRegistry.find("blogapi.service.invocations")
+                .tags("class", "TagServiceImpl", "method", "getTag", "exception", "none")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void failingServiceCall_shouldBeTaggedWithException() {
+        when(tagRepository.findById(2L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> tagService.getTag(2L));
+
+        assertNotNull(meterRegistry.find("blogapi.service.invocations")
+                .tags("method", "getTag", "exception", "ResourceNotFoundException")
+                .timer());
+    }
+}
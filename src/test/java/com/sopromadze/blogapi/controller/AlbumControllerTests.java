@@ -12,6 +12,7 @@ import com.sopromadze.blogapi.payload.request.AlbumRequest;
 import com.sopromadze.blogapi.security.UserPrincipal;
 import com.sopromadze.blogapi.service.impl.AlbumServiceImpl;
 import com.sopromadze.blogapi.service.impl.PhotoServiceImpl;
+import com.sopromadze.blogapi.utils.ResourceVersion;
 import lombok.extern.java.Log;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -29,6 +30,8 @@ import java.time.Instant;
 import java.util.List;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -138,14 +141,28 @@ public class AlbumControllerTests {
 
         ResponseEntity <Album> rp = new ResponseEntity(album, HttpStatus.OK);
 
+        when(albumService.getAlbumVersion(1L)).thenReturn(ResourceVersion.derived("Album", 1L, 2L));
         when(albumService.getAlbum(1L)).thenReturn(rp);
 
         mockMvc.perform(get("/api/albums/{id}", 1)
                         .contentType("application/json").content(objectMapper.writeValueAsString(rp)))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"album-1-2\""))
+                .andExpect(header().doesNotExist("Last-Modified"))
                 .andReturn();
     }
 
+    @Test
+    void getAlbum_givenMatchingETag_thenReturnNotModified() throws Exception {
+        when(albumService.getAlbumVersion(1L)).thenReturn(ResourceVersion.derived("Album", 1L, 2L));
+
+        mockMvc.perform(get("/api/albums/{id}", 1).header("If-None-Match", "W/\"album-1-2\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(albumService, never()).getAlbum(1L);
+    }
+
     @Test
     @WithUserDetails("user")
     void updateAlbum_givenAlbumRequest_ReturnOk() throws Exception {
@@ -198,6 +215,7 @@ public class AlbumControllerTests {
 
         PagedResponse<PhotoResponse> p = new PagedResponse<>();
         p.setContent(List.of(p1));
+        when(photoService.getAllPhotosByAlbumVersion(1L)).thenReturn(ResourceVersion.derived("AlbumPhoto", 1L, 1L));
         when(photoService.getAllPhotosByAlbum(1L, 0, 10)).thenReturn(p);
 
         mockMvc.perform(get("/api/albums/{id}/photos?page={page}&size={size}", 1, 0,10)
@@ -0,0 +1,116 @@
+package com.sopromadze.blogapi.controller;
+
+import com.sopromadze.blogapi.SqlStatementBudget;
+import com.sopromadze.blogapi.model.Album;
+import com.sopromadze.blogapi.model.Photo;
+import com.sopromadze.blogapi.model.Post;
+import com.sopromadze.blogapi.model.Tag;
+import com.sopromadze.blogapi.repository.AlbumRepository;
+import com.sopromadze.blogapi.repository.PhotoRepository;
+import com.sopromadze.blogapi.repository.PostRepository;
+import com.sopromadze.blogapi.repository.TagRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the listings through the real services and repositories against H2, so the statement budgets
+ * fail when a listing starts issuing a query per row.
+ */
+@SpringBootTest(properties = { "app.jwtSecret=secret", "app.jwtExpirationInMs=3600000",
+        "app.sqlStatisticsEnabled=true" })
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ListingSqlBudgetTest {
+
+    private static final int ROWS = 5;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    PostRepository postRepository;
+
+    @Autowired
+    TagRepository tagRepository;
+
+    @Autowired
+    AlbumRepository albumRepository;
+
+    @Autowired
+    PhotoRepository photoRepository;
+
+    @BeforeEach
+    void setUp() {
+        List<Tag> tags = tagRepository.saveAll(List.of(tag("java"), tag("spring")));
+        for (int i = 1; i <= ROWS; i++) {
+            Post post = new Post();
+            post.setTitle("Post " + i);
+            post.setBody("Body " + i);
+            post.setTags(tags);
+            post.setTagCount(tags.size());
+            postRepository.save(post);
+        }
+
+        Album album = new Album();
+        album.setTitle("Album");
+        album = albumRepository.save(album);
+        for (int i = 1; i <= ROWS; i++) {
+            photoRepository.save(new Photo("Photo " + i, "https://example.com/" + i,
+                    "https://example.com/thumb/" + i, album));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        photoRepository.deleteAll();
+        albumRepository.deleteAll();
+        postRepository.deleteAll();
+        tagRepository.deleteAll();
+    }
+
+    @Test
+    @SqlStatementBudget(3)
+    void getAllPosts_givenTaggedPosts_shouldStayWithinBudget() throws Exception {
+        mockMvc.perform(get("/api/posts"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(ROWS)))
+                .andExpect(jsonPath("$.content[0].tags", hasSize(2)));
+    }
+
+    @Test
+    @SqlStatementBudget(2)
+    void getAllPosts_givenCursor_shouldStayWithinBudget() throws Exception {
+        mockMvc.perform(get("/api/posts").param("after", ""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(ROWS)));
+    }
+
+    @Test
+    @SqlStatementBudget(2)
+    void getAllPhotos_givenPhotos_shouldStayWithinBudget() throws Exception {
+        mockMvc.perform(get("/api/photos"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(ROWS)));
+    }
+
+    private static Tag tag(String name) {
+        Tag tag = new Tag(name);
+        tag.setCreatedBy(1L);
+        tag.setUpdatedBy(1L);
+        return tag;
+    }
+}
@@ -9,8 +9,10 @@ import com.sopromadze.blogapi.payload.ApiResponse;
 import com.sopromadze.blogapi.payload.PagedResponse;
 import com.sopromadze.blogapi.payload.PhotoRequest;
 import com.sopromadze.blogapi.payload.PhotoResponse;
+import com.sopromadze.blogapi.payload.TotalMode;
 import com.sopromadze.blogapi.security.UserPrincipal;
 import com.sopromadze.blogapi.service.impl.PhotoServiceImpl;
+import com.sopromadze.blogapi.utils.ResourceVersion;
 import lombok.extern.java.Log;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -33,6 +35,8 @@ import java.util.List;
 import static com.sopromadze.blogapi.utils.AppConstants.CREATED_AT;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -65,6 +69,7 @@ public class PhotoControllerTests {
 
         PhotoResponse pr = new PhotoResponse(1L, "titulo", "url", "thumbnailUrl", 1L);
 
+        when(photoService.getPhotoVersion(1L)).thenReturn(ResourceVersion.of("Photo", 1L, Instant.ofEpochSecond(1)));
         when(photoService.getPhoto(1L)).thenReturn(pr);
 
         MvcResult result1 = mockMvc.perform(get("/api/photos/{id}", 1))
@@ -73,10 +78,23 @@ public class PhotoControllerTests {
                 .andExpect(jsonPath("$.title", is("titulo")))
                 .andExpect(jsonPath("$.albumId", is(1)))
                 .andExpect(content().json(objectMapper.writeValueAsString(pr)))
+                .andExpect(header().string("ETag", "W/\"photo-1-1000\""))
+                .andExpect(header().dateValue("Last-Modified", 1000))
                 .andReturn();
 
     }
 
+    @Test
+    void getPhoto_givenUnchangedSince_thenReturnNotModified() throws Exception {
+        when(photoService.getPhotoVersion(1L)).thenReturn(ResourceVersion.of("Photo", 1L, Instant.ofEpochSecond(1)));
+
+        mockMvc.perform(get("/api/photos/{id}", 1).header("If-Modified-Since", "Thu, 01 Jan 1970 00:00:01 GMT"))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(photoService, never()).getPhoto(1L);
+    }
+
     @Test
     void getAllPhotos_thenReturnPagedResponse_test () throws Exception {
         Photo photo = new Photo();
@@ -100,7 +118,7 @@ public class PhotoControllerTests {
         paged.setTotalElements(1);
 
 
-        when(photoService.getAllPhotos(0,10)).thenReturn(paged);
+        when(photoService.getAllPhotos(0,10, TotalMode.EXACT)).thenReturn(paged);
 
         mockMvc.perform(get("/api/photos?page={page}&size={size}", 0, 10)
                         .contentType("application/json").content(objectMapper.writeValueAsString(paged))
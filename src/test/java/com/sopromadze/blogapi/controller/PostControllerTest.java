@@ -11,6 +11,7 @@ import com.sopromadze.blogapi.model.user.User;
 import com.sopromadze.blogapi.security.UserPrincipal;
 import com.sopromadze.blogapi.service.impl.PostServiceImpl;
 import com.sopromadze.blogapi.service.impl.UserServiceImpl;
+import com.sopromadze.blogapi.utils.ResourceVersion;
 import lombok.extern.java.Log;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -30,6 +31,8 @@ import java.util.List;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -54,8 +57,8 @@ class PostControllerTest {
     void givenACategory_thenReturnPosts() throws Exception{
         Category cat = Category.builder().id(1L).name("Cachorritos").build();
         Post post = Post.builder().id(1L).category(cat).title("Mi nueva mascota").body("Esta es mi nueva mascota").build();
-        PagedResponse<Post> response = new PagedResponse<>();
-        response.setContent(List.of(post));
+        PagedResponse<PostSummary> response = new PagedResponse<>();
+        response.setContent(List.of(new PostSummary(post.getId(), post.getTitle(), post.getBody(), cat.getId(), Instant.now(), 1L)));
         response.setSize(1);
         response.setPage(0);
 
@@ -78,12 +81,12 @@ class PostControllerTest {
                 .body("Esto es un post para tests")
                 .build();
 
-        PagedResponse<Post> pagedResult = new PagedResponse<>();
-        pagedResult.setContent(List.of(post));
+        PagedResponse<PostSummary> pagedResult = new PagedResponse<>();
+        pagedResult.setContent(List.of(new PostSummary(post.getId(), post.getTitle(), post.getBody(), null, Instant.now(), 1L)));
         pagedResult.setSize(1);
         pagedResult.setPage(10);
 
-        when(postService.getAllPosts(0, 10)).thenReturn(pagedResult);
+        when(postService.getAllPosts(0, 10, TotalMode.EXACT)).thenReturn(pagedResult);
 
         mockMvc.perform(get("/api/posts/?page={page}&size={size}", 0, 10)
                         .contentType("application/json").content(objectMapper.writeValueAsString(post))
@@ -94,6 +97,43 @@ class PostControllerTest {
 
     }
 
+    @Test
+    void getPost_givenPostId_thenReturnPostWithWeakETag() throws Exception {
+        Post post = Post.builder().id(1L).title("Un Test").body("Esto es un post para tests").build();
+
+        when(postService.getPostVersion(1L)).thenReturn(ResourceVersion.derived("Post", 1L, 1000L, 0, 1));
+        when(postService.getPost(1L)).thenReturn(post);
+
+        mockMvc.perform(get("/api/posts/{id}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title", is("Un Test")))
+                .andExpect(header().string("ETag", "W/\"post-1-1000-0-1\""))
+                .andExpect(header().doesNotExist("Last-Modified"));
+    }
+
+    @Test
+    void getPost_givenMatchingETag_thenReturnNotModified() throws Exception {
+        when(postService.getPostVersion(1L)).thenReturn(ResourceVersion.derived("Post", 1L, 1000L, 0, 1));
+
+        mockMvc.perform(get("/api/posts/{id}", 1L).header("If-None-Match", "W/\"post-1-1000-0-1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(postService, never()).getPost(1L);
+    }
+
+    @Test
+    void getPost_givenStaleETag_thenReturnPost() throws Exception {
+        Post post = Post.builder().id(1L).title("Un Test").body("Esto es un post para tests").build();
+
+        when(postService.getPostVersion(1L)).thenReturn(ResourceVersion.derived("Post", 1L, 1000L, 0, 2));
+        when(postService.getPost(1L)).thenReturn(post);
+
+        mockMvc.perform(get("/api/posts/{id}", 1L).header("If-None-Match", "W/\"post-1-1000-0-1\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"post-1-1000-0-2\""));
+    }
+
     @Test
     @WithUserDetails("admin")
     void updatePost_givenPostId_thenReturnResponseEntity_test() throws Exception{
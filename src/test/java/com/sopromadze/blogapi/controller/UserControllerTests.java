@@ -2,6 +2,7 @@ package com.sopromadze.blogapi.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sopromadze.blogapi.SpringSecurityTestWebConfig;
+import com.sopromadze.blogapi.exception.AccessDeniedException;
 import com.sopromadze.blogapi.model.Album;
 import com.sopromadze.blogapi.model.Comment;
 import com.sopromadze.blogapi.model.Post;
@@ -13,6 +14,7 @@ import com.sopromadze.blogapi.model.user.User;
 import com.sopromadze.blogapi.payload.*;
 import com.sopromadze.blogapi.security.UserPrincipal;
 import com.sopromadze.blogapi.service.impl.PostServiceImpl;
+import com.sopromadze.blogapi.service.impl.UserExportServiceImpl;
 import com.sopromadze.blogapi.service.impl.UserServiceImpl;
 import lombok.extern.java.Log;
 import org.junit.jupiter.api.Test;
@@ -20,6 +22,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.test.context.support.WithUserDetails;
@@ -32,7 +35,10 @@ import java.util.List;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -55,6 +61,9 @@ public class UserControllerTests {
     @MockBean
     UserServiceImpl userService;
 
+    @MockBean
+    UserExportServiceImpl userExportService;
+
     @Test
     void getPostsCreatedBy_givenUsername_ShouldShowPostList() throws Exception {
 
@@ -75,12 +84,12 @@ public class UserControllerTests {
         post.setCreatedBy(1L);
         post.setUpdatedAt(Instant.now());
 
-        PagedResponse<Post> postList = new PagedResponse<>();
-        postList.setContent(List.of(post));
+        PagedResponse<PostSummary> postList = new PagedResponse<>();
+        postList.setContent(List.of(new PostSummary(post.getId(), post.getTitle(), post.getBody(), null, post.getUpdatedAt(), post.getCreatedBy())));
         postList.setPage(0);
         postList.setSize(10);
 
-        when(postService.getPostsByCreatedBy(user.getUsername(), 0, 10)).thenReturn(postList);
+        when(postService.getPostsByCreatedBy(user.getUsername(), 0, 10, TotalMode.EXACT)).thenReturn(postList);
 
         MvcResult result = mockMvc.perform(get("/api/users/{username}/posts?page={page}&size={size}", "efatuarte", 0, 10))
                 .andExpect(status().isOk())
@@ -182,7 +191,7 @@ public class UserControllerTests {
         UserProfile up = new UserProfile(user.getId(), user.getUsername(),
                 user.getFirstName(), user.getLastName(), user.getCreatedAt(),
                 user.getEmail(), user.getAddress(), user.getPhone(), user.getWebsite(),
-                user.getCompany(), 0L);
+                user.getCompany(), 0L, 0L, 0L, 0L, 0L);
         when(userService.setOrUpdateInfo(any(), any())).thenReturn(up);
 
         MvcResult result = mockMvc.perform(put("/api/users/setOrUpdateInfo")
@@ -324,4 +333,32 @@ public class UserControllerTests {
                 .content(objectMapper.writeValueAsString(otro)))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    @WithUserDetails("user")
+    void exportUserData_givenOtherUser_thenForbiddenWithoutAttachmentHeaders() throws Exception {
+        when(userExportService.authorizeExport(any(), any()))
+                .thenThrow(new AccessDeniedException(new ApiResponse(Boolean.FALSE, "You don't have permission to export data of: efatuarte")));
+
+        mockMvc.perform(get("/api/users/{username}/export/{type}", "efatuarte", "posts").param("format", "csv"))
+                .andExpect(status().isForbidden())
+                .andExpect(header().doesNotExist("Content-Disposition"))
+                .andExpect(jsonPath("$.success", is(false)));
+
+        verify(userExportService, never()).export(any(), any(), any(), any());
+    }
+
+    @Test
+    @WithUserDetails("user")
+    void exportUserData_givenUsernameWithQuote_thenFilenameIsEncoded() throws Exception {
+        when(userExportService.authorizeExport(any(), any())).thenReturn(1L);
+
+        MvcResult result = mockMvc.perform(get("/api/users/{username}/export/{type}", "say \"hi\"", "posts"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        ContentDisposition disposition = ContentDisposition.parse(result.getResponse().getHeader("Content-Disposition"));
+        assertEquals("attachment", disposition.getType());
+        assertEquals("say \"hi\"-posts.ndjson", disposition.getFilename());
+    }
 }
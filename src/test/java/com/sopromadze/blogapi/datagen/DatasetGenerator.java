@@ -0,0 +1,520 @@
+package com.sopromadze.blogapi.datagen;
+
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import javax.sql.DataSource;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Fills a freshly migrated schema (Flyway V1 onwards, on H2 or MySQL) with a large, skewed dataset
+ * through batched JDBC. The same {@link DatasetSpec} always produces the same rows: ids, authors,
+ * tags, texts and timestamps come from per-table random streams derived from the seed, and dates are
+ * spread over the two years before a fixed epoch rather than before now.
+ *
+ * <p>Every generated user signs in with the password {@value #PASSWORD}; user 1 is an admin. On
+ * MySQL add {@code rewriteBatchedStatements=true} to the URL, or batches are sent row by row.
+ *
+ * <p>From the command line:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.sopromadze.blogapi.datagen.DatasetGenerator \
+ *     -Dexec.args="--url=jdbc:mysql://localhost:3306/blogapi?rewriteBatchedStatements=true --user=root --password=root --scale=1"
+ * </pre>
+ */
+public final class DatasetGenerator {
+
+    public static final String PASSWORD = "password";
+
+    private static final Instant EPOCH = Instant.parse("2022-01-01T00:00:00Z");
+
+    private static final long SPAN_MILLIS = Duration.ofDays(730).toMillis();
+
+    private static final long ADMIN_ROLE_ID = 1;
+
+    private static final long USER_ROLE_ID = 2;
+
+    private static final String[] WORDS = { "lorem", "ipsum", "dolor", "sit", "amet", "consectetur",
+            "adipiscing", "elit", "sed", "do", "eiusmod", "tempor", "incididunt", "ut", "labore", "et", "dolore",
+            "magna", "aliqua", "enim", "ad", "minim", "veniam", "quis", "nostrud", "exercitation", "ullamco",
+            "laboris", "nisi", "aliquip", "ex", "ea", "commodo", "consequat", "java", "spring", "hibernate",
+            "index", "query", "cache", "latency", "throughput" };
+
+    private final DatasetSpec spec;
+
+    public DatasetGenerator(DatasetSpec spec) {
+        this.spec = spec;
+    }
+
+    public Map<String, Long> generate(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return generate(connection);
+        }
+    }
+
+    /**
+     * Inserts the dataset and returns the number of rows written per table. Rows are committed batch by
+     * batch, so a failure leaves the tables partly filled and the schema has to be recreated.
+     */
+    public Map<String, Long> generate(Connection connection) throws SQLException {
+        requireEmpty(connection);
+
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            Map<String, Long> rows = new LinkedHashMap<>();
+            rows.put("users", insertUsers(connection));
+            rows.put("user_role", insertUserRoles(connection));
+            rows.put("categories", insertCategories(connection));
+            rows.put("tags", insertTags(connection));
+            long[] postCreatedAt = new long[spec.getPosts()];
+            rows.put("posts", insertPosts(connection, postCreatedAt));
+            rows.put("post_tag", insertPostTags(connection));
+            rows.put("comments", insertComments(connection, postCreatedAt));
+            long[] albumCreatedAt = new long[spec.getAlbums()];
+            long[] albumOwner = new long[spec.getAlbums()];
+            rows.put("albums", insertAlbums(connection, albumCreatedAt, albumOwner));
+            rows.put("photos", insertPhotos(connection, albumCreatedAt, albumOwner));
+            rows.put("todos", insertTodos(connection));
+            updatePostCounters(connection);
+            rows.put("user_stats", insertUserStats(connection));
+            advanceIdSequences(connection);
+            connection.commit();
+            return rows;
+        } catch (SQLException | RuntimeException ex) {
+            connection.rollback();
+            throw ex;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private long insertUsers(Connection connection) throws SQLException {
+        SplittableRandom random = random("users");
+        String passwordHash = passwordHash();
+        try (Batch batch = new Batch(connection, "insert into users (id, first_name, last_name, username, password, "
+                + "email, phone, website, created_at, updated_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (long id = 1; id <= spec.getUsers(); id++) {
+                Timestamp createdAt = timestamp(random);
+                PreparedStatement statement = batch.statement();
+                statement.setLong(1, id);
+                statement.setString(2, capitalize(word(random)));
+                statement.setString(3, capitalize(word(random)));
+                statement.setString(4, "user" + id);
+                statement.setString(5, passwordHash);
+                statement.setString(6, "user" + id + "@example.com");
+                statement.setString(7, String.format("%03d-%03d-%04d", random.nextInt(1000), random.nextInt(1000),
+                        random.nextInt(10000)));
+                statement.setString(8, "user" + id + ".example.com");
+                statement.setTimestamp(9, createdAt);
+                statement.setTimestamp(10, createdAt);
+                batch.add();
+            }
+            return batch.rows();
+        }
+    }
+
+    private long insertUserRoles(Connection connection) throws SQLException {
+        try (Batch batch = new Batch(connection, "insert into user_role (user_id, role_id) values (?, ?)")) {
+            for (long id = 1; id <= spec.getUsers(); id++) {
+                batch.statement().setLong(1, id);
+                batch.statement().setLong(2, USER_ROLE_ID);
+                batch.add();
+            }
+            batch.statement().setLong(1, 1);
+            batch.statement().setLong(2, ADMIN_ROLE_ID);
+            batch.add();
+            return batch.rows();
+        }
+    }
+
+    private long insertCategories(Connection connection) throws SQLException {
+        SplittableRandom random = random("categories");
+        try (Batch batch = new Batch(connection, "insert into categories (id, name, created_at, updated_at, "
+                + "created_by, updated_by) values (?, ?, ?, ?, 1, 1)")) {
+            for (long id = 1; id <= spec.getCategories(); id++) {
+                Timestamp createdAt = timestamp(random);
+                batch.statement().setLong(1, id);
+                batch.statement().setString(2, "Category " + id);
+                batch.statement().setTimestamp(3, createdAt);
+                batch.statement().setTimestamp(4, createdAt);
+                batch.add();
+            }
+            return batch.rows();
+        }
+    }
+
+    private long insertTags(Connection connection) throws SQLException {
+        SplittableRandom random = random("tags");
+        try (Batch batch = new Batch(connection, "insert into tags (id, name, created_at, updated_at, created_by, "
+                + "updated_by) values (?, ?, ?, ?, 1, 1)")) {
+            for (long id = 1; id <= spec.getTags(); id++) {
+                Timestamp createdAt = timestamp(random);
+                batch.statement().setLong(1, id);
+                batch.statement().setString(2, word(random) + "-" + id);
+                batch.statement().setTimestamp(3, createdAt);
+                batch.statement().setTimestamp(4, createdAt);
+                batch.add();
+            }
+            return batch.rows();
+        }
+    }
+
+    private long insertPosts(Connection connection, long[] createdAtMillis) throws SQLException {
+        SplittableRandom random = random("posts");
+        ZipfDistribution authors = new ZipfDistribution(spec.getUsers(), spec.getAuthorSkew(), random("authors"));
+        try (Batch batch = new Batch(connection, "insert into posts (id, title, body, user_id, category_id, "
+                + "created_at, updated_at, created_by, updated_by) values (?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < spec.getPosts(); i++) {
+                long id = i + 1L;
+                long author = authors.sample(random) + 1L;
+                Timestamp createdAt = timestamp(random);
+                createdAtMillis[i] = createdAt.getTime();
+
+                PreparedStatement statement = batch.statement();
+                statement.setLong(1, id);
+                statement.setString(2, capitalize(text(random, 3, 8)) + " #" + id);
+                statement.setString(3, capitalize(text(random, 40, 250)) + ".");
+                statement.setLong(4, author);
+                statement.setLong(5, 1 + random.nextInt(spec.getCategories()));
+                statement.setTimestamp(6, createdAt);
+                statement.setTimestamp(7, createdAt);
+                statement.setLong(8, author);
+                statement.setLong(9, author);
+                batch.add();
+            }
+            return batch.rows();
+        }
+    }
+
+    private long insertPostTags(Connection connection) throws SQLException {
+        SplittableRandom random = random("post_tag");
+        ZipfDistribution tags = new ZipfDistribution(spec.getTags(), spec.getTagSkew(), random("hot-tags"));
+        int perPost = Math.min(spec.getTagsPerPost(), spec.getTags());
+        long[] chosen = new long[perPost];
+        try (Batch batch = new Batch(connection, "insert into post_tag (post_id, tag_id) values (?, ?)")) {
+            for (long postId = 1; postId <= spec.getPosts(); postId++) {
+                int count = 0;
+                while (count < perPost) {
+                    long tagId = tags.sample(random) + 1L;
+                    if (!contains(chosen, count, tagId)) {
+                        chosen[count++] = tagId;
+                    }
+                }
+                for (int i = 0; i < count; i++) {
+                    batch.statement().setLong(1, postId);
+                    batch.statement().setLong(2, chosen[i]);
+                    batch.add();
+                }
+            }
+            return batch.rows();
+        }
+    }
+
+    private long insertComments(Connection connection, long[] postCreatedAt) throws SQLException {
+        SplittableRandom random = random("comments");
+        ZipfDistribution threads = new ZipfDistribution(spec.getPosts(), spec.getThreadSkew(), random("threads"));
+        ZipfDistribution commenters = new ZipfDistribution(spec.getUsers(), spec.getAuthorSkew(),
+                random("commenters"));
+        try (Batch batch = new Batch(connection, "insert into comments (id, name, email, body, post_id, user_id, "
+                + "created_at, updated_at, created_by, updated_by) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (long id = 1; id <= spec.getComments(); id++) {
+                int post = threads.sample(random);
+                long author = commenters.sample(random) + 1L;
+                Timestamp createdAt = after(postCreatedAt[post], random);
+
+                PreparedStatement statement = batch.statement();
+                statement.setLong(1, id);
+                statement.setString(2, "user" + author);
+                statement.setString(3, "user" + author + "@example.com");
+                statement.setString(4, capitalize(text(random, 4, 40)) + ".");
+                statement.setLong(5, post + 1L);
+                statement.setLong(6, author);
+                statement.setTimestamp(7, createdAt);
+                statement.setTimestamp(8, createdAt);
+                statement.setLong(9, author);
+                statement.setLong(10, author);
+                batch.add();
+            }
+            return batch.rows();
+        }
+    }
+
+    private long insertAlbums(Connection connection, long[] createdAtMillis, long[] owners) throws SQLException {
+        SplittableRandom random = random("albums");
+        try (Batch batch = new Batch(connection, "insert into albums (id, title, user_id, created_at, updated_at, "
+                + "created_by, updated_by) values (?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < spec.getAlbums(); i++) {
+                long id = i + 1L;
+                long owner = 1 + random.nextInt(spec.getUsers());
+                Timestamp createdAt = timestamp(random);
+                createdAtMillis[i] = createdAt.getTime();
+                owners[i] = owner;
+
+                PreparedStatement statement = batch.statement();
+                statement.setLong(1, id);
+                statement.setString(2, capitalize(text(random, 2, 5)) + " #" + id);
+                statement.setLong(3, owner);
+                statement.setTimestamp(4, createdAt);
+                statement.setTimestamp(5, createdAt);
+                statement.setLong(6, owner);
+                statement.setLong(7, owner);
+                batch.add();
+            }
+            return batch.rows();
+        }
+    }
+
+    private long insertPhotos(Connection connection, long[] albumCreatedAt, long[] albumOwner) throws SQLException {
+        SplittableRandom random = random("photos");
+        ZipfDistribution sizes = new ZipfDistribution(spec.getAlbums(), spec.getAlbumSkew(), random("album-sizes"));
+        try (Batch batch = new Batch(connection, "insert into photos (id, title, url, thumbnail_url, album_id, "
+                + "created_at, updated_at, created_by, updated_by) values (?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (long id = 1; id <= spec.getPhotos(); id++) {
+                int album = sizes.sample(random);
+                Timestamp createdAt = after(albumCreatedAt[album], random);
+
+                PreparedStatement statement = batch.statement();
+                statement.setLong(1, id);
+                statement.setString(2, capitalize(text(random, 2, 6)));
+                statement.setString(3, "https://via.placeholder.com/600/" + Long.toHexString(id));
+                statement.setString(4, "https://via.placeholder.com/150/" + Long.toHexString(id));
+                statement.setLong(5, album + 1L);
+                statement.setTimestamp(6, createdAt);
+                statement.setTimestamp(7, createdAt);
+                statement.setLong(8, albumOwner[album]);
+                statement.setLong(9, albumOwner[album]);
+                batch.add();
+            }
+            return batch.rows();
+        }
+    }
+
+    private long insertTodos(Connection connection) throws SQLException {
+        SplittableRandom random = random("todos");
+        try (Batch batch = new Batch(connection, "insert into todos (id, title, completed, user_id, created_at, "
+                + "updated_at, created_by, updated_by) values (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (long id = 1; id <= spec.getTodos(); id++) {
+                long owner = 1 + random.nextInt(spec.getUsers());
+                Timestamp createdAt = timestamp(random);
+
+                PreparedStatement statement = batch.statement();
+                statement.setLong(1, id);
+                statement.setString(2, capitalize(text(random, 2, 8)));
+                statement.setBoolean(3, random.nextInt(3) == 0);
+                statement.setLong(4, owner);
+                statement.setTimestamp(5, createdAt);
+                statement.setTimestamp(6, createdAt);
+                statement.setLong(7, owner);
+                statement.setLong(8, owner);
+                batch.add();
+            }
+            return batch.rows();
+        }
+    }
+
+    /**
+     * Rows were inserted with explicit ids, so the pooled-lo generator has to start after them, and the
+     * first signup must not be granted ROLE_ADMIN any more.
+     */
+    private static void updatePostCounters(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("update posts set comment_count = "
+                    + "(select count(*) from comments c where c.post_id = posts.id)");
+            statement.executeUpdate("update posts set tag_count = "
+                    + "(select count(*) from post_tag pt where pt.post_id = posts.id)");
+        }
+    }
+
+    private static long insertUserStats(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            return statement.executeUpdate("insert into user_stats (user_id, post_count, comment_count, album_count, "
+                    + "photo_count, todo_count) select u.id, "
+                    + "(select count(*) from posts p where p.created_by = u.id), "
+                    + "(select count(*) from comments c where c.created_by = u.id), "
+                    + "(select count(*) from albums a where a.created_by = u.id), "
+                    + "(select count(*) from photos ph where ph.created_by = u.id), "
+                    + "(select count(*) from todos t where t.created_by = u.id) from users u");
+        }
+    }
+
+    private void advanceIdSequences(Connection connection) throws SQLException {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        counts.put("users", spec.getUsers());
+        counts.put("categories", spec.getCategories());
+        counts.put("tags", spec.getTags());
+        counts.put("posts", spec.getPosts());
+        counts.put("comments", spec.getComments());
+        counts.put("albums", spec.getAlbums());
+        counts.put("photos", spec.getPhotos());
+        counts.put("todos", spec.getTodos());
+
+        try (PreparedStatement statement = connection.prepareStatement(
+                "update id_sequences set next_val = ? where sequence_name = ?")) {
+            for (Map.Entry<String, Integer> count : counts.entrySet()) {
+                statement.setLong(1, count.getValue() + 1L);
+                statement.setString(2, count.getKey());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("update bootstrap_flags set consumed = true where name = 'FIRST_ADMIN'");
+        }
+    }
+
+    private static void requireEmpty(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet users = statement.executeQuery("select count(*) from users")) {
+            users.next();
+            if (users.getLong(1) > 0) {
+                throw new IllegalStateException("The dataset generator needs an empty, freshly migrated schema");
+            }
+        }
+    }
+
+    /**
+     * One hash shared by every user; the salt comes from the seed so the users table is reproducible too.
+     */
+    private String passwordHash() {
+        try {
+            SecureRandom saltRandom = SecureRandom.getInstance("SHA1PRNG");
+            saltRandom.setSeed(spec.getSeed());
+            return BCrypt.hashpw(PASSWORD, BCrypt.gensalt(10, saltRandom));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA1PRNG is not available", ex);
+        }
+    }
+
+    private SplittableRandom random(String stream) {
+        return new SplittableRandom(spec.getSeed() * 31 + stream.hashCode());
+    }
+
+    private static Timestamp timestamp(SplittableRandom random) {
+        return new Timestamp(EPOCH.toEpochMilli() - SPAN_MILLIS + random.nextLong(SPAN_MILLIS));
+    }
+
+    private static Timestamp after(long parentMillis, SplittableRandom random) {
+        long remaining = Math.max(EPOCH.toEpochMilli() - parentMillis, 1);
+        return new Timestamp(parentMillis + random.nextLong(remaining));
+    }
+
+    private static String word(SplittableRandom random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private static String text(SplittableRandom random, int minWords, int maxWords) {
+        int words = minWords + random.nextInt(maxWords - minWords + 1);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(word(random));
+        }
+        return text.toString();
+    }
+
+    private static String capitalize(String text) {
+        return Character.toUpperCase(text.charAt(0)) + text.substring(1);
+    }
+
+    private static boolean contains(long[] values, int length, long value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static void main(String[] args) throws SQLException {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Options look like --name=value, got: " + arg);
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        String url = options.get("url");
+        if (url == null) {
+            throw new IllegalArgumentException("--url is required");
+        }
+        DatasetSpec spec = DatasetSpec.defaults().toBuilder()
+                .seed(Long.parseLong(options.getOrDefault("seed", "42")))
+                .build()
+                .scaled(Double.parseDouble(options.getOrDefault("scale", "1")));
+
+        long start = System.nanoTime();
+        try (Connection connection = DriverManager.getConnection(url, options.getOrDefault("user", "root"),
+                options.getOrDefault("password", ""))) {
+            Map<String, Long> rows = new DatasetGenerator(spec).generate(connection);
+            rows.forEach((table, count) -> System.out.println(table + ": " + count + " rows"));
+        }
+        System.out.println("Generated in " + Duration.ofNanos(System.nanoTime() - start).getSeconds() + " s");
+    }
+
+    /**
+     * A prepared statement flushed every {@link DatasetSpec#getBatchSize()} rows; each flush is
+     * committed so the database does not hold the whole table in one transaction.
+     */
+    private final class Batch implements AutoCloseable {
+
+        private final Connection connection;
+
+        private final PreparedStatement statement;
+
+        private int pending;
+
+        private long rows;
+
+        private Batch(Connection connection, String sql) throws SQLException {
+            this.connection = connection;
+            this.statement = connection.prepareStatement(sql);
+        }
+
+        private PreparedStatement statement() {
+            return statement;
+        }
+
+        private void add() throws SQLException {
+            statement.addBatch();
+            rows++;
+            if (++pending == spec.getBatchSize()) {
+                flush();
+            }
+        }
+
+        private long rows() throws SQLException {
+            flush();
+            return rows;
+        }
+
+        private void flush() throws SQLException {
+            if (pending > 0) {
+                statement.executeBatch();
+                connection.commit();
+                pending = 0;
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            statement.close();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.sopromadze.blogapi.datagen;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatasetGeneratorTest {
+
+    private static final DatasetSpec SMALL = DatasetSpec.builder()
+            .users(50)
+            .categories(5)
+            .tags(40)
+            .posts(500)
+            .comments(3_000)
+            .albums(20)
+            .photos(600)
+            .todos(100)
+            .batchSize(128)
+            .build();
+
+    @Test
+    void generate_givenSmallSpec_shouldFillEveryTable() throws Exception {
+        JdbcTemplate jdbcTemplate = generate("datagen-counts", SMALL);
+
+        assertEquals(50, count(jdbcTemplate, "users"));
+        assertEquals(500, count(jdbcTemplate, "posts"));
+        assertEquals(1_500, count(jdbcTemplate, "post_tag"));
+        assertEquals(3_000, count(jdbcTemplate, "comments"));
+        assertEquals(600, count(jdbcTemplate, "photos"));
+        assertEquals(100, count(jdbcTemplate, "todos"));
+        assertEquals(3_000L, jdbcTemplate.queryForObject("select sum(comment_count) from posts", Long.class));
+        assertEquals(1_500L, jdbcTemplate.queryForObject("select sum(tag_count) from posts", Long.class));
+        assertEquals(3_000L, jdbcTemplate.queryForObject("select sum(comment_count) from user_stats", Long.class));
+        assertEquals(501L, jdbcTemplate.queryForObject(
+                "select next_val from id_sequences where sequence_name = 'posts'", Long.class));
+        assertTrue(jdbcTemplate.queryForObject(
+                "select consumed from bootstrap_flags where name = 'FIRST_ADMIN'", Boolean.class));
+    }
+
+    @Test
+    void generate_givenSameSeed_shouldProduceSameRows() throws Exception {
+        String sql = "select id, user_id, title, created_at from posts order by id";
+
+        List<Map<String, Object>> first = generate("datagen-first", SMALL).queryForList(sql);
+        List<Map<String, Object>> second = generate("datagen-second", SMALL).queryForList(sql);
+
+        assertEquals(first, second);
+    }
+
+    @Test
+    void generate_shouldSkewAuthorsThreadsAndTags() throws Exception {
+        JdbcTemplate jdbcTemplate = generate("datagen-skew", SMALL);
+
+        long topAuthor = jdbcTemplate.queryForObject(
+                "select max(c) from (select count(*) c from posts group by created_by) t", Long.class);
+        long longestThread = jdbcTemplate.queryForObject(
+                "select max(c) from (select count(*) c from comments group by post_id) t", Long.class);
+        long hottestTag = jdbcTemplate.queryForObject(
+                "select max(c) from (select count(*) c from post_tag group by tag_id) t", Long.class);
+
+        assertTrue(topAuthor > 5 * 500 / 50, "top author wrote " + topAuthor + " posts");
+        assertTrue(longestThread > 5 * 3_000 / 500, "longest thread has " + longestThread + " comments");
+        assertTrue(hottestTag > 5 * 1_500 / 40, "hottest tag is on " + hottestTag + " posts");
+    }
+
+    @Test
+    void generate_shouldStoreUsablePasswordHash() throws Exception {
+        String hash = generate("datagen-password", SMALL.toBuilder().users(1).build()).queryForObject(
+                "select password from users where id = 1", String.class);
+
+        assertTrue(new BCryptPasswordEncoder().matches(DatasetGenerator.PASSWORD, hash));
+    }
+
+    @Test
+    void generate_givenPopulatedSchema_shouldRefuse() throws Exception {
+        DataSource dataSource = migratedDataSource("datagen-twice");
+        new DatasetGenerator(SMALL.toBuilder().users(1).posts(1).comments(1).albums(1).photos(1).todos(1).build())
+                .generate(dataSource);
+
+        assertThrows(IllegalStateException.class, () -> new DatasetGenerator(SMALL).generate(dataSource));
+    }
+
+    private static JdbcTemplate generate(String database, DatasetSpec spec) throws Exception {
+        DataSource dataSource = migratedDataSource(database);
+        new DatasetGenerator(spec).generate(dataSource);
+        return new JdbcTemplate(dataSource);
+    }
+
+    private static DataSource migratedDataSource(String database) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1;MODE=MYSQL", "sa", "");
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        return dataSource;
+    }
+
+    private static long count(JdbcTemplate jdbcTemplate, String table) {
+        return jdbcTemplate.queryForObject("select count(*) from " + table, Long.class);
+    }
+}
@@ -0,0 +1,87 @@
+package com.sopromadze.blogapi.datagen;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Sizes and skew of a generated dataset. The defaults add up to roughly four million rows; use
+ * {@link #scaled(double)} for smaller or larger runs. Skew exponents are Zipf exponents: 0 is uniform,
+ * around 1 is a typical long tail.
+ */
+@Getter
+@Builder(toBuilder = true)
+public class DatasetSpec {
+
+    @Builder.Default
+    private final long seed = 42;
+
+    @Builder.Default
+    private final int users = 10_000;
+
+    @Builder.Default
+    private final int categories = 20;
+
+    @Builder.Default
+    private final int tags = 1_000;
+
+    @Builder.Default
+    private final int posts = 200_000;
+
+    @Builder.Default
+    private final int tagsPerPost = 3;
+
+    @Builder.Default
+    private final int comments = 2_000_000;
+
+    @Builder.Default
+    private final int albums = 20_000;
+
+    @Builder.Default
+    private final int photos = 1_000_000;
+
+    @Builder.Default
+    private final int todos = 100_000;
+
+    /** Share of posts written by the most prolific authors. */
+    @Builder.Default
+    private final double authorSkew = 1.1;
+
+    /** How strongly posts concentrate on a few hot tags. */
+    @Builder.Default
+    private final double tagSkew = 1.2;
+
+    /** How long the longest comment threads get. */
+    @Builder.Default
+    private final double threadSkew = 1.0;
+
+    /** How large the largest albums get. */
+    @Builder.Default
+    private final double albumSkew = 1.0;
+
+    @Builder.Default
+    private final int batchSize = 1_000;
+
+    public static DatasetSpec defaults() {
+        return builder().build();
+    }
+
+    /**
+     * The same dataset shape with every row count multiplied by {@code factor}; categories and
+     * tags per post are left alone.
+     */
+    public DatasetSpec scaled(double factor) {
+        return toBuilder()
+                .users(scale(users, factor))
+                .tags(scale(tags, factor))
+                .posts(scale(posts, factor))
+                .comments(scale(comments, factor))
+                .albums(scale(albums, factor))
+                .photos(scale(photos, factor))
+                .todos(scale(todos, factor))
+                .build();
+    }
+
+    private static int scale(int count, double factor) {
+        return (int) Math.max(1, Math.round(count * factor));
+    }
+}
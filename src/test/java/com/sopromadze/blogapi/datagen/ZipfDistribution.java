@@ -0,0 +1,54 @@
+package com.sopromadze.blogapi.datagen;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Zipf-distributed choice among {@code n} items: the item of rank {@code k} is drawn with probability
+ * proportional to {@code 1 / k^exponent}. Ranks are assigned to items through a shuffle, so the hot
+ * items are spread over the id range instead of being the lowest ids.
+ */
+final class ZipfDistribution {
+
+    private final double[] cumulative;
+
+    private final int[] itemByRank;
+
+    ZipfDistribution(int n, double exponent, SplittableRandom shuffle) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("A Zipf distribution needs at least one item");
+        }
+
+        cumulative = new double[n];
+        double total = 0;
+        for (int rank = 0; rank < n; rank++) {
+            total += 1 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = total;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cumulative[rank] /= total;
+        }
+
+        itemByRank = new int[n];
+        for (int i = 0; i < n; i++) {
+            itemByRank[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = shuffle.nextInt(i + 1);
+            int swap = itemByRank[i];
+            itemByRank[i] = itemByRank[j];
+            itemByRank[j] = swap;
+        }
+    }
+
+    /**
+     * A zero-based item index.
+     */
+    int sample(SplittableRandom random) {
+        int rank = Arrays.binarySearch(cumulative, random.nextDouble());
+        if (rank < 0) {
+            rank = -rank - 1;
+        }
+        return itemByRank[Math.min(rank, itemByRank.length - 1)];
+    }
+}
@@ -8,11 +8,18 @@ import org.springframework.test.context.ActiveProfiles;
 
 import com.sopromadze.blogapi.model.Album;
 import com.sopromadze.blogapi.model.Photo;
+import com.sopromadze.blogapi.model.user.User;
+import com.sopromadze.blogapi.payload.PhotoResponse;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import javax.persistence.EntityManagerFactory;
 
 import java.time.Instant;
 import java.util.List;
@@ -29,6 +36,9 @@ public class PhotoRepositoryTests {
     @Autowired
     private TestEntityManager entityManager;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @Test
     void repositoryNotNull_success(){
         assertNotNull(repository);
@@ -57,4 +67,68 @@ public class PhotoRepositoryTests {
 
         assertEquals(1, repository.findByAlbumId(1L, pageable).getTotalElements());
     }
+
+    @Test
+    void findResponsesByAlbumId_givenPage_shouldRunOneStatementWithoutLoadingEntities() {
+        Album album = persistAlbumWithPhotos("Portadas de Discos de Prince", 3);
+        Statistics statistics = statistics();
+
+        Page<PhotoResponse> page = repository.findResponsesByAlbumId(album.getId(),
+                PageRequest.of(0, 10, Sort.Direction.DESC, "createdAt"));
+
+        assertEquals(3, page.getNumberOfElements());
+        assertEquals(album.getId(), page.getContent().get(0).getAlbumId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void existsByIdAndAlbumUserId_givenOwnerAndOtherUser_shouldRunOneStatementEach() {
+        Album album = persistAlbumWithPhotos("Portadas de Discos de Queen", 1);
+        Long photoId = repository.findResponsesByAlbumId(album.getId(), PageRequest.of(0, 1)).getContent().get(0).getId();
+        Statistics statistics = statistics();
+
+        assertTrue(repository.existsByIdAndAlbumUserId(photoId, album.getUser().getId()));
+        assertFalse(repository.existsByIdAndAlbumUserId(photoId, album.getUser().getId() + 1));
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    private Album persistAlbumWithPhotos(String title, int photos) {
+        User user = User.builder()
+                .firstName("Diana")
+                .lastName("González")
+                .username("Gelbern")
+                .password("123456789")
+                .email("diana@gmail.com")
+                .build();
+        user.setCreatedAt(Instant.now());
+        user.setUpdatedAt(Instant.now());
+        entityManager.persist(user);
+
+        Album album = new Album();
+        album.setTitle(title);
+        album.setUser(user);
+        album.setCreatedAt(Instant.now());
+        album.setUpdatedAt(Instant.now());
+        entityManager.persist(album);
+
+        for (int i = 1; i <= photos; i++) {
+            Photo photo = new Photo(title + " " + i, "https://example.com/" + i, "https://example.com/thumb/" + i, album);
+            photo.setCreatedAt(Instant.now());
+            photo.setUpdatedAt(Instant.now());
+            entityManager.persist(photo);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        return album;
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        return statistics;
+    }
 }
@@ -0,0 +1,124 @@
+package com.sopromadze.blogapi.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sopromadze.blogapi.config.AuditingConfig;
+import com.sopromadze.blogapi.model.Comment;
+import com.sopromadze.blogapi.model.role.RoleName;
+import com.sopromadze.blogapi.model.user.User;
+import com.sopromadze.blogapi.model.user.UserStats;
+import com.sopromadze.blogapi.payload.ApiResponse;
+import com.sopromadze.blogapi.payload.PostImportResult;
+import com.sopromadze.blogapi.security.UserPrincipal;
+import com.sopromadze.blogapi.service.impl.CommentServiceImpl;
+import com.sopromadze.blogapi.service.impl.PostImportServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Imports through the real repositories, then works on the imported rows with the regular services.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(AuditingConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PostImportTest {
+
+    private static final String RECORD = "{\"title\":\"Post importado con comentarios\","
+            + "\"body\":\"Cuerpo del post importado con mas de cincuenta caracteres de largo\","
+            + "\"category\":\"news\",\"tags\":[\"java\"],"
+            + "\"comments\":[{\"name\":\"Lector\",\"email\":\"lector@gmail.com\",\"body\":\"Muy buen articulo\"}]}";
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private UserStatsRepository userStatsRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private PostImportServiceImpl postImportService;
+
+    private CommentServiceImpl commentService;
+
+    private UserPrincipal author;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(new User("Ada", "Lovelace", "ada", "ada@example.com", "password"));
+        userStatsRepository.save(new UserStats(user.getId()));
+        author = new UserPrincipal(user.getId(), "Ada", "Lovelace", "ada", "ada@example.com", null,
+                List.of(new SimpleGrantedAuthority(RoleName.ROLE_USER.toString())));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(author, null, author.getAuthorities()));
+
+        postImportService = new PostImportServiceImpl(postRepository, tagRepository, categoryRepository,
+                userRepository, userStatsRepository, new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(), transactionManager, entityManager);
+        ReflectionTestUtils.setField(postImportService, "chunkSize", 500);
+        commentService = new CommentServiceImpl(commentRepository, postRepository, userRepository,
+                userStatsRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        commentRepository.deleteAll();
+        postRepository.deleteAll();
+        tagRepository.deleteAll();
+        categoryRepository.deleteAll();
+        userStatsRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void deleteComment_givenImportedComment_shouldDeleteAsItsAuthor() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        postImportService.importPosts(new ByteArrayInputStream(RECORD.getBytes(StandardCharsets.UTF_8)), output, author);
+        PostImportResult result = new ObjectMapper().readValue(output.toByteArray(), PostImportResult.class);
+        assertTrue(result.getSuccess());
+        Comment comment = commentRepository.findAll().get(0);
+
+        ApiResponse response = commentService.deleteComment(result.getPostId(), comment.getId(), author);
+
+        assertTrue(response.getSuccess());
+        assertEquals(0, commentRepository.count());
+        assertEquals(0, postRepository.findById(result.getPostId()).get().getCommentCount());
+    }
+}
@@ -3,6 +3,7 @@ package com.sopromadze.blogapi.repository;
 import com.sopromadze.blogapi.model.Post;
 import com.sopromadze.blogapi.model.Tag;
 import com.sopromadze.blogapi.model.user.User;
+import com.sopromadze.blogapi.payload.PostSummary;
 import lombok.extern.java.Log;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,6 +14,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.ActiveProfiles;
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -86,4 +88,90 @@ public class PostRepositoryTests {
     void countByCreatedBy_giveUserId_thenReturnCountPost() {
         assertEquals(1, repository.countByCreatedBy(user.getId()));
     }
-}
\ No newline at end of file
+
+    @Test
+    void findSummariesByCreatedBy_givenLongBody_thenReturnExcerptAndTagNames() {
+        Post post = new Post();
+        post.setTitle("post con cuerpo largo");
+        char[] body = new char[PostSummary.EXCERPT_LENGTH + 50];
+        Arrays.fill(body, 'x');
+        post.setBody(new String(body));
+        post.setUser(user);
+        post.setCreatedAt(Instant.now());
+        post.setUpdatedAt(Instant.now());
+        post.setCreatedBy(user.getId());
+        post.setTags(List.of(t1));
+        testEntityManager.persist(post);
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        Page<PostSummary> summaries = repository.findSummariesByCreatedBy(user.getId(), pageable);
+        PostSummary summary = summaries.getContent().stream()
+                .filter(s -> s.getId().equals(post.getId())).findFirst().get();
+
+        assertEquals(PostSummary.EXCERPT_LENGTH, summary.getExcerpt().length());
+        List<Object[]> tagNames = repository.findTagNamesByPostIds(List.of(post.getId()));
+        assertEquals(1, tagNames.size());
+        assertEquals("tag1", tagNames.get(0)[1]);
+    }
+
+    @Test
+    void adjustCommentCount_givenDeltas_thenCounterIsUpdatedRelatively() {
+        repository.adjustCommentCount(p1.getId(), 1);
+        repository.adjustCommentCount(p1.getId(), 1);
+        repository.adjustCommentCount(p1.getId(), -1);
+        testEntityManager.clear();
+
+        assertEquals(1, repository.findById(p1.getId()).get().getCommentCount());
+    }
+
+    @Test
+    void findTagCountDrift_givenTagLinkedOutsideCounter_thenReturnStoredAndActualCount() {
+        List<Object[]> drift = repository.findTagCountDrift();
+
+        assertEquals(1, drift.size());
+        assertEquals(p1.getId(), drift.get(0)[0]);
+        assertEquals(0, drift.get(0)[1]);
+        assertEquals(1L, drift.get(0)[2]);
+        assertTrue(repository.findCommentCountDrift().isEmpty());
+    }
+
+    @Test
+    void findVersionById_givenCommentCountAdjusted_thenVersionChanges() {
+        Object[] before = repository.findVersionById(p1.getId()).get(0);
+        repository.adjustCommentCount(p1.getId(), 1);
+        testEntityManager.clear();
+        Object[] after = repository.findVersionById(p1.getId()).get(0);
+
+        assertEquals(0, before[1]);
+        assertEquals(1, after[1]);
+        assertEquals(t1.getId(), after[4]);
+        assertTrue(repository.findVersionById(-1L).isEmpty());
+    }
+
+    @Test
+    void findVersionById_givenSeveralTags_thenReturnOneRowPerTagInIdOrder() {
+        Tag t2 = new Tag();
+        t2.setName("tag2");
+        t2.setCreatedBy(1L);
+        t2.setCreatedAt(Instant.now());
+        t2.setUpdatedAt(Instant.now());
+        testEntityManager.persist(t2);
+        Post post = new Post();
+        post.setTitle("post con dos tags");
+        post.setUser(user);
+        post.setCreatedAt(Instant.now());
+        post.setUpdatedAt(Instant.now());
+        post.setCreatedBy(user.getId());
+        post.setTags(List.of(t2, t1));
+        testEntityManager.persist(post);
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        List<Object[]> rows = repository.findVersionById(post.getId());
+
+        assertEquals(2, rows.size());
+        assertEquals(t1.getId(), rows.get(0)[4]);
+        assertEquals(t2.getId(), rows.get(1)[4]);
+    }
+}
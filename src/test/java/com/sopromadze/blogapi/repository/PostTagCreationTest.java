@@ -0,0 +1,134 @@
+package com.sopromadze.blogapi.repository;
+
+import com.sopromadze.blogapi.config.AuditingConfig;
+import com.sopromadze.blogapi.model.Category;
+import com.sopromadze.blogapi.model.Tag;
+import com.sopromadze.blogapi.model.role.RoleName;
+import com.sopromadze.blogapi.model.user.User;
+import com.sopromadze.blogapi.model.user.UserStats;
+import com.sopromadze.blogapi.payload.PostRequest;
+import com.sopromadze.blogapi.payload.PostResponse;
+import com.sopromadze.blogapi.security.UserPrincipal;
+import com.sopromadze.blogapi.service.ApproximateCountService;
+import com.sopromadze.blogapi.service.impl.PostServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs without a test transaction so addPost opens and commits its own transactions, as it does when
+ * called from a request.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(AuditingConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PostTagCreationTest {
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private UserStatsRepository userStatsRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TagRepository racingTagRepository;
+
+    private PostServiceImpl postService;
+
+    private UserPrincipal author;
+
+    private Long categoryId;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User("Ada", "Lovelace", "ada", "ada@example.com", "password");
+        user = userRepository.save(user);
+        userStatsRepository.save(new UserStats(user.getId()));
+        author = new UserPrincipal(user.getId(), "Ada", "Lovelace", "ada", null, null,
+                List.of(new SimpleGrantedAuthority(RoleName.ROLE_USER.toString())));
+
+        Category category = new Category();
+        category.setName("General");
+        categoryId = categoryRepository.save(category).getId();
+
+        racingTagRepository = mock(TagRepository.class, delegatesTo(tagRepository));
+        postService = new PostServiceImpl(postRepository, userRepository, categoryRepository, racingTagRepository,
+                mock(ApproximateCountService.class), commentRepository, userStatsRepository,
+                new TransactionTemplate(transactionManager));
+    }
+
+    @AfterEach
+    void tearDown() {
+        postRepository.deleteAll();
+        tagRepository.deleteAll();
+        categoryRepository.deleteAll();
+        userStatsRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void addPost_givenTagInsertedConcurrently_shouldRetryAndSavePost() {
+        Tag java = new Tag("java");
+        java.setCreatedBy(author.getId());
+        java.setCreatedAt(Instant.now());
+        java.setUpdatedAt(Instant.now());
+        tagRepository.save(java);
+        // the cached lookup keeps missing the tag, as a node's query cache does after another instance inserted it
+        when(racingTagRepository.findByNameIn(any())).thenReturn(Collections.emptyList());
+
+        PostResponse response = postService.addPost(request("java", "spring"), author);
+
+        assertEquals(List.of("java", "spring"), response.getTags());
+        verify(racingTagRepository, times(2)).saveAllAndFlush(any());
+        verify(racingTagRepository).findUncachedByNameIn(any());
+        assertEquals(2, tagRepository.count());
+        assertEquals(1, postRepository.count());
+        assertEquals(Optional.of(1L), userStatsRepository.findPostCountByUserId(author.getId()));
+    }
+
+    private PostRequest request(String... tags) {
+        PostRequest request = new PostRequest();
+        request.setTitle("Title");
+        request.setBody("Body of the post");
+        request.setCategoryId(categoryId);
+        request.setTags(List.of(tags));
+        return request;
+    }
+}
@@ -0,0 +1,117 @@
+package com.sopromadze.blogapi.repository;
+
+import com.sopromadze.blogapi.model.Tag;
+import com.sopromadze.blogapi.model.role.Role;
+import com.sopromadze.blogapi.model.role.RoleName;
+import com.sopromadze.blogapi.security.UserPrincipal;
+import com.sopromadze.blogapi.service.impl.TagServiceImpl;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs without a test transaction so every repository call commits, which is when Hibernate
+ * populates and invalidates the second-level and query caches.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(TagServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReferenceDataCacheTest {
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private TagServiceImpl tagService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private final UserPrincipal admin = new UserPrincipal(1L, "Nombre1", "Apellido1", "admin", "admin@gmail.com",
+            "admin", List.of(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString())));
+
+    @BeforeEach
+    void setUp() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tagRepository.deleteAll();
+        roleRepository.deleteAll();
+    }
+
+    @Test
+    void findRoleByName_givenRepeatedLookup_shouldBeServedFromCache() {
+        roleRepository.save(new Role(RoleName.ROLE_USER));
+        statistics.clear();
+
+        assertTrue(roleRepository.findByName(RoleName.ROLE_USER).isPresent());
+        assertTrue(roleRepository.findByName(RoleName.ROLE_USER).isPresent());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    void findTagsByNameIn_givenRepeatedLookup_shouldBeServedFromCacheUntilTagsChange() {
+        tagRepository.save(tag("java"));
+        statistics.clear();
+
+        assertEquals(1, tagRepository.findByNameIn(List.of("java", "kotlin")).size());
+        assertEquals(1, tagRepository.findByNameIn(List.of("java", "kotlin")).size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+
+        tagRepository.save(tag("kotlin"));
+
+        assertEquals(2, tagRepository.findByNameIn(List.of("java", "kotlin")).size());
+    }
+
+    @Test
+    void findTagByName_givenTagRenamedThroughService_shouldNotReturnStaleTag() {
+        Tag tag = tagRepository.save(tag("java"));
+
+        assertNotNull(tagRepository.findByName("java"));
+        statistics.clear();
+        assertNotNull(tagRepository.findByName("java"));
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        tagService.updateTag(tag.getId(), new Tag("kotlin"), admin);
+
+        assertNull(tagRepository.findByName("java"));
+        assertEquals(tag.getId(), tagRepository.findByName("kotlin").getId());
+    }
+
+    private Tag tag(String name) {
+        Tag tag = new Tag(name);
+        tag.setCreatedBy(admin.getId());
+        tag.setCreatedAt(Instant.now());
+        tag.setUpdatedAt(Instant.now());
+        return tag;
+    }
+}
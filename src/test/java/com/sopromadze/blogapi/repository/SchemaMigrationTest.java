@@ -0,0 +1,153 @@
+package com.sopromadze.blogapi.repository;
+
+import com.sopromadze.blogapi.model.BootstrapFlag;
+import com.sopromadze.blogapi.model.JobLock;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.datasource.url=jdbc:h2:mem:migrationtest;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=MYSQL"
+})
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class SchemaMigrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BootstrapFlagRepository bootstrapFlagRepository;
+
+    @Autowired
+    private JobLockRepository jobLockRepository;
+
+    @Test
+    void postsByCreatedBy_shouldUseCreatedByIndex() {
+        String plan = explain("select * from posts where created_by = 1 order by created_at desc, id desc");
+
+        assertTrue(plan.contains("IDX_POSTS_CREATED_BY_CREATED_AT"), plan);
+    }
+
+    @Test
+    void albumsByCreatedBy_shouldUseCreatedByIndex() {
+        String plan = explain("select * from albums where created_by = 1 order by created_at desc, id desc");
+
+        assertTrue(plan.contains("IDX_ALBUMS_CREATED_BY_CREATED_AT"), plan);
+    }
+
+    @Test
+    void todosByCreatedBy_shouldUseCreatedByIndex() {
+        String plan = explain("select * from todos where created_by = 1 order by created_at desc, id desc");
+
+        assertTrue(plan.contains("IDX_TODOS_CREATED_BY_CREATED_AT"), plan);
+    }
+
+    @Test
+    void commentsByCreatedBy_shouldUseCreatedByIndex() {
+        String plan = explain("select * from comments where created_by = 1 order by created_at, id");
+
+        assertTrue(plan.contains("IDX_COMMENTS_CREATED_BY_CREATED_AT"), plan);
+    }
+
+    @Test
+    void photosByCreatedBy_shouldUseCreatedByIndex() {
+        String plan = explain("select * from photos where created_by = 1 order by created_at, id");
+
+        assertTrue(plan.contains("IDX_PHOTOS_CREATED_BY_CREATED_AT"), plan);
+    }
+
+    @Test
+    void postsByCategory_shouldUseCategoryIndex() {
+        String plan = explain("select * from posts where category_id = 1 order by created_at desc, id desc");
+
+        assertTrue(plan.contains("IDX_POSTS_CATEGORY_CREATED_AT"), plan);
+    }
+
+    @Test
+    void commentsByPost_shouldNotScanTable() {
+        String plan = explain("select * from comments where post_id = 1 order by created_at desc, id desc");
+
+        assertFalse(plan.contains("tableScan"), plan);
+    }
+
+    @Test
+    void tagByName_shouldNotScanTable() {
+        String plan = explain("select * from tags where name = 'java'");
+
+        assertFalse(plan.contains("tableScan"), plan);
+    }
+
+    @Test
+    void postTag_givenDuplicateLink_shouldBeRejected() {
+        jdbcTemplate.update("insert into posts (id, title, body) values (1, 'title', 'body')");
+        jdbcTemplate.update("insert into tags (id, name, created_by, updated_by) values (1, 'java', 1, 1)");
+        jdbcTemplate.update("insert into post_tag (post_id, tag_id) values (1, 1)");
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> jdbcTemplate.update("insert into post_tag (post_id, tag_id) values (1, 1)"));
+    }
+
+    @Test
+    void tags_givenDuplicateName_shouldBeRejected() {
+        jdbcTemplate.update("insert into tags (id, name, created_by, updated_by) values (1, 'java', 1, 1)");
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> jdbcTemplate.update("insert into tags (id, name, created_by, updated_by) values (2, 'java', 1, 1)"));
+    }
+
+    @Test
+    void tagNameKey_givenDuplicateNamesBeforeMigration_shouldMergeTagsAndLinks() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:tagmergetest;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=MYSQL", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        Flyway.configure().dataSource(dataSource).target("8").load().migrate();
+        jdbc.update("insert into posts (id, title, body) values (1, 'title', 'body'), (2, 'title', 'body')");
+        jdbc.update("insert into tags (id, name, created_by, updated_by) values "
+                + "(1, 'java', 1, 1), (2, 'java', 1, 1), (3, 'spring', 1, 1), (4, 'java', 1, 1)");
+        jdbc.update("insert into post_tag (post_id, tag_id) values (1, 2), (1, 1), (2, 4), (2, 3)");
+
+        Flyway.configure().dataSource(dataSource).load().migrate();
+
+        assertEquals(List.of(1L, 3L), jdbc.queryForList("select id from tags order by id", Long.class));
+        assertEquals(List.of(1L), jdbc.queryForList(
+                "select tag_id from post_tag where post_id = 1", Long.class));
+        assertEquals(List.of(1L, 3L), jdbc.queryForList(
+                "select tag_id from post_tag where post_id = 2 order by tag_id", Long.class));
+        assertEquals(List.of(1, 2), jdbc.queryForList(
+                "select tag_count from posts order by id", Integer.class));
+    }
+
+    @Test
+    void firstAdminFlag_givenEmptyDatabase_shouldBeClaimedOnlyOnce() {
+        assertEquals(1, bootstrapFlagRepository.consume(BootstrapFlag.FIRST_ADMIN));
+        assertEquals(0, bootstrapFlagRepository.consume(BootstrapFlag.FIRST_ADMIN));
+    }
+
+    @Test
+    void jobLock_givenActiveLease_shouldBeTakenAgainOnlyAfterItExpires() {
+        Instant now = Instant.now();
+
+        assertEquals(1, jobLockRepository.acquire(JobLock.POST_COUNTERS, now, now.plusSeconds(60), "a"));
+        assertEquals(0, jobLockRepository.acquire(JobLock.POST_COUNTERS, now, now.plusSeconds(60), "b"));
+        assertEquals(1, jobLockRepository.acquire(JobLock.POST_COUNTERS, now.plusSeconds(60), now.plusSeconds(120), "b"));
+        assertEquals(0, jobLockRepository.acquire("UNKNOWN", now, now.plusSeconds(60), "a"));
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("explain " + sql, String.class);
+    }
+}
@@ -0,0 +1,70 @@
+package com.sopromadze.blogapi.repository;
+
+import com.sopromadze.blogapi.SqlStatementBudget;
+import com.sopromadze.blogapi.config.SqlStatisticsConfig;
+import com.sopromadze.blogapi.model.Tag;
+import com.sopromadze.blogapi.utils.SqlStatistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "app.sqlStatisticsEnabled=true")
+@ActiveProfiles("test")
+@Import(SqlStatisticsConfig.class)
+class SqlStatisticsTest {
+
+    @Autowired
+    TagRepository tagRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void findAll_shouldCountOneStatementAndEveryRowRead() {
+        persistTags("java", "spring", "jpa");
+        entityManager.clear();
+        SqlStatistics.Snapshot start = SqlStatistics.current().snapshot();
+
+        List<Tag> tags = tagRepository.findAll();
+
+        SqlStatistics.Snapshot used = SqlStatistics.current().snapshot().since(start);
+        assertEquals(3, tags.size());
+        assertEquals(1, used.getStatements());
+        assertEquals(3, used.getRows());
+    }
+
+    @Test
+    void insert_shouldCountAffectedRows() {
+        SqlStatistics.Snapshot start = SqlStatistics.current().snapshot();
+
+        persistTags("java");
+
+        SqlStatistics.Snapshot used = SqlStatistics.current().snapshot().since(start);
+        assertTrue(used.getStatements() >= 1);
+        assertTrue(used.getRows() >= 1);
+    }
+
+    @Test
+    @SqlStatementBudget(1)
+    void findByName_shouldStayWithinBudget() {
+        tagRepository.findByName("missing");
+    }
+
+    private void persistTags(String... names) {
+        for (String name : names) {
+            Tag tag = new Tag(name);
+            tag.setCreatedAt(Instant.now());
+            tag.setUpdatedAt(Instant.now());
+            entityManager.persist(tag);
+        }
+        entityManager.flush();
+    }
+}
@@ -1,23 +1,33 @@
 package com.sopromadze.blogapi.repository;
 
+import com.sopromadze.blogapi.model.Post;
 import com.sopromadze.blogapi.model.Tag;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.Instant;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @ActiveProfiles("test")
 class TagRepositoryTest {
 
     @Autowired
     TagRepository tagRepository;
 
+    @Autowired
+    PostRepository postRepository;
+
     @Autowired
     private TestEntityManager entityManager;
 
@@ -41,4 +51,86 @@ class TagRepositoryTest {
 
         assertEquals(puppies, tagRepository.findByName(puppies.getName()));
     }
-}
\ No newline at end of file
+
+    @Test
+    void findByName_givenTaggedPosts_shouldIssueSingleStatementAndNotLoadPosts() {
+        Tag tag = persistTagWithPosts("popular", 3);
+        Statistics statistics = resetStatistics();
+
+        Tag found = tagRepository.findByName(tag.getName());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertFalse(entityManager.getEntityManager().getEntityManagerFactory().getPersistenceUnitUtil()
+                .isLoaded(found, "posts"));
+    }
+
+    @Test
+    void findById_givenTaggedPosts_shouldIssueSingleStatement() {
+        Tag tag = persistTagWithPosts("popular", 3);
+        Statistics statistics = resetStatistics();
+
+        assertTrue(tagRepository.findById(tag.getId()).isPresent());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findAll_givenTaggedPosts_shouldIssueSingleStatementForPartialPage() {
+        persistTagWithPosts("popular", 3);
+        persistTagWithPosts("niche", 1);
+        Statistics statistics = resetStatistics();
+
+        Page<Tag> tags = tagRepository.findAll(PageRequest.of(0, 10, Sort.Direction.DESC, "createdAt"));
+
+        assertEquals(2, tags.getTotalElements());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findIdsByTagId_givenFullPage_shouldIssueSelectAndCountOnly() {
+        Tag tag = persistTagWithPosts("popular", 3);
+        Statistics statistics = resetStatistics();
+
+        Page<Long> postIds = postRepository.findIdsByTagId(tag.getId(), PageRequest.of(0, 2, Sort.Direction.DESC, "createdAt"));
+
+        assertEquals(2, postIds.getNumberOfElements());
+        assertEquals(3, postIds.getTotalElements());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void countByTagId_givenTaggedPosts_shouldIssueSingleStatement() {
+        Tag tag = persistTagWithPosts("popular", 3);
+        Statistics statistics = resetStatistics();
+
+        assertEquals(3, postRepository.countByTagId(tag.getId()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private Tag persistTagWithPosts(String name, int postCount) {
+        Tag tag = new Tag(name);
+        tag.setCreatedAt(Instant.now());
+        tag.setUpdatedAt(Instant.now());
+        entityManager.persist(tag);
+
+        for (int i = 0; i < postCount; i++) {
+            Post post = new Post();
+            post.setTitle(name + " post " + i);
+            post.setBody("body");
+            post.setTags(List.of(tag));
+            post.setCreatedAt(Instant.now());
+            post.setUpdatedAt(Instant.now());
+            entityManager.persist(post);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        return tag;
+    }
+
+    private Statistics resetStatistics() {
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
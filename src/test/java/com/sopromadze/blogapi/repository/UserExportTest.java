@@ -0,0 +1,137 @@
+package com.sopromadze.blogapi.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sopromadze.blogapi.model.Album;
+import com.sopromadze.blogapi.model.Comment;
+import com.sopromadze.blogapi.model.Photo;
+import com.sopromadze.blogapi.model.Post;
+import com.sopromadze.blogapi.model.audit.UserDateAudit;
+import com.sopromadze.blogapi.model.user.User;
+import com.sopromadze.blogapi.service.UserExportService.ExportFormat;
+import com.sopromadze.blogapi.service.UserExportService.ExportType;
+import com.sopromadze.blogapi.service.impl.UserExportServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Streams every export query against H2 with the default fetch size.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class UserExportTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private UserExportServiceImpl userExportService;
+
+    private Long userId;
+
+    private Post post;
+
+    private Album album;
+
+    @BeforeEach
+    void setUp() {
+        userExportService = new UserExportServiceImpl(userRepository, entityManager, objectMapper);
+        ReflectionTestUtils.setField(userExportService, "fetchSize", 500);
+
+        User user = new User("Ada", "Lovelace", "ada", "ada@example.com", "password");
+        user.setCreatedAt(Instant.now());
+        user.setUpdatedAt(Instant.now());
+        userId = testEntityManager.persist(user).getId();
+
+        post = new Post();
+        post.setTitle("Exported post");
+        post.setBody("Body of the exported post");
+        post.setUser(user);
+        testEntityManager.persist(audited(post));
+
+        Comment comment = new Comment("Comment on the exported post");
+        comment.setName("Ada Lovelace");
+        comment.setEmail("ada@example.com");
+        comment.setPost(post);
+        comment.setUser(user);
+        testEntityManager.persist(audited(comment));
+
+        album = new Album();
+        album.setTitle("Exported album");
+        album.setUser(user);
+        testEntityManager.persist(audited(album));
+
+        testEntityManager.persist(audited(new Photo("Exported photo", "https://example.com/1",
+                "https://example.com/thumb/1", album)));
+        testEntityManager.flush();
+        testEntityManager.clear();
+    }
+
+    @Test
+    void export_givenPosts_shouldStreamRows() throws Exception {
+        JsonNode row = exportSingleRow(ExportType.POSTS);
+
+        assertEquals(post.getId().longValue(), row.get("id").asLong());
+        assertEquals("Exported post", row.get("title").asText());
+    }
+
+    @Test
+    void export_givenComments_shouldStreamRows() throws Exception {
+        JsonNode row = exportSingleRow(ExportType.COMMENTS);
+
+        assertEquals(post.getId().longValue(), row.get("postId").asLong());
+        assertEquals("Comment on the exported post", row.get("body").asText());
+    }
+
+    @Test
+    void export_givenAlbums_shouldStreamRows() throws Exception {
+        JsonNode row = exportSingleRow(ExportType.ALBUMS);
+
+        assertEquals(album.getId().longValue(), row.get("id").asLong());
+        assertEquals("Exported album", row.get("title").asText());
+    }
+
+    @Test
+    void export_givenPhotos_shouldStreamRows() throws Exception {
+        JsonNode row = exportSingleRow(ExportType.PHOTOS);
+
+        assertEquals(album.getId().longValue(), row.get("albumId").asLong());
+        assertEquals("https://example.com/1", row.get("url").asText());
+    }
+
+    private JsonNode exportSingleRow(ExportType type) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        userExportService.export(userId, type, ExportFormat.NDJSON, output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8.name()).split("\n");
+        assertEquals(1, lines.length);
+        return objectMapper.readTree(lines[0]);
+    }
+
+    private <T extends UserDateAudit> T audited(T entity) {
+        entity.setCreatedBy(userId);
+        entity.setUpdatedBy(userId);
+        entity.setCreatedAt(Instant.now());
+        entity.setUpdatedAt(Instant.now());
+        return entity;
+    }
+}
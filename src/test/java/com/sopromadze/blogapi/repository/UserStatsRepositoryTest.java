@@ -0,0 +1,87 @@
+package com.sopromadze.blogapi.repository;
+
+import com.sopromadze.blogapi.model.Post;
+import com.sopromadze.blogapi.model.user.User;
+import com.sopromadze.blogapi.model.user.UserStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class UserStatsRepositoryTest {
+
+    @Autowired
+    UserStatsRepository userStatsRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        entityManager.persist(new UserStats(1L, 3, 10, 1, 20, 2));
+        entityManager.flush();
+    }
+
+    @Test
+    void adjustCounts_givenDeltas_thenCountersAreUpdatedRelatively() {
+        assertEquals(1, userStatsRepository.adjustPostCount(1L, 1));
+        userStatsRepository.adjustPhotoCount(1L, -5);
+        userStatsRepository.adjustTodoCount(1L, 1);
+        entityManager.clear();
+
+        UserStats stats = userStatsRepository.findById(1L).get();
+        assertEquals(4, stats.getPostCount());
+        assertEquals(10, stats.getCommentCount());
+        assertEquals(15, stats.getPhotoCount());
+        assertEquals(3, stats.getTodoCount());
+    }
+
+    @Test
+    void subtractCommentCounts_givenGroupedCounts_thenDecrementsEachUser() {
+        userStatsRepository.subtractCommentCounts(Collections.singletonList(new Object[] { 1L, 4L }));
+        entityManager.clear();
+
+        assertEquals(6, userStatsRepository.findById(1L).get().getCommentCount());
+    }
+
+    @Test
+    void adjustPostCount_givenUserWithoutStats_thenUpdatesNothing() {
+        assertEquals(0, userStatsRepository.adjustPostCount(2L, 1));
+    }
+
+    @Test
+    void insertMissing_givenUserWithoutStats_thenCreatesRowFromExistingRows() {
+        entityManager.remove(entityManager.find(UserStats.class, 1L));
+        User user = new User("Ada", "Lovelace", "ada", "ada@example.com", "password");
+        user.setCreatedAt(Instant.now());
+        user.setUpdatedAt(Instant.now());
+        entityManager.persist(user);
+        for (int i = 0; i < 2; i++) {
+            Post post = new Post();
+            post.setTitle("Post " + i);
+            post.setBody("Body");
+            post.setCreatedBy(user.getId());
+            post.setCreatedAt(Instant.now());
+            post.setUpdatedAt(Instant.now());
+            entityManager.persist(post);
+        }
+        entityManager.flush();
+
+        assertTrue(userStatsRepository.insertMissing() >= 1);
+        assertEquals(0, userStatsRepository.insertMissing());
+        entityManager.clear();
+
+        UserStats stats = userStatsRepository.findById(user.getId()).get();
+        assertEquals(2, stats.getPostCount());
+        assertEquals(0, stats.getCommentCount());
+    }
+}
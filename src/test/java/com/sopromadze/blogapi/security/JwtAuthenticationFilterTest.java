@@ -0,0 +1,129 @@
+package com.sopromadze.blogapi.security;
+
+import com.sopromadze.blogapi.service.CustomUserDetailsService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JwtAuthenticationFilterTest {
+
+    private final JwtTokenProvider tokenProvider = mock(JwtTokenProvider.class);
+
+    private final CustomUserDetailsService userDetailsService = mock(CustomUserDetailsService.class);
+
+    private final UserPrincipal databasePrincipal = new UserPrincipal(7L, "Ada", "Lovelace", "ada",
+            "ada@example.com", "hash", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+
+    private final UserPrincipal claimsPrincipal = new UserPrincipal(7L, "Ada", "Lovelace", "ada", null, null,
+            List.of(new SimpleGrantedAuthority("ROLE_USER")));
+
+    private JwtAuthenticationFilter filter;
+
+    private Claims claims;
+
+    @BeforeEach
+    void setUp() {
+        filter = new JwtAuthenticationFilter(tokenProvider, userDetailsService);
+        ReflectionTestUtils.setField(filter, "stateless", true);
+        ReflectionTestUtils.setField(filter, "dbLookupPaths", new String[] { "/api/users/**" });
+
+        claims = Jwts.claims().setSubject("7");
+        when(tokenProvider.parseToken("token")).thenReturn(claims);
+        when(userDetailsService.loadUserById(7L)).thenReturn(databasePrincipal);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void statelessRequest_thenPrincipalComesFromClaims() throws Exception {
+        when(tokenProvider.getUserPrincipalFromClaims(claims)).thenReturn(claimsPrincipal);
+
+        filter.doFilter(request("/api/posts"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertSame(claimsPrincipal, authentication().getPrincipal());
+        verify(userDetailsService, never()).loadUserById(anyLong());
+    }
+
+    @Test
+    void statelessRequest_givenDbLookupPath_thenPrincipalIsLoaded() throws Exception {
+        when(tokenProvider.getUserPrincipalFromClaims(claims)).thenReturn(claimsPrincipal);
+
+        filter.doFilter(request("/api/users/ada/profile"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertSame(databasePrincipal, authentication().getPrincipal());
+    }
+
+    @Test
+    void statelessRequest_givenClaimsWithoutPrincipal_thenPrincipalIsLoaded() throws Exception {
+        when(tokenProvider.getUserPrincipalFromClaims(claims)).thenReturn(null);
+
+        filter.doFilter(request("/api/posts"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertSame(databasePrincipal, authentication().getPrincipal());
+    }
+
+    @Test
+    void statefulRequest_thenPrincipalIsLoaded() throws Exception {
+        ReflectionTestUtils.setField(filter, "stateless", false);
+
+        filter.doFilter(request("/api/posts"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertSame(databasePrincipal, authentication().getPrincipal());
+        verify(tokenProvider, never()).getUserPrincipalFromClaims(claims);
+    }
+
+    @Test
+    void request_givenInvalidToken_thenStaysAnonymousAndChainContinues() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/posts");
+        request.addHeader("Authorization", "Bearer forged");
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertNull(authentication());
+        assertNotNull(chain.getRequest());
+    }
+
+    @Test
+    void request_givenMalformedSubject_thenStaysAnonymousAndChainContinues() throws Exception {
+        ReflectionTestUtils.setField(filter, "stateless", false);
+        claims.setSubject("ada");
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request("/api/posts"), new MockHttpServletResponse(), chain);
+
+        assertNull(authentication());
+        assertNotNull(chain.getRequest());
+    }
+
+    private static MockHttpServletRequest request(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.addHeader("Authorization", "Bearer token");
+        return request;
+    }
+
+    private static Authentication authentication() {
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,73 @@
+package com.sopromadze.blogapi.security;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SignatureException;
+import io.jsonwebtoken.impl.TextCodec;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtKeyManagerTest {
+
+    private static final String OLD_SECRET = "b2xkLXNlY3JldA==";
+
+    private static final String NEW_SECRET = "bmV3LXNlY3JldA==";
+
+    private final JwtKeyManager rotated = new JwtKeyManager(NEW_SECRET, "v2", "v1:" + OLD_SECRET);
+
+    @Test
+    void signWith_thenTokenCarriesCurrentKeyIdAndVerifies() {
+        String token = rotated.signWith(Jwts.builder().setSubject("1")).compact();
+
+        assertEquals("v2", rotated.parseClaimsJws(token).getHeader().getKeyId());
+        assertEquals("1", rotated.parseClaimsJws(token).getBody().getSubject());
+    }
+
+    @Test
+    void parseClaimsJws_givenTokenSignedWithRetiredKey_thenVerifies() {
+        JwtKeyManager beforeRotation = new JwtKeyManager(OLD_SECRET, "v1", "");
+        String token = beforeRotation.signWith(Jwts.builder().setSubject("1")).compact();
+
+        assertEquals("1", rotated.parseClaimsJws(token).getBody().getSubject());
+    }
+
+    @Test
+    void parseClaimsJws_givenUnknownKeyId_thenReject() {
+        String token = Jwts.builder().setSubject("1")
+                .setHeaderParam(JwsHeader.KEY_ID, "v9")
+                .signWith(SignatureAlgorithm.HS512, TextCodec.BASE64.decode(NEW_SECRET))
+                .compact();
+
+        assertThrows(SignatureException.class, () -> rotated.parseClaimsJws(token));
+    }
+
+    @Test
+    void parseClaimsJws_givenKnownKeyIdWithOtherKey_thenReject() {
+        String token = Jwts.builder().setSubject("1")
+                .setHeaderParam(JwsHeader.KEY_ID, "v1")
+                .signWith(SignatureAlgorithm.HS512, TextCodec.BASE64.decode(NEW_SECRET))
+                .compact();
+
+        assertThrows(SignatureException.class, () -> rotated.parseClaimsJws(token));
+    }
+
+    @Test
+    void parseClaimsJws_givenTokenWithoutKeyId_thenUseCurrentKey() {
+        String current = Jwts.builder().setSubject("1")
+                .signWith(SignatureAlgorithm.HS512, TextCodec.BASE64.decode(NEW_SECRET))
+                .compact();
+        String retired = Jwts.builder().setSubject("1")
+                .signWith(SignatureAlgorithm.HS512, TextCodec.BASE64.decode(OLD_SECRET))
+                .compact();
+
+        assertEquals("1", rotated.parseClaimsJws(current).getBody().getSubject());
+        assertThrows(SignatureException.class, () -> rotated.parseClaimsJws(retired));
+    }
+
+    @Test
+    void constructor_givenRetiredKeyWithoutId_thenFail() {
+        assertThrows(IllegalArgumentException.class, () -> new JwtKeyManager(NEW_SECRET, "v2", OLD_SECRET));
+    }
+}
@@ -0,0 +1,115 @@
+package com.sopromadze.blogapi.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtTokenProviderTest {
+
+    private JwtTokenProvider tokenProvider;
+
+    private UserPrincipal principal;
+
+    @BeforeEach
+    void setUp() {
+        tokenProvider = new JwtTokenProvider(new JwtKeyManager("c2VjcmV0LWtleQ==", "current", ""),
+                new VerifiedTokenCache(100), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationInMs", 60_000);
+
+        principal = new UserPrincipal(7L, "Ada", "Lovelace", "ada", "ada@example.com", "hash",
+                List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN")));
+    }
+
+    @Test
+    void generateToken_thenClaimsRebuildPrincipalWithoutEmail() {
+        Claims claims = tokenProvider.parseToken(generate(principal));
+
+        assertFalse(claims.containsKey("email"));
+
+        UserPrincipal fromClaims = tokenProvider.getUserPrincipalFromClaims(claims);
+        assertEquals(7L, fromClaims.getId());
+        assertEquals("ada", fromClaims.getUsername());
+        assertEquals("Ada", fromClaims.getFirstName());
+        assertEquals("Lovelace", fromClaims.getLastName());
+        assertNull(fromClaims.getEmail());
+        assertNull(fromClaims.getPassword());
+        assertEquals(List.of("ROLE_USER", "ROLE_ADMIN"), authorities(fromClaims));
+    }
+
+    @Test
+    void getUserPrincipalFromClaims_givenTokenWithoutUserClaims_thenReturnNull() {
+        Claims claims = Jwts.claims().setSubject("7");
+
+        assertNull(tokenProvider.getUserPrincipalFromClaims(claims));
+    }
+
+    @Test
+    void getUserPrincipalFromClaims_givenRolesNotAList_thenReturnNull() {
+        Claims claims = Jwts.claims().setSubject("7");
+        claims.put("username", "ada");
+        claims.put("roles", "ROLE_ADMIN");
+
+        assertNull(tokenProvider.getUserPrincipalFromClaims(claims));
+    }
+
+    @Test
+    void getUserPrincipalFromClaims_givenNonStringRole_thenReturnNull() {
+        Claims claims = Jwts.claims().setSubject("7");
+        claims.put("username", "ada");
+        claims.put("roles", List.of(1));
+
+        assertNull(tokenProvider.getUserPrincipalFromClaims(claims));
+    }
+
+    @Test
+    void getUserPrincipalFromClaims_givenNonNumericSubject_thenReturnNull() {
+        Claims claims = Jwts.claims().setSubject("ada");
+        claims.put("username", "ada");
+        claims.put("roles", List.of("ROLE_USER"));
+
+        assertNull(tokenProvider.getUserPrincipalFromClaims(claims));
+    }
+
+    @Test
+    void getUserPrincipalFromClaims_givenNameOfWrongType_thenReturnNull() {
+        Claims claims = Jwts.claims().setSubject("7");
+        claims.put("username", "ada");
+        claims.put("firstName", 42);
+        claims.put("roles", List.of("ROLE_USER"));
+
+        assertNull(tokenProvider.getUserPrincipalFromClaims(claims));
+    }
+
+    @Test
+    void parseToken_givenTamperedToken_thenReturnNull() {
+        String token = generate(principal);
+        int index = token.lastIndexOf('.') + 10;
+        String tampered = token.substring(0, index) + (token.charAt(index) == 'A' ? 'B' : 'A')
+                + token.substring(index + 1);
+
+        assertNull(tokenProvider.parseToken(tampered));
+        assertNull(tokenProvider.parseToken("not-a-token"));
+        assertNull(tokenProvider.parseToken(""));
+    }
+
+    private String generate(UserPrincipal userPrincipal) {
+        return tokenProvider.generateToken(new UsernamePasswordAuthenticationToken(userPrincipal, null,
+                userPrincipal.getAuthorities()));
+    }
+
+    private static List<String> authorities(UserPrincipal userPrincipal) {
+        return userPrincipal.getAuthorities().stream().map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toList());
+    }
+}
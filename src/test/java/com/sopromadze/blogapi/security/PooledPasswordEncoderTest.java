@@ -0,0 +1,161 @@
+package com.sopromadze.blogapi.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sopromadze.blogapi.controller.AuthController;
+import com.sopromadze.blogapi.exception.RestControllerExceptionHandler;
+import com.sopromadze.blogapi.exception.ServiceUnavailableException;
+import com.sopromadze.blogapi.payload.SignUpRequest;
+import com.sopromadze.blogapi.repository.BootstrapFlagRepository;
+import com.sopromadze.blogapi.repository.UserRepository;
+import com.sopromadze.blogapi.repository.UserStatsRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class PooledPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+
+    private PooledPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+        if (encoder != null) {
+            encoder.destroy();
+        }
+    }
+
+    @Test
+    void encodeAndMatches_thenDelegate() {
+        encoder = new PooledPasswordEncoder(new PrefixEncoder(), 1, 1, 1_000, meterRegistry);
+
+        assertEquals("hash:secret", encoder.encode("secret"));
+        assertTrue(encoder.matches("secret", "hash:secret"));
+        assertFalse(encoder.matches("other", "hash:secret"));
+    }
+
+    @Test
+    void encode_givenWorkersAndQueueBusy_thenRejectWithoutWaiting() throws Exception {
+        encoder = new PooledPasswordEncoder(new BlockingEncoder(), 1, 1, 10_000, meterRegistry);
+        Future<String> running = callers.submit(() -> encoder.encode("running"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<String> queued = callers.submit(() -> encoder.encode("queued"));
+        awaitQueueSize(1);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(2),
+                () -> assertThrows(ServiceUnavailableException.class, () -> encoder.encode("rejected")));
+        assertEquals(1.0, rejected());
+
+        release.countDown();
+        assertEquals("hash:running", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash:queued", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void encode_givenWaitLongerThanMaxWait_thenGiveUpAndFreeQueueSlot() throws Exception {
+        encoder = new PooledPasswordEncoder(new BlockingEncoder(), 1, 1, 100, meterRegistry);
+        callers.submit(() -> encoder.encode("running"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertThrows(ServiceUnavailableException.class, () -> encoder.encode("timed out"));
+        assertEquals(1.0, rejected());
+        assertEquals(0.0, meterRegistry.get("blogapi.password.queue.size").gauge().value());
+    }
+
+    @Test
+    void signUp_givenSaturatedPool_thenServiceUnavailableWithRetryAfter() throws Exception {
+        encoder = new PooledPasswordEncoder(new BlockingEncoder(), 1, 1, 100, meterRegistry);
+        callers.submit(() -> encoder.encode("running"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        AuthController authController = new AuthController(mock(AuthenticationManager.class),
+                mock(UserRepository.class), mock(RoleRegistry.class), mock(BootstrapFlagRepository.class),
+                mock(UserStatsRepository.class), encoder, mock(JwtTokenProvider.class),
+                mock(TransactionTemplate.class));
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(authController)
+                .setControllerAdvice(new RestControllerExceptionHandler())
+                .build();
+
+        SignUpRequest signUpRequest = new SignUpRequest();
+        signUpRequest.setFirstName("Grace");
+        signUpRequest.setLastName("Hopper");
+        signUpRequest.setUsername("grace");
+        signUpRequest.setEmail("grace@example.com");
+        signUpRequest.setPassword("password");
+
+        mockMvc.perform(post("/api/auth/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsString(signUpRequest)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    private double rejected() {
+        return meterRegistry.get("blogapi.password.rejected").counter().count();
+    }
+
+    private void awaitQueueSize(int size) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("blogapi.password.queue.size").gauge().value() < size) {
+            assertTrue(System.nanoTime() < deadline, "operation was never queued");
+            Thread.sleep(5);
+        }
+    }
+
+    private static class PrefixEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+
+    /**
+     * Holds every worker until the test releases it.
+     */
+    private class BlockingEncoder extends PrefixEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return super.encode(rawPassword);
+        }
+    }
+}
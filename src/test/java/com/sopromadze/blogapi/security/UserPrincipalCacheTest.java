@@ -0,0 +1,108 @@
+package com.sopromadze.blogapi.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserPrincipalCacheTest {
+
+    @Test
+    void getById_givenCachedPrincipal_thenReturnIt() {
+        UserPrincipalCache cache = new UserPrincipalCache(10, 60_000);
+        UserPrincipal ada = principal(1L, "ada", "ada@example.com");
+        cache.put(ada);
+
+        assertSame(ada, cache.getById(1L));
+        assertNull(cache.getById(2L));
+    }
+
+    @Test
+    void getByUsernameOrEmail_givenEitherLogin_thenReturnPrincipal() {
+        UserPrincipalCache cache = new UserPrincipalCache(10, 60_000);
+        UserPrincipal ada = principal(1L, "ada", "ada@example.com");
+        cache.put(ada);
+
+        assertSame(ada, cache.getByUsernameOrEmail("ada"));
+        assertSame(ada, cache.getByUsernameOrEmail("ada@example.com"));
+        assertNull(cache.getByUsernameOrEmail("grace"));
+    }
+
+    @Test
+    void getById_givenExpiredEntry_thenMissAndDropLogins() {
+        UserPrincipalCache cache = new UserPrincipalCache(10, 0);
+        cache.put(principal(1L, "ada", "ada@example.com"));
+
+        assertNull(cache.getById(1L));
+        assertNull(cache.getByUsernameOrEmail("ada"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void put_givenFullCache_thenEvictLeastRecentlyUsedWithItsLogins() {
+        UserPrincipalCache cache = new UserPrincipalCache(2, 60_000);
+        cache.put(principal(1L, "ada", "ada@example.com"));
+        cache.put(principal(2L, "grace", "grace@example.com"));
+        cache.getById(1L);
+
+        cache.put(principal(3L, "alan", "alan@example.com"));
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.getById(1L));
+        assertNull(cache.getById(2L));
+        assertNull(cache.getByUsernameOrEmail("grace"));
+        assertNull(cache.getByUsernameOrEmail("grace@example.com"));
+        assertNotNull(cache.getByUsernameOrEmail("alan"));
+    }
+
+    @Test
+    void invalidate_thenOldLoginsNoLongerResolve() {
+        UserPrincipalCache cache = new UserPrincipalCache(10, 60_000);
+        cache.put(principal(1L, "ada", "ada@example.com"));
+
+        cache.invalidate(1L);
+
+        assertNull(cache.getById(1L));
+        assertNull(cache.getByUsernameOrEmail("ada"));
+        assertNull(cache.getByUsernameOrEmail("ada@example.com"));
+    }
+
+    @Test
+    void put_givenRenamedUser_thenOldUsernameNoLongerResolves() {
+        UserPrincipalCache cache = new UserPrincipalCache(10, 60_000);
+        cache.put(principal(1L, "ada", "ada@example.com"));
+
+        cache.invalidate(1L);
+        cache.put(principal(1L, "countess", "ada@example.com"));
+
+        assertNull(cache.getByUsernameOrEmail("ada"));
+        assertEquals("countess", cache.getByUsernameOrEmail("ada@example.com").getUsername());
+    }
+
+    @Test
+    void invalidate_givenLoginTakenOverByAnotherUser_thenKeepTheNewOwner() {
+        UserPrincipalCache cache = new UserPrincipalCache(10, 60_000);
+        cache.put(principal(1L, "ada", "ada@example.com"));
+        cache.put(principal(2L, "ada", "other@example.com"));
+
+        cache.invalidate(1L);
+
+        assertEquals(2L, cache.getByUsernameOrEmail("ada").getId());
+    }
+
+    @Test
+    void put_givenZeroMaxSize_thenCacheNothing() {
+        UserPrincipalCache cache = new UserPrincipalCache(0, 60_000);
+        cache.put(principal(1L, "ada", "ada@example.com"));
+
+        assertNull(cache.getById(1L));
+        assertNull(cache.getByUsernameOrEmail("ada"));
+    }
+
+    private static UserPrincipal principal(Long id, String username, String email) {
+        return new UserPrincipal(id, "First", "Last", username, email, "hash",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+}
@@ -0,0 +1,113 @@
+package com.sopromadze.blogapi.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedTokenCacheTest {
+
+    @Test
+    void get_givenCachedToken_thenReturnClaimsAndCountHit() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        Claims claims = claims(60_000);
+        cache.put("header.payload.signature", claims);
+
+        assertEquals(claims.getSubject(), cache.get("header.payload.signature").getSubject());
+        assertNull(cache.get("header.payload.other"));
+        assertEquals(0.5, cache.hitRate());
+    }
+
+    @Test
+    void get_givenTokenDifferingOnlyInSignature_thenMiss() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        cache.put("header.payload.signature", claims(60_000));
+
+        assertNull(cache.get("header.payload.signaturf"));
+        assertNull(cache.get("header.payload.signature."));
+    }
+
+    @Test
+    void get_givenExpiredToken_thenMissAndDropIt() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        cache.put("expired", claims(-1_000));
+
+        assertNull(cache.get("expired"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void put_givenFullCache_thenStayWithinMaxSize() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(2);
+        cache.put("first", claims(60_000));
+        cache.put("second", claims(60_000));
+        cache.put("third", claims(60_000));
+
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void get_givenCachedToken_thenReturnReadOnlySnapshot() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        Claims claims = claims(60_000);
+        claims.put("roles", new ArrayList<>(List.of("ROLE_USER")));
+        cache.put("token", claims);
+        claims.setSubject("2");
+
+        Claims cached = cache.get("token");
+
+        assertEquals("1", cached.getSubject());
+        assertThrows(UnsupportedOperationException.class, () -> cached.setSubject("3"));
+        assertThrows(UnsupportedOperationException.class, () -> cached.get("roles", List.class).add("ROLE_ADMIN"));
+        assertEquals("1", cache.get("token").getSubject());
+    }
+
+    @Test
+    void get_givenConcurrentLookups_thenEveryLookupHits() throws Exception {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        cache.put("token", claims(60_000));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Claims>> lookups = new ArrayList<>();
+            for (int i = 0; i < 1_000; i++) {
+                lookups.add(executor.submit(() -> cache.get("token")));
+            }
+
+            for (Future<Claims> lookup : lookups) {
+                assertEquals("1", lookup.get().getSubject());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1.0, cache.hitRate());
+    }
+
+    @Test
+    void put_givenTokenWithoutExpiration_thenNotCached() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        cache.put("token", Jwts.claims().setSubject("1"));
+
+        assertNull(cache.get("token"));
+    }
+
+    @Test
+    void put_givenZeroMaxSize_thenCacheNothing() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(0);
+        cache.put("token", claims(60_000));
+
+        assertNull(cache.get("token"));
+        assertEquals(0, cache.size());
+    }
+
+    private static Claims claims(long expiresInMs) {
+        return Jwts.claims().setSubject("1").setExpiration(new Date(System.currentTimeMillis() + expiresInMs));
+    }
+}
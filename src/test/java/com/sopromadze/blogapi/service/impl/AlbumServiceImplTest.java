@@ -8,7 +8,9 @@ import com.sopromadze.blogapi.payload.AlbumResponse;
 import com.sopromadze.blogapi.payload.PagedResponse;
 import com.sopromadze.blogapi.payload.request.AlbumRequest;
 import com.sopromadze.blogapi.repository.AlbumRepository;
+import com.sopromadze.blogapi.repository.PhotoRepository;
 import com.sopromadze.blogapi.repository.UserRepository;
+import com.sopromadze.blogapi.repository.UserStatsRepository;
 import com.sopromadze.blogapi.security.UserPrincipal;
 import lombok.extern.java.Log;
 import org.hibernate.engine.spi.Status;
@@ -49,6 +51,12 @@ public class AlbumServiceImplTest {
     @Mock
     private ModelMapper modelMapper;
 
+    @Mock
+    private PhotoRepository photoRepository;
+
+    @Mock
+    private UserStatsRepository userStatsRepository;
+
     @InjectMocks
     AlbumServiceImpl albumService;
 
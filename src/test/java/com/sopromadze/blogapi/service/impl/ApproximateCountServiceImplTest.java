@@ -0,0 +1,62 @@
+package com.sopromadze.blogapi.service.impl;
+
+import com.sopromadze.blogapi.repository.PhotoRepository;
+import com.sopromadze.blogapi.repository.PostRepository;
+import com.sopromadze.blogapi.repository.UserStatsRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ApproximateCountServiceImplTest {
+
+    @Mock
+    PostRepository postRepository;
+
+    @Mock
+    PhotoRepository photoRepository;
+
+    @Mock
+    UserStatsRepository userStatsRepository;
+
+    @InjectMocks
+    ApproximateCountServiceImpl approximateCountService;
+
+    @Test
+    void countPosts_thenReadOnceUntilRefresh() {
+        when(userStatsRepository.sumPostCount()).thenReturn(12L);
+        when(photoRepository.count()).thenReturn(30L);
+
+        assertEquals(12L, approximateCountService.countPosts());
+        assertEquals(30L, approximateCountService.countPhotos());
+        assertEquals(12L, approximateCountService.countPosts());
+
+        verify(userStatsRepository, times(1)).sumPostCount();
+    }
+
+    @Test
+    void countPostsByCreatedBy_givenStatsRow_thenReadCounter() {
+        when(userStatsRepository.findPostCountByUserId(1L)).thenReturn(Optional.of(7L));
+
+        assertEquals(7L, approximateCountService.countPostsByCreatedBy(1L));
+        verify(postRepository, never()).countByCreatedBy(1L);
+    }
+
+    @Test
+    void countPostsByCreatedBy_givenNoStatsRow_thenCountPosts() {
+        when(userStatsRepository.findPostCountByUserId(2L)).thenReturn(Optional.empty());
+        when(postRepository.countByCreatedBy(2L)).thenReturn(3L);
+
+        assertEquals(3L, approximateCountService.countPostsByCreatedBy(2L));
+    }
+}
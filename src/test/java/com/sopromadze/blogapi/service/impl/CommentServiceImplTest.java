@@ -10,6 +10,7 @@ import com.sopromadze.blogapi.payload.CommentRequest;
 import com.sopromadze.blogapi.repository.CommentRepository;
 import com.sopromadze.blogapi.repository.PostRepository;
 import com.sopromadze.blogapi.repository.UserRepository;
+import com.sopromadze.blogapi.repository.UserStatsRepository;
 import com.sopromadze.blogapi.security.UserPrincipal;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -28,6 +29,7 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -43,6 +45,9 @@ public class CommentServiceImplTest {
     @Mock
     private CommentRepository commentRepository;
 
+    @Mock
+    private UserStatsRepository userStatsRepository;
+
     @Mock
     private ModelMapper modelMapper;
 
@@ -176,6 +181,48 @@ public class CommentServiceImplTest {
         assertEquals(commentService.addComment(cr, any(), ernestoPrincipal).getPost().getTitle(), post.getTitle());
     }
 
+    @Test
+    void addComment_givenPost_shouldIncrementCommentCount() {
+        CommentRequest cr = new CommentRequest();
+        cr.setBody("Este es el cuerpo del comentario");
+
+        Post post = new Post();
+        post.setId(1L);
+
+        UserPrincipal ernestoPrincipal = new UserPrincipal(1L,"Ernesto","Fatuarte", "efatuarte","efatuarte@gmail.com","123456789", List.of(new SimpleGrantedAuthority(RoleName.ROLE_USER.toString())));
+
+        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+        when(commentRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        commentService.addComment(cr, 1L, ernestoPrincipal);
+
+        verify(postRepository).adjustCommentCount(1L, 1);
+        verify(userStatsRepository).adjustCommentCount(1L, 1);
+    }
+
+    @Test
+    void deleteComment_givenOwnComment_shouldDecrementCommentCount() {
+        Post post = new Post();
+        post.setId(1L);
+
+        User ernesto = new User("Ernesto","Fatuarte", "efatuarte","efatuarte@gmail.com","123456789");
+        ernesto.setId(1L);
+
+        Comment comment = new Comment();
+        comment.setId(2L);
+        comment.setPost(post);
+        comment.setUser(ernesto);
+
+        UserPrincipal ernestoPrincipal = new UserPrincipal(1L,"Ernesto","Fatuarte", "efatuarte","efatuarte@gmail.com","123456789", List.of(new SimpleGrantedAuthority(RoleName.ROLE_USER.toString())));
+
+        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+        when(commentRepository.findById(2L)).thenReturn(Optional.of(comment));
+
+        assertTrue(commentService.deleteComment(1L, 2L, ernestoPrincipal).getSuccess());
+        verify(commentRepository).deleteById(2L);
+        verify(postRepository).adjustCommentCount(1L, -1);
+    }
+
     @Test
     void addComment_givenPostAndNonExistingUser_shouldThrowResourceNotFoundException(){
 
@@ -2,18 +2,24 @@ package com.sopromadze.blogapi.service.impl;
 
 import com.sopromadze.blogapi.exception.BlogapiException;
 import com.sopromadze.blogapi.exception.ResourceNotFoundException;
+import com.sopromadze.blogapi.exception.UnauthorizedException;
 import com.sopromadze.blogapi.model.Album;
 import com.sopromadze.blogapi.model.Photo;
 import com.sopromadze.blogapi.model.role.RoleName;
 import com.sopromadze.blogapi.model.user.User;
 import com.sopromadze.blogapi.payload.ApiResponse;
+import com.sopromadze.blogapi.payload.CursorPagedResponse;
 import com.sopromadze.blogapi.payload.PagedResponse;
 import com.sopromadze.blogapi.payload.PhotoRequest;
 import com.sopromadze.blogapi.payload.PhotoResponse;
+import com.sopromadze.blogapi.payload.TotalMode;
 import com.sopromadze.blogapi.repository.AlbumRepository;
 import com.sopromadze.blogapi.repository.PhotoRepository;
+import com.sopromadze.blogapi.repository.UserStatsRepository;
 import com.sopromadze.blogapi.security.UserPrincipal;
+import com.sopromadze.blogapi.service.ApproximateCountService;
 import com.sopromadze.blogapi.utils.AppUtils;
+import com.sopromadze.blogapi.utils.KeysetCursor;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -43,6 +49,12 @@ class PhotoServiceImplTest {
     @Mock
     AlbumRepository albumRepository;
 
+    @Mock
+    ApproximateCountService approximateCountService;
+
+    @Mock
+    UserStatsRepository userStatsRepository;
+
     @InjectMocks
     PhotoServiceImpl photoService;
 
@@ -99,6 +111,7 @@ class PhotoServiceImplTest {
         UserPrincipal dianaUser = UserPrincipal.builder().id(1L).username(diana.getUsername()).authorities(Arrays.asList(new SimpleGrantedAuthority(RoleName.ROLE_USER.toString()))).username(diana.getUsername()).password("1234567").build();
 
         Mockito.lenient().when(photoRepository.findById(foto.getId())).thenReturn(Optional.of(foto));
+        Mockito.when(photoRepository.existsByIdAndAlbumUserId(foto.getId(), dianaUser.getId())).thenReturn(true);
         ApiResponse a = new ApiResponse(Boolean.TRUE, "Photo deleted successfully");
         Mockito.doNothing().when(photoRepository).deleteById(foto.getId());
         assertEquals(a, photoService.deletePhoto(foto.getId(), dianaUser ));
@@ -128,6 +141,7 @@ class PhotoServiceImplTest {
         UserPrincipal dianaAdmin = UserPrincipal.builder().id(1L).username(diana.getUsername()).authorities(Arrays.asList(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))).username(diana.getUsername()).password("1234567").build();
 
         Mockito.lenient().when(photoRepository.findById(foto.getId())).thenReturn(Optional.of(foto));
+        Mockito.when(photoRepository.existsById(foto.getId())).thenReturn(true);
         ApiResponse a = new ApiResponse(Boolean.TRUE, "Photo deleted successfully");
         Mockito.doNothing().when(photoRepository).deleteById(foto.getId());
         assertEquals(a, photoService.deletePhoto(foto.getId(), dianaAdmin ));
@@ -154,7 +168,7 @@ class PhotoServiceImplTest {
 
         Photo foto = Photo.builder().id(1L).title("Esto es una foto").album(album).url("jdsldfsdfs").thumbnailUrl("ksddksfdfs").id(1L).build();
         PhotoResponse p = new PhotoResponse(foto.getId(), foto.getTitle(), foto.getUrl(), foto.getThumbnailUrl(), album.getId());
-        Mockito.when(photoRepository.findById(foto.getId())).thenReturn(Optional.of(foto));
+        Mockito.when(photoRepository.findResponseById(foto.getId())).thenReturn(Optional.of(p));
         assertEquals(p, photoService.getPhoto(foto.getId()));
     }
 
@@ -166,9 +180,9 @@ class PhotoServiceImplTest {
         Photo foto = Photo.builder().title("Esto es una foto").album(a).url("jdsldfsdfs").thumbnailUrl("ksddksfdfs").id(1L).build();
         Pageable pageable = PageRequest.of(0, 1, Sort.Direction.DESC, CREATED_AT);
 
-        Page<Photo> photos = new PageImpl<>(List.of(foto));
-
         PhotoResponse p = new PhotoResponse(foto.getId(), foto.getTitle(), foto.getUrl(), foto.getThumbnailUrl(), a.getId());
+        Page<PhotoResponse> photos = new PageImpl<>(List.of(p));
+
         PagedResponse<PhotoResponse> paginas = new PagedResponse<>();
 
         paginas.setLast(true);
@@ -178,10 +192,66 @@ class PhotoServiceImplTest {
         paginas.setTotalElements(1);
         paginas.setContent(List.of(p));
 
-        Mockito.when(photoRepository.findAll(pageable)).thenReturn(photos);
+        Mockito.when(photoRepository.findAllResponses(pageable)).thenReturn(photos);
         assertEquals(paginas, photoService.getAllPhotos(0, 1));
     }
 
+    @Test
+    void askingForAllPhotosWithoutTotal_thenReturnUnknownTotals(){
+
+        Album a = Album.builder().id(1L).title("Título album").build();
+        Photo foto = Photo.builder().title("Esto es una foto").album(a).url("jdsldfsdfs").thumbnailUrl("ksddksfdfs").id(1L).build();
+        Pageable pageable = PageRequest.of(0, 1, Sort.Direction.DESC, CREATED_AT);
+
+        PhotoResponse p = new PhotoResponse(foto.getId(), foto.getTitle(), foto.getUrl(), foto.getThumbnailUrl(), a.getId());
+        PagedResponse<PhotoResponse> paginas = new PagedResponse<>();
+
+        paginas.setLast(true);
+        paginas.setSize(1);
+        paginas.setPage(0);
+        paginas.setTotalPages(-1);
+        paginas.setTotalElements(PagedResponse.UNKNOWN_TOTAL);
+        paginas.setContent(List.of(p));
+
+        Mockito.when(photoRepository.findAllResponsesAsSlice(pageable)).thenReturn(new SliceImpl<>(List.of(p), pageable, false));
+        assertEquals(paginas, photoService.getAllPhotos(0, 1, TotalMode.NONE));
+        Mockito.verify(photoRepository, Mockito.never()).count();
+    }
+
+    @Test
+    void askingForPhotosAfterCursor_thenReturnProjectedPageWithNextCursor(){
+        Instant newest = Instant.parse("2021-01-02T00:00:00Z");
+        Instant older = Instant.parse("2021-01-01T00:00:00Z");
+        PhotoResponse p1 = new PhotoResponse(3L, "Primera", "url1", "thumb1", 1L, newest);
+        PhotoResponse p2 = new PhotoResponse(2L, "Segunda", "url2", "thumb2", 1L, older);
+
+        Mockito.when(photoRepository.findLatest(PageRequest.of(0, 2))).thenReturn(List.of(p1, p2));
+        CursorPagedResponse<PhotoResponse> first = photoService.getAllPhotos(null, 1);
+
+        assertEquals(List.of(p1), first.getContent());
+        assertEquals(KeysetCursor.encode(newest, 3L), first.getNextCursor());
+        assertFalse(first.isLast());
+
+        Mockito.when(photoRepository.findLatestBefore(newest, 3L, PageRequest.of(0, 2))).thenReturn(List.of(p2));
+        CursorPagedResponse<PhotoResponse> second = photoService.getAllPhotos(first.getNextCursor(), 1);
+
+        assertEquals(List.of(p2), second.getContent());
+        assertNull(second.getNextCursor());
+        assertTrue(second.isLast());
+    }
+
+    @Test
+    void deletePhotoOfAnotherUser_thenThrowUnauthorizedWithoutLoadingAlbum() {
+        UserPrincipal otherUser = UserPrincipal.builder().id(2L).username("otro").authorities(Arrays.asList(new SimpleGrantedAuthority(RoleName.ROLE_USER.toString()))).password("1234567").build();
+
+        Mockito.when(photoRepository.existsByIdAndAlbumUserId(1L, 2L)).thenReturn(false);
+        Mockito.when(photoRepository.existsById(1L)).thenReturn(true);
+
+        assertThrows(UnauthorizedException.class, () -> photoService.deletePhoto(1L, otherUser));
+        Mockito.verify(photoRepository, Mockito.never()).findById(1L);
+        Mockito.verify(photoRepository, Mockito.never()).deleteById(1L);
+    }
+
     @Test
     void askingFotUpdatePhoto_thenReturnPageResponseBeingAdmin(){
         User diana = User.builder()
@@ -235,6 +305,7 @@ class PhotoServiceImplTest {
 
         Mockito.when(albumRepository.findById(pr.getAlbumId())).thenReturn(Optional.of(album));
         Mockito.when(photoRepository.findById(foto.getId())).thenReturn(Optional.of(foto));
+        Mockito.when(photoRepository.existsByIdAndAlbumUserId(foto.getId(), dianaUser.getId())).thenReturn(true);
         Mockito.when(photoRepository.save(foto)).thenReturn(foto);
 
         assertEquals(p, photoService.updatePhoto(foto.getId(), pr, dianaUser));
@@ -318,7 +389,7 @@ class PhotoServiceImplTest {
         Photo foto = Photo.builder().title("Esto es una foto").album(album).url("jdsldfsdfs").thumbnailUrl("ksddksfdfs").id(1L).build();
         Pageable pageable = PageRequest.of(0, 1, Sort.Direction.DESC, CREATED_AT);
         PhotoResponse p = new PhotoResponse(foto.getId(), foto.getTitle(), foto.getUrl(), foto.getThumbnailUrl(), album.getId());
-        Page<Photo> photos = new PageImpl<>(List.of(foto));
+        Page<PhotoResponse> photos = new PageImpl<>(List.of(p));
 
         PagedResponse<PhotoResponse> paginas = new PagedResponse<>();
 
@@ -328,7 +399,7 @@ class PhotoServiceImplTest {
         paginas.setTotalPages(1);
         paginas.setTotalElements(1);
         paginas.setContent(List.of(p));
-        Mockito.when(photoRepository.findByAlbumId(album.getId(), pageable)).thenReturn(photos);
+        Mockito.when(photoRepository.findResponsesByAlbumId(album.getId(), pageable)).thenReturn(photos);
 
         assertEquals(paginas, photoService.getAllPhotosByAlbum(album.getId(), 0, 1));
     }
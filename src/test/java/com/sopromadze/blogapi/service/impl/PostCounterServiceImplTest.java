@@ -0,0 +1,72 @@
+package com.sopromadze.blogapi.service.impl;
+
+import com.sopromadze.blogapi.model.JobLock;
+import com.sopromadze.blogapi.repository.PostRepository;
+import com.sopromadze.blogapi.service.JobLockService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class PostCounterServiceImplTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private JobLockService jobLockService;
+
+    @InjectMocks
+    private PostCounterServiceImpl postCounterService;
+
+    @Test
+    void reconcile_givenDriftedCounters_shouldApplyDifferenceAsDelta() {
+        when(jobLockService.tryLock(eq(JobLock.POST_COUNTERS), anyLong())).thenReturn(true);
+        when(postRepository.findCommentCountDrift()).thenReturn(List.of(
+                new Object[] { 1L, 5, 3L },
+                new Object[] { 2L, 0, 4L }));
+        when(postRepository.findTagCountDrift()).thenReturn(
+                Collections.singletonList(new Object[] { 3L, 2, 1L }));
+
+        assertEquals(3, postCounterService.reconcile());
+
+        verify(postRepository).adjustCommentCount(1L, -2);
+        verify(postRepository).adjustCommentCount(2L, 4);
+        verify(postRepository).adjustTagCount(3L, -1);
+    }
+
+    @Test
+    void reconcile_givenNoDrift_shouldNotUpdate() {
+        when(jobLockService.tryLock(eq(JobLock.POST_COUNTERS), anyLong())).thenReturn(true);
+        when(postRepository.findCommentCountDrift()).thenReturn(Collections.emptyList());
+        when(postRepository.findTagCountDrift()).thenReturn(Collections.emptyList());
+
+        assertEquals(0, postCounterService.reconcile());
+
+        verify(postRepository).findCommentCountDrift();
+        verify(postRepository).findTagCountDrift();
+        verifyNoMoreInteractions(postRepository);
+    }
+
+    @Test
+    void reconcile_givenLockHeldByAnotherInstance_shouldSkipRun() {
+        when(jobLockService.tryLock(eq(JobLock.POST_COUNTERS), anyLong())).thenReturn(false);
+
+        assertEquals(0, postCounterService.reconcile());
+
+        verifyNoInteractions(postRepository);
+    }
+}
@@ -0,0 +1,169 @@
+package com.sopromadze.blogapi.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sopromadze.blogapi.model.Category;
+import com.sopromadze.blogapi.model.Post;
+import com.sopromadze.blogapi.model.Tag;
+import com.sopromadze.blogapi.model.role.RoleName;
+import com.sopromadze.blogapi.payload.PostImportResult;
+import com.sopromadze.blogapi.repository.CategoryRepository;
+import com.sopromadze.blogapi.repository.PostRepository;
+import com.sopromadze.blogapi.repository.TagRepository;
+import com.sopromadze.blogapi.repository.UserRepository;
+import com.sopromadze.blogapi.repository.UserStatsRepository;
+import com.sopromadze.blogapi.security.UserPrincipal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import javax.persistence.EntityManager;
+import javax.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class PostImportServiceImplTest {
+
+    private static final String BODY = "Cuerpo del post importado con mas de cincuenta caracteres de largo";
+
+    @Mock
+    PostRepository postRepository;
+
+    @Mock
+    TagRepository tagRepository;
+
+    @Mock
+    CategoryRepository categoryRepository;
+
+    @Mock
+    UserRepository userRepository;
+
+    @Mock
+    UserStatsRepository userStatsRepository;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    @Mock
+    EntityManager entityManager;
+
+    PostImportServiceImpl postImportService;
+
+    UserPrincipal admin = new UserPrincipal(1L, "Nombre1", "Apellido1", "admin", "admin@gmail.com", "admin",
+            List.of(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString())));
+
+    AtomicLong ids = new AtomicLong(100);
+
+    @BeforeEach
+    void setUp() {
+        postImportService = new PostImportServiceImpl(postRepository, tagRepository, categoryRepository, userRepository,
+                userStatsRepository, new ObjectMapper(), Validation.buildDefaultValidatorFactory().getValidator(), transactionManager,
+                entityManager);
+        ReflectionTestUtils.setField(postImportService, "chunkSize", 2);
+
+        Category news = new Category("News");
+        news.setId(1L);
+
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(categoryRepository.findByNameIn(any())).thenReturn(List.of(news));
+        when(categoryRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(tagRepository.findByNameIn(any())).thenReturn(List.of());
+        when(tagRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Tag> tags = invocation.getArgument(0);
+            tags.forEach(tag -> tag.setId(ids.incrementAndGet()));
+            return tags;
+        });
+    }
+
+    @Test
+    void importPosts_givenMixedLines_shouldReportEachLineInOrder() throws Exception {
+        when(postRepository.saveAll(anyList())).thenAnswer(invocation -> savePosts(invocation.getArgument(0)));
+
+        String input = record("Primer post importado", "java") + "\n"
+                + "{not json\n"
+                + "\n"
+                + record("Segundo post importado", "JAVA") + "\n"
+                + record("corto", "java") + "\n";
+
+        List<PostImportResult> results = importPosts(input);
+
+        assertEquals(4, results.size());
+        assertEquals(1, results.get(0).getLine());
+        assertTrue(results.get(0).getSuccess());
+        assertNotNull(results.get(0).getPostId());
+        assertEquals(2, results.get(1).getLine());
+        assertFalse(results.get(1).getSuccess());
+        assertEquals(4, results.get(2).getLine());
+        assertTrue(results.get(2).getSuccess());
+        assertEquals(5, results.get(3).getLine());
+        assertFalse(results.get(3).getSuccess());
+
+        verify(tagRepository, times(1)).findByNameIn(any());
+        verify(tagRepository, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    void importPosts_givenFailingChunk_shouldRetryRecordsOneByOne() throws Exception {
+        when(postRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Post> posts = invocation.getArgument(0);
+            if (posts.size() > 1 || posts.get(0).getTitle().equals("Titulo duplicado en la base")) {
+                throw new DataIntegrityViolationException("Duplicate entry");
+            }
+            return savePosts(posts);
+        });
+
+        String input = record("Titulo duplicado en la base", "java") + "\n"
+                + record("Titulo que si se guarda", "java") + "\n";
+
+        List<PostImportResult> results = importPosts(input);
+
+        assertEquals(2, results.size());
+        assertFalse(results.get(0).getSuccess());
+        assertNull(results.get(0).getPostId());
+        assertTrue(results.get(1).getSuccess());
+        assertNotNull(results.get(1).getPostId());
+        verify(transactionManager, times(2)).rollback(any());
+    }
+
+    private List<Post> savePosts(List<Post> posts) {
+        List<Post> saved = new ArrayList<>(posts);
+        saved.forEach(post -> post.setId(ids.incrementAndGet()));
+        return saved;
+    }
+
+    private List<PostImportResult> importPosts(String input) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        postImportService.importPosts(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), output, admin);
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<PostImportResult> results = new ArrayList<>();
+        for (String line : output.toString(StandardCharsets.UTF_8.name()).split("\n")) {
+            results.add(objectMapper.readValue(line, PostImportResult.class));
+        }
+        return results;
+    }
+
+    private static String record(String title, String tag) {
+        return "{\"title\":\"" + title + "\",\"body\":\"" + BODY + "\",\"category\":\"news\",\"tags\":[\"" + tag
+                + "\"],\"comments\":[{\"name\":\"Lector\",\"email\":\"lector@gmail.com\",\"body\":\"Muy buen articulo\"}]}";
+    }
+}
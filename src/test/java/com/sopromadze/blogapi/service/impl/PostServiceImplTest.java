@@ -1,20 +1,28 @@
 package com.sopromadze.blogapi.service.impl;
 
+import com.sopromadze.blogapi.exception.BadRequestException;
 import com.sopromadze.blogapi.exception.ResourceNotFoundException;
 import com.sopromadze.blogapi.model.Category;
 import com.sopromadze.blogapi.model.Post;
 import com.sopromadze.blogapi.model.Tag;
 import com.sopromadze.blogapi.model.role.RoleName;
 import com.sopromadze.blogapi.model.user.User;
+import com.sopromadze.blogapi.payload.CursorPagedResponse;
 import com.sopromadze.blogapi.payload.PagedResponse;
 import com.sopromadze.blogapi.payload.PostRequest;
 import com.sopromadze.blogapi.payload.PostResponse;
+import com.sopromadze.blogapi.payload.PostSummary;
+import com.sopromadze.blogapi.payload.TotalMode;
 import com.sopromadze.blogapi.repository.CategoryRepository;
+import com.sopromadze.blogapi.repository.CommentRepository;
 import com.sopromadze.blogapi.repository.PostRepository;
 import com.sopromadze.blogapi.repository.TagRepository;
 import com.sopromadze.blogapi.repository.UserRepository;
+import com.sopromadze.blogapi.repository.UserStatsRepository;
 import com.sopromadze.blogapi.security.UserPrincipal;
+import com.sopromadze.blogapi.service.ApproximateCountService;
 import lombok.extern.java.Log;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -30,6 +38,8 @@ import org.mockito.quality.Strictness;
 import org.springframework.data.domain.*;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.parameters.P;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
 import java.util.*;
@@ -53,18 +63,34 @@ class PostServiceImplTest {
     @Mock
     CategoryRepository categoryRepository;
 
+    @Mock
+    ApproximateCountService approximateCountService;
+
+    @Mock
+    CommentRepository commentRepository;
+
+    @Mock
+    UserStatsRepository userStatsRepository;
+
+    @Mock
+    TransactionTemplate transactionTemplate;
+
     @InjectMocks
     PostServiceImpl postService;
-    
+
+    @BeforeEach
+    void setUp() {
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
 
     @Test
     void askingForAllPost_thenReturnPagedResponse() {
-        Post p = new Post();
-        p.setTitle("Título del post");
+        PostSummary p = new PostSummary(1L, "Título del post", "Cuerpo", 1L, Instant.now(), 1L);
         Pageable pageable = PageRequest.of(1, 1, Sort.Direction.DESC, CREATED_AT);;
 
-        Page<Post> posts = new PageImpl<Post>(List.of(p));
-        PagedResponse<Post> paginas = new PagedResponse<>();
+        Page<PostSummary> posts = new PageImpl<PostSummary>(List.of(p));
+        PagedResponse<PostSummary> paginas = new PagedResponse<>();
 
         paginas.setLast(true);
         paginas.setContent(posts.getContent());
@@ -72,8 +98,76 @@ class PostServiceImplTest {
         paginas.setSize(1);
         paginas.setTotalElements(1);
 
-        when(postRepository.findAll(pageable)).thenReturn(posts);
+        when(postRepository.findAllSummaries(pageable)).thenReturn(posts);
         assertEquals(paginas, postService.getAllPosts(1, 1));
+        verify(postRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void askingForAllPost_thenFillTagNamesWithOneQuery() {
+        PostSummary p1 = new PostSummary(1L, "Primer post", "Cuerpo", 1L, Instant.now(), 1L);
+        PostSummary p2 = new PostSummary(2L, "Segundo post", "Cuerpo", 1L, Instant.now(), 1L);
+        Pageable pageable = PageRequest.of(0, 2, Sort.Direction.DESC, CREATED_AT);
+
+        when(postRepository.findAllSummaries(pageable)).thenReturn(new PageImpl<>(List.of(p1, p2)));
+        when(postRepository.findTagNamesByPostIds(Set.of(1L, 2L))).thenReturn(List.of(
+                new Object[] { 1L, "java" }, new Object[] { 1L, "spring" }, new Object[] { 2L, "jpa" }));
+
+        List<PostSummary> content = postService.getAllPosts(0, 2).getContent();
+
+        assertEquals(List.of("java", "spring"), content.get(0).getTags());
+        assertEquals(List.of("jpa"), content.get(1).getTags());
+        verify(postRepository, times(1)).findTagNamesByPostIds(any());
+    }
+
+    @Test
+    void askingForAllPostWithApproximateTotal_thenSkipCountQuery() {
+        PostSummary p = new PostSummary(1L, "Título del post", "Cuerpo", 1L, Instant.now(), 1L);
+        Pageable pageable = PageRequest.of(0, 1, Sort.Direction.DESC, CREATED_AT);
+
+        when(postRepository.findAllSummariesAsSlice(pageable)).thenReturn(new SliceImpl<>(List.of(p), pageable, true));
+        when(approximateCountService.countPosts()).thenReturn(5L);
+
+        PagedResponse<PostSummary> result = postService.getAllPosts(0, 1, TotalMode.APPROXIMATE);
+
+        assertEquals(List.of(p), result.getContent());
+        assertEquals(5L, result.getTotalElements());
+        assertEquals(5, result.getTotalPages());
+        assertFalse(result.isLast());
+        verify(postRepository, never()).findAllSummaries(any(Pageable.class));
+    }
+
+    @Test
+    void askingForAllPostWithCursor_thenReturnNextCursorAndSeekFromIt() {
+        PostSummary p1 = new PostSummary(2L, "Segundo", "Cuerpo", 1L, Instant.parse("2021-01-02T00:00:00Z"), 1L);
+        PostSummary p2 = new PostSummary(1L, "Primero", "Cuerpo", 1L, Instant.parse("2021-01-01T00:00:00Z"), 1L);
+
+        when(postRepository.findLatestSummaries(PageRequest.of(0, 2))).thenReturn(List.of(p1, p2));
+
+        CursorPagedResponse<PostSummary> first = postService.getAllPosts("", 1);
+
+        assertEquals(List.of(p1), first.getContent());
+        assertFalse(first.isLast());
+        assertNotNull(first.getNextCursor());
+
+        when(postRepository.findLatestSummariesBefore(p1.getCreatedAt(), 2L, PageRequest.of(0, 2))).thenReturn(List.of(p2));
+
+        CursorPagedResponse<PostSummary> second = postService.getAllPosts(first.getNextCursor(), 1);
+
+        assertEquals(List.of(p2), second.getContent());
+        assertTrue(second.isLast());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void askingForAllPostWithMalformedCursor_thenThrowBadRequest() {
+        assertThrows(BadRequestException.class, () -> postService.getAllPosts("not-a-cursor", 1));
+    }
+
+    @Test
+    void askingForAllPostWithCursorAndEmptyPage_thenThrowBadRequest() {
+        assertThrows(BadRequestException.class, () -> postService.getAllPosts("", 0));
+        verify(postRepository, never()).findLatestSummaries(any(Pageable.class));
     }
 
     @Test
@@ -91,17 +185,14 @@ class PostServiceImplTest {
 
         when(tagRepository.findById(1L)).thenReturn(Optional.of(tag1));
 
-        Post p1 = new Post();
-        p1.setId(1L);
-        p1.setTitle("Post de prueba con tags n1");
-        p1.setTags(List.of(tag1));
+        PostSummary p1 = new PostSummary(1L, "Post de prueba con tags n1", "Cuerpo", 1L, Instant.now(), 1L);
 
         Pageable pageable = PageRequest.of(1, 1, Sort.Direction.DESC, CREATED_AT);
 
-        Page<Post> postList = new PageImpl<>(List.of(p1));
-        when(postRepository.findByTagsIn(Collections.singletonList(tag1), pageable)).thenReturn(postList);
+        Page<PostSummary> postList = new PageImpl<>(List.of(p1));
+        when(postRepository.findSummariesByTagId(1L, pageable)).thenReturn(postList);
 
-        PagedResponse<Post> pagedPostList = new PagedResponse<>();
+        PagedResponse<PostSummary> pagedPostList = new PagedResponse<>();
         pagedPostList.setLast(true);
         pagedPostList.setContent(postList.getContent());
         pagedPostList.setTotalPages(1);
@@ -183,8 +274,7 @@ class PostServiceImplTest {
         Tag t = new Tag();
         t.setId(1L);
         t.setName("Mi tag");
-        when(tagRepository.findByName("Mi tag")).thenReturn(t);
-        when(tagRepository.save(t)).thenReturn(t);
+        when(tagRepository.findByNameIn(any())).thenReturn(List.of(t));
 
         PostRequest pr = new PostRequest();
         pr.setTitle("Esto es un post de testeo");
@@ -215,6 +305,30 @@ class PostServiceImplTest {
         postResponse.setTags(List.of(t.getName()));
 
         assertEquals(postResponse, postService.addPost(pr, userPrincipal));
+        verify(userStatsRepository).adjustPostCount(1L, 1);
+
+    }
+
+    @Test
+    void getPostVersion_givenTagSetsWithSameSum_thenETagsDiffer() {
+        Instant updatedAt = Instant.ofEpochSecond(1);
+        when(postRepository.findVersionById(1L)).thenReturn(List.of(
+                new Object[] { updatedAt, 0, 2, updatedAt, 1L, updatedAt },
+                new Object[] { updatedAt, 0, 2, updatedAt, 4L, updatedAt }));
+        String first = postService.getPostVersion(1L).getETag();
+        when(postRepository.findVersionById(1L)).thenReturn(List.of(
+                new Object[] { updatedAt, 0, 2, updatedAt, 2L, updatedAt },
+                new Object[] { updatedAt, 0, 2, updatedAt, 3L, updatedAt }));
+        String second = postService.getPostVersion(1L).getETag();
+
+        assertEquals("W/\"post-1-1000-0-2-1000-1-1000-4-1000\"", first);
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    void getPostVersion_givenNonExistingPost_shouldReturnResourceNotFoundException() {
+        when(postRepository.findVersionById(1L)).thenReturn(Collections.emptyList());
 
+        assertThrows(ResourceNotFoundException.class, () -> postService.getPostVersion(1L));
     }
 }
\ No newline at end of file
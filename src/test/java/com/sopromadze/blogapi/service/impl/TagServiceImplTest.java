@@ -7,6 +7,7 @@ import com.sopromadze.blogapi.model.role.RoleName;
 import com.sopromadze.blogapi.payload.ApiResponse;
 import com.sopromadze.blogapi.payload.PagedResponse;
 import com.sopromadze.blogapi.repository.AlbumRepository;
+import com.sopromadze.blogapi.repository.PostRepository;
 import com.sopromadze.blogapi.repository.TagRepository;
 import com.sopromadze.blogapi.repository.UserRepository;
 import com.sopromadze.blogapi.security.UserPrincipal;
@@ -36,6 +37,9 @@ public class TagServiceImplTest {
     @Mock
     private TagRepository tagRepository;
 
+    @Mock
+    private PostRepository postRepository;
+
     @InjectMocks
     TagServiceImpl tagService;
 
@@ -84,6 +88,32 @@ public class TagServiceImplTest {
         assertThrows(ResourceNotFoundException.class, () -> tagService.getTag(2L));
     }
 
+    @Test
+    void getPostIdsByTag_givenTagId_ShouldReturnPagedPostIds() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.Direction.DESC, "createdAt");
+        when(tagRepository.existsById(1L)).thenReturn(true);
+        when(postRepository.findIdsByTagId(1L, pageable)).thenReturn(new PageImpl<>(List.of(5L, 3L)));
+
+        PagedResponse<Long> result = tagService.getPostIdsByTag(1L, 0, 10);
+
+        assertEquals(List.of(5L, 3L), result.getContent());
+        assertEquals(2, result.getTotalElements());
+    }
+
+    @Test
+    void getPostIdsByTag_givenNotExistTagId_ThrowsResourceNotFoundExceptionTest() {
+        when(tagRepository.existsById(2L)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> tagService.getPostIdsByTag(2L, 0, 10));
+    }
+
+    @Test
+    void countPostsByTag_givenTagId_ShouldReturnCount() {
+        when(tagRepository.existsById(1L)).thenReturn(true);
+        when(postRepository.countByTagId(1L)).thenReturn(42L);
+
+        assertEquals(42L, tagService.countPostsByTag(1L));
+    }
 
     @Test
     void addTag_givenTag_ReturnNewTag() {
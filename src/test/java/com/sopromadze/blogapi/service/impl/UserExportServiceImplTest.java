@@ -0,0 +1,123 @@
+package com.sopromadze.blogapi.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sopromadze.blogapi.exception.AccessDeniedException;
+import com.sopromadze.blogapi.model.role.RoleName;
+import com.sopromadze.blogapi.model.user.User;
+import com.sopromadze.blogapi.repository.UserRepository;
+import com.sopromadze.blogapi.security.UserPrincipal;
+import com.sopromadze.blogapi.service.UserExportService.ExportFormat;
+import com.sopromadze.blogapi.service.UserExportService.ExportType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class UserExportServiceImplTest {
+
+    @Mock
+    UserRepository userRepository;
+
+    @Mock
+    EntityManager entityManager;
+
+    @SuppressWarnings("unchecked")
+    TypedQuery<Object[]> query = mock(TypedQuery.class, RETURNS_SELF);
+
+    ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    UserExportServiceImpl userExportService;
+
+    UserPrincipal owner = new UserPrincipal(1L, "Ernesto", "Fatuarte", "efatuarte", "efatuarte@gmail.com", "123456789",
+            List.of(new SimpleGrantedAuthority(RoleName.ROLE_USER.toString())));
+
+    @BeforeEach
+    void setUp() {
+        userExportService = new UserExportServiceImpl(userRepository, entityManager, objectMapper);
+        when(entityManager.createQuery(anyString(), eq(Object[].class))).thenReturn(query);
+
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("efatuarte");
+        when(userRepository.getUserByName("efatuarte")).thenReturn(user);
+    }
+
+    @Test
+    void export_givenPostsAsNdjson_shouldWriteOneObjectPerLineAndCloseStream() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        Instant createdAt = Instant.parse("2021-01-01T00:00:00Z");
+        when(query.getResultStream()).thenReturn(Stream.of(
+                new Object[] { 1L, "Primer post", "Cuerpo", 3L, createdAt, createdAt },
+                new Object[] { 2L, "Segundo post", "Cuerpo", null, createdAt, createdAt })
+                .onClose(() -> closed.set(true)));
+
+        String[] lines = export(ExportType.POSTS, ExportFormat.NDJSON).split("\n");
+
+        assertEquals(2, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals(1L, first.get("id").asLong());
+        assertEquals("Primer post", first.get("title").asText());
+        assertEquals(3L, first.get("categoryId").asLong());
+        assertTrue(objectMapper.readTree(lines[1]).get("categoryId").isNull());
+        assertTrue(closed.get());
+        verify(entityManager).createQuery(startsWith("select p.id, p.title"), eq(Object[].class));
+        verify(query).setParameter("userId", 1L);
+    }
+
+    @Test
+    void export_givenCommentsAsCsv_shouldWriteHeaderAndEscapeFields() throws Exception {
+        when(query.getResultStream()).thenReturn(Stream.<Object[]>of(
+                new Object[] { 5L, 1L, "Lector, anonimo", "Dice \"hola\"\ny adios", null, null }));
+
+        String csv = export(ExportType.COMMENTS, ExportFormat.CSV);
+
+        assertEquals("id,postId,name,body,createdAt,updatedAt\r\n"
+                + "5,1,\"Lector, anonimo\",\"Dice \"\"hola\"\"\ny adios\",,\r\n", csv);
+    }
+
+    @Test
+    void authorizeExport_givenOwner_shouldReturnUserId() {
+        assertEquals(1L, userExportService.authorizeExport("efatuarte", owner));
+    }
+
+    @Test
+    void authorizeExport_givenAdmin_shouldReturnUserId() {
+        UserPrincipal admin = new UserPrincipal(3L, "Admin", "Admin", "admin", "admin@gmail.com", "123456789",
+                List.of(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString())));
+
+        assertEquals(1L, userExportService.authorizeExport("efatuarte", admin));
+    }
+
+    @Test
+    void authorizeExport_givenOtherUser_shouldThrowAccessDenied() {
+        UserPrincipal other = new UserPrincipal(2L, "Otro", "Usuario", "otro", "otro@gmail.com", "123456789",
+                List.of(new SimpleGrantedAuthority(RoleName.ROLE_USER.toString())));
+
+        assertThrows(AccessDeniedException.class, () -> userExportService.authorizeExport("efatuarte", other));
+    }
+
+    private String export(ExportType type, ExportFormat format) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        userExportService.export(1L, type, format, output);
+        return output.toString(StandardCharsets.UTF_8.name());
+    }
+}
@@ -11,12 +11,16 @@ import com.sopromadze.blogapi.model.user.Address;
 import com.sopromadze.blogapi.model.user.Company;
 import com.sopromadze.blogapi.model.user.Geo;
 import com.sopromadze.blogapi.model.user.User;
+import com.sopromadze.blogapi.model.user.UserStats;
 import com.sopromadze.blogapi.payload.*;
+import com.sopromadze.blogapi.repository.CommentRepository;
 import com.sopromadze.blogapi.repository.PostRepository;
-import com.sopromadze.blogapi.repository.RoleRepository;
 import com.sopromadze.blogapi.repository.UserRepository;
+import com.sopromadze.blogapi.repository.UserStatsRepository;
 
+import com.sopromadze.blogapi.security.RoleRegistry;
 import com.sopromadze.blogapi.security.UserPrincipal;
+import com.sopromadze.blogapi.security.UserPrincipalCache;
 import lombok.extern.java.Log;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -38,6 +42,8 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 @Log
 @ExtendWith(MockitoExtension.class)
@@ -45,7 +51,7 @@ import static org.mockito.Mockito.when;
 class UserServiceImplTest {
 
     @Mock
-    RoleRepository roleRepository;
+    RoleRegistry roleRegistry;
 
     @Mock
     PasswordEncoder passwordEncoder;
@@ -56,6 +62,15 @@ class UserServiceImplTest {
     @Mock
     PostRepository postRepository;
 
+    @Mock
+    UserPrincipalCache userPrincipalCache;
+
+    @Mock
+    UserStatsRepository userStatsRepository;
+
+    @Mock
+    CommentRepository commentRepository;
+
     @InjectMocks
     UserServiceImpl userService;
 
@@ -102,16 +117,47 @@ class UserServiceImplTest {
 
         UserProfile up = new UserProfile(diana.getId(), diana.getUsername(), diana.getFirstName(), diana.getLastName(),
                 diana.getCreatedAt(), diana.getEmail(), diana.getAddress(), diana.getPhone(), diana.getWebsite(),
-                diana.getCompany(), postRepository.countByCreatedBy(diana.getId()));
+                diana.getCompany(), (long) diana.getPosts().size(), 0L, 0L, 0L, 0L);
 
         when(userRepository.save(diana)).thenReturn(diana);
         when(userRepository.getUserByName(diana.getUsername())).thenReturn(diana);
-        when(postRepository.countByCreatedBy(any(Long.class))).thenReturn((long) diana.getPosts().size());
+        when(userStatsRepository.findById(diana.getId()))
+                .thenReturn(Optional.of(new UserStats(diana.getId(), diana.getPosts().size(), 0, 0, 0, 0)));
         
         assertEquals(up.getUsername(), userService.getUserProfile(diana.getUsername()).getUsername());
 
     }
 
+    @Test
+    void getUserProfile_givenUserStats_shouldReadCountersWithoutCounting() {
+        User diana = User.builder().id(1L).username("Gelbern").build();
+
+        when(userRepository.getUserByName("Gelbern")).thenReturn(diana);
+        when(userStatsRepository.findById(1L)).thenReturn(Optional.of(new UserStats(1L, 7, 30, 2, 120, 4)));
+
+        UserProfile profile = userService.getUserProfile("Gelbern");
+
+        assertEquals(7L, profile.getPostCount());
+        assertEquals(30L, profile.getCommentCount());
+        assertEquals(2L, profile.getAlbumCount());
+        assertEquals(120L, profile.getPhotoCount());
+        assertEquals(4L, profile.getTodoCount());
+        verify(postRepository, never()).countByCreatedBy(any());
+    }
+
+    @Test
+    void getUserProfile_givenMissingUserStats_shouldReturnZeroCounters() {
+        User diana = User.builder().id(1L).username("Gelbern").build();
+
+        when(userRepository.getUserByName("Gelbern")).thenReturn(diana);
+        when(userStatsRepository.findById(1L)).thenReturn(Optional.empty());
+
+        UserProfile profile = userService.getUserProfile("Gelbern");
+
+        assertEquals(0L, profile.getPostCount());
+        assertEquals(0L, profile.getTodoCount());
+    }
+
     @Test
     void addUser_givenUser_thenReturnUserTest(){
         User u = new User();
@@ -126,13 +172,14 @@ class UserServiceImplTest {
         role.setName(RoleName.ROLE_USER);
 
         when(userRepository.existsByUsername("cesperic")).thenReturn(false);
-        when(roleRepository.findByName(RoleName.ROLE_USER)).thenReturn(Optional.of(role));
+        when(roleRegistry.get(RoleName.ROLE_USER)).thenReturn(role);
         when(passwordEncoder.encode(u.getPassword())).thenReturn(u.getPassword());
         when(userRepository.save(u)).thenReturn(u);
 
         User result = userService.addUser(u);
 
         assertEquals(u, result);
+        verify(userStatsRepository).save(any(UserStats.class));
     }
 
     @Test
@@ -186,7 +233,7 @@ class UserServiceImplTest {
         role.setName(RoleName.ROLE_USER);
 
         when(userRepository.existsByUsername("cesperic")).thenReturn(false);
-        when(roleRepository.findByName(RoleName.ROLE_USER)).thenThrow(new AppException("User role not set"));
+        when(roleRegistry.get(RoleName.ROLE_USER)).thenThrow(new AppException("User role not set"));
         when(passwordEncoder.encode(u.getPassword())).thenReturn(u.getPassword());
         when(userRepository.save(u)).thenReturn(u);
 
@@ -239,15 +286,16 @@ class UserServiceImplTest {
         u1.setCreatedAt(Instant.now());
 
         when(userRepository.save(u1)).thenReturn(u1);
-        when(postRepository.countByCreatedBy(any())).thenReturn(1L);
+        when(userStatsRepository.findById(any())).thenReturn(Optional.of(new UserStats(u1.getId(), 1, 2, 3, 4, 5)));
 
         UserProfile u2 = new UserProfile(u1.getId(), u1.getUsername(),
                 u1.getFirstName(), u1.getLastName(), u1.getCreatedAt(),
                 u1.getEmail(), u1.getAddress(), u1.getPhone(), u1.getWebsite(),
-                u1.getCompany(), 1L);
+                u1.getCompany(), 1L, 2L, 3L, 4L, 5L);
 
         UserProfile result = userService.setOrUpdateInfo(richard, infoRequest);
         assertEquals(u2, result);
+        verify(userPrincipalCache).invalidate(1L);
 
     }
 
@@ -316,6 +364,7 @@ class UserServiceImplTest {
         doNothing().when(userRepository).deleteById(u1.getId());
         ApiResponse ap = new ApiResponse(Boolean.TRUE, "You successfully deleted profile of: " + u1.getUsername());
         assertEquals(ap, userService.deleteUser(u1.getUsername(), u));
+        verify(userPrincipalCache).invalidate(1L);
 
     }
 
@@ -357,6 +406,7 @@ class UserServiceImplTest {
         when(userRepository.findByUsername(u1.getUsername())).thenReturn(Optional.of(u1));
 
         assertThrows(AccessDeniedException.class, () -> userService.deleteUser(u1.getUsername(), u));
+        verify(userPrincipalCache, never()).invalidate(any());
     }
 
     @Test
@@ -372,14 +422,15 @@ class UserServiceImplTest {
         u1.setUpdatedAt(Instant.now());
 
         when(userRepository.getUserByName(u1.getUsername())).thenReturn(u1);
-        when(roleRepository.findByName(RoleName.ROLE_ADMIN)).thenReturn(Optional.of(new Role(RoleName.ROLE_ADMIN)));
-        when(roleRepository.findByName(RoleName.ROLE_USER)).thenReturn(Optional.of(new Role(RoleName.ROLE_USER)));
+        when(roleRegistry.get(RoleName.ROLE_ADMIN)).thenReturn(new Role(RoleName.ROLE_ADMIN));
+        when(roleRegistry.get(RoleName.ROLE_USER)).thenReturn(new Role(RoleName.ROLE_USER));
 
         u1.setRoles(List.of(new Role(RoleName.ROLE_ADMIN),new Role(RoleName.ROLE_USER)));
         when(userRepository.save(u1)).thenReturn(u1);
         ApiResponse ap = new ApiResponse(Boolean.TRUE, "You gave ADMIN role to user: " + u1.getUsername());
 
         assertEquals(ap, userService.giveAdmin(u1.getUsername()));
+        verify(userPrincipalCache).invalidate(1L);
     }
 
     @Test
@@ -395,7 +446,7 @@ class UserServiceImplTest {
         u1.setUpdatedAt(Instant.now());
 
         when(userRepository.getUserByName(u1.getUsername())).thenReturn(u1);
-        when(roleRepository.findByName(any())).thenThrow(new AppException("User role not set"));
+        when(roleRegistry.get(any())).thenThrow(new AppException("User role not set"));
 
         assertThrows(AppException.class, () -> userService.giveAdmin(u1.getUsername()));
 
@@ -427,6 +478,7 @@ class UserServiceImplTest {
         when(userRepository.getUserByName(diana.getUsername())).thenReturn(diana);
         when(userRepository.save(diana)).thenReturn(diana);
         assertEquals(diana, userService.updateUser(diana, diana.getUsername(), userPrincipal));
+        verify(userPrincipalCache).invalidate(1L);
     }
 
     @Test
@@ -448,11 +500,12 @@ class UserServiceImplTest {
 
         when(userRepository.getUserByName(diana.getUsername())).thenReturn(diana);
 
-        when(roleRepository.findByName(RoleName.ROLE_USER)).thenReturn(Optional.of(new Role(RoleName.ROLE_USER)));
+        when(roleRegistry.get(RoleName.ROLE_USER)).thenReturn(new Role(RoleName.ROLE_USER));
         diana.setRoles(List.of(new Role(RoleName.ROLE_USER)));
         when(userRepository.save(diana)).thenReturn(diana);
 
         ApiResponse apiResponse = new ApiResponse(Boolean.TRUE, "You took ADMIN role from user: " + diana.getUsername());
         assertEquals(apiResponse, userService.removeAdmin(diana.getUsername()));
+        verify(userPrincipalCache).invalidate(1L);
     }
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.sopromadze.blogapi.service.impl;
+
+import com.sopromadze.blogapi.model.JobLock;
+import com.sopromadze.blogapi.repository.UserStatsRepository;
+import com.sopromadze.blogapi.service.JobLockService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserStatsServiceImplTest {
+
+    @Mock
+    private UserStatsRepository userStatsRepository;
+
+    @Mock
+    private JobLockService jobLockService;
+
+    @InjectMocks
+    private UserStatsServiceImpl userStatsService;
+
+    @Test
+    void createMissing_givenLock_shouldInsertMissingRows() {
+        when(jobLockService.tryLock(eq(JobLock.USER_STATS), anyLong())).thenReturn(true);
+        when(userStatsRepository.insertMissing()).thenReturn(2);
+
+        assertEquals(2, userStatsService.createMissing());
+    }
+
+    @Test
+    void createMissing_givenLockHeldByAnotherInstance_shouldSkipRun() {
+        when(jobLockService.tryLock(eq(JobLock.USER_STATS), anyLong())).thenReturn(false);
+
+        assertEquals(0, userStatsService.createMissing());
+
+        verifyNoInteractions(userStatsRepository);
+    }
+}
@@ -0,0 +1,34 @@
+package com.sopromadze.blogapi.utils;
+
+import com.sopromadze.blogapi.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetCursorTest {
+
+    @Test
+    void pageable_givenSize_thenFetchOneExtraRow() {
+        assertEquals(11, KeysetCursor.pageable(10).getPageSize());
+        assertEquals(0, KeysetCursor.pageable(10).getPageNumber());
+    }
+
+    @Test
+    void pageable_givenSizeBelowOne_thenThrowBadRequest() {
+        assertThrows(BadRequestException.class, () -> KeysetCursor.pageable(0));
+        assertThrows(BadRequestException.class, () -> KeysetCursor.pageable(-1));
+    }
+
+    @Test
+    void decode_givenEncodedCursor_thenReturnSamePosition() {
+        Instant createdAt = Instant.parse("2021-01-02T03:04:05.678Z");
+
+        KeysetCursor cursor = KeysetCursor.decode(KeysetCursor.encode(createdAt, 42L));
+
+        assertEquals(createdAt, cursor.getCreatedAt());
+        assertEquals(42L, cursor.getId());
+        assertNull(KeysetCursor.decode(""));
+    }
+}